@@ -4,21 +4,11 @@ import net.dotevolve.benchmark.R;
 import android.content.Context;
 import android.util.Log;
 
-import java.io.ByteArrayOutputStream;
-import java.io.IOException;
-import java.nio.charset.StandardCharsets;
-import java.security.MessageDigest;
-import java.security.NoSuchAlgorithmException;
-import java.util.Random;
-import java.util.concurrent.CountDownLatch;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
+import java.io.File;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
-import java.util.zip.GZIPOutputStream;
-
-import javax.crypto.Cipher;
-import javax.crypto.KeyGenerator;
-import javax.crypto.SecretKey;
 
 /**
  * Enhanced benchmark engine with comprehensive performance testing
@@ -27,25 +17,53 @@ public class BenchmarkEngine {
     private static final String TAG = "BenchmarkEngine";
     /**
      * Benchmark engine versioning follows MAJOR.MINOR.PATCH (semver):
-     * - MAJOR: breaking test-suite/scoring changes that invalidate comparisons.
-     * - MINOR: new tests or scoring tweaks that remain comparable within the major line.
+     * - MAJOR: breaking test-suite/scoring changes that invalidate comparisons, including
+     *   measurement changes that move the scores of existing tests.
+     * - MINOR: new tests or reporting that leave existing scores comparable within the major line.
      * - PATCH: bug fixes or perf tweaks that do not affect final scoring logic.
      */
-    public static final String ENGINE_VERSION = "2.0.0";
+    public static final String ENGINE_VERSION = "6.0.0";
+    
+    // Time budgets, generous enough for the slowest supported devices
+    public static final long DEFAULT_RUN_TIME_BUDGET_MS = 10 * 60 * 1000;
+    public static final long DEFAULT_TEST_TIME_BUDGET_MS = 2 * 60 * 1000;
+    
+    // Under the app cache directory, for the scratch files of the I/O tests
+    private static final String SCRATCH_DIRECTORY = "benchmark";
     
     private final PerformanceMetrics metrics;
     private final Context context;
     private final String testString;
+    private final BenchmarkRegistry registry;
+    private WarmupPolicy warmupPolicy = new WarmupPolicy();
+    private TimerCalibration timerCalibration;
+    
+    // Cancellation and time budgets, 0 or less means unbounded
+    private final CancellationToken cancellationToken = new CancellationToken();
+    private long runTimeBudgetMs = DEFAULT_RUN_TIME_BUDGET_MS;
+    private long testTimeBudgetMs = DEFAULT_TEST_TIME_BUDGET_MS;
     
     // Progress tracking
     private final AtomicInteger currentProgress = new AtomicInteger(0);
-    private final int totalTests = 9; // SHA-512, MD5, AES, Loop, Matrix, Sort, Compression, Memory, MultiThread
-    private final Random random = new Random();
+    private int totalTests;
     
     public interface BenchmarkProgressCallback {
         void onProgressUpdate(int progress, String currentTest);
         void onTestComplete(String testName, long duration);
         void onBenchmarkComplete(PerformanceMetrics metrics);
+        
+        /**
+         * Called instead of {@link #onBenchmarkComplete} when the run was cancelled
+         */
+        default void onBenchmarkCancelled() {
+        }
+        
+        /**
+         * Called instead of {@link #onBenchmarkComplete} when the run itself failed; a
+         * failing test only marks that test failed and the run goes on
+         */
+        default void onBenchmarkFailed() {
+        }
     }
     
     private BenchmarkProgressCallback progressCallback;
@@ -55,390 +73,145 @@ public class BenchmarkEngine {
         this.metrics = new PerformanceMetrics(context);
         this.metrics.setBenchmarkVersion(ENGINE_VERSION);
         this.testString = context.getResources().getString(R.string.testString);
+        this.registry = BenchmarkRegistry.createDefault(testString, metrics.getCpuCores(),
+                new File(context.getCacheDir(), SCRATCH_DIRECTORY));
+        this.metrics.setTests(registry.getTests());
+        this.totalTests = registry.size();
     }
     
     public void setProgressCallback(BenchmarkProgressCallback callback) {
         this.progressCallback = callback;
     }
     
+    public void setWarmupPolicy(WarmupPolicy warmupPolicy) {
+        this.warmupPolicy = warmupPolicy;
+    }
+    
+    /**
+     * Stops the current run within milliseconds. Kernels notice at their next check, skip
+     * the remaining work and release their buffers and thread pools, and no scores are
+     * calculated. Cancellation is permanent; create a new engine to run again.
+     */
+    public void cancel() {
+        Log.d(TAG, "Cancelling benchmark...");
+        cancellationToken.cancel();
+    }
+    
+    public boolean isCancelled() {
+        return cancellationToken.isCancelled();
+    }
+    
     public void runComprehensiveBenchmark() {
         Log.d(TAG, "Starting comprehensive benchmark...");
+        runBenchmark(registry);
+    }
+    
+    /**
+     * Runs only the given tests from the default registry, e.g. a single kernel on a canary
+     */
+    public void runTests(String... testIds) {
+        Log.d(TAG, "Starting benchmark subset...");
+        runBenchmark(registry.subset(testIds));
+    }
+    
+    /**
+     * Runs every test in {@code tests} in registration order, then calculates scores.
+     * A test that exceeds its time budget is skipped; once the run budget is exceeded the
+     * remaining tests are skipped and scores cover the completed tests only. Exactly one
+     * of the complete, cancelled or failed callbacks is delivered at the end.
+     */
+    public void runBenchmark(BenchmarkRegistry tests) {
+        List<BenchmarkTest> testList = tests.getTests();
+        totalTests = testList.size();
+        boolean completed = false;
         
         try {
-            // Test 1: SHA-512 Hash Performance
-            runSha1Benchmark();
-            updateProgress(1, "SHA-512 Complete");
-            
-            // Test 2: MD5 Hash Performance  
-            runMd5Benchmark();
-            updateProgress(2, "MD5 Complete");
-            
-            // Test 3: AES Encryption Performance
-            runAesBenchmark();
-            updateProgress(3, "AES Complete");
-            
-            // Test 4: Loop Overhead Test
-            runLoopOverheadTest();
-            updateProgress(4, "Loop Overhead Complete");
-            
-            // Test 5: Matrix Multiplication
-            runMatrixMultiplicationBenchmark();
-            updateProgress(5, "Matrix Multiplication Complete");
-            
-            // Test 6: Sorting Performance
-            runSortingBenchmark();
-            updateProgress(6, "Sorting Complete");
-            
-            // Test 7: Compression Performance
-            runCompressionBenchmark();
-            updateProgress(7, "Compression Complete");
+            cancellationToken.startRun(TimeUnit.MILLISECONDS.toNanos(runTimeBudgetMs));
+            if (timerCalibration == null) {
+                timerCalibration = TimerCalibration.calibrate();
+                metrics.setTimerCalibration(timerCalibration);
+            }
             
-            // Test 8: Memory Bandwidth
-            runMemoryBandwidthBenchmark();
-            updateProgress(8, "Memory Bandwidth Complete");
+            for (int i = 0; i < testList.size(); i++) {
+                if (cancellationToken.isCancelled() || cancellationToken.isRunExpired()) {
+                    break;
+                }
+                BenchmarkTest test = testList.get(i);
+                runTest(test);
+                updateProgress(i + 1, test.getName() + " Complete");
+            }
             
-            // Test 9: Multi-threaded Performance
-            runMultiThreadedBenchmark();
-            updateProgress(9, "Multi-threaded Complete");
+            if (cancellationToken.isCancelled()) {
+                Log.d(TAG, "Benchmark cancelled");
+                return;
+            }
+            if (cancellationToken.isRunExpired()) {
+                Log.w(TAG, "Benchmark time budget exceeded, scoring completed tests only");
+            }
             
             // Calculate final scores
             metrics.calculateScores();
             
             Log.d(TAG, "Benchmark complete. Overall Score: " + metrics.getOverallScore());
-            
-            if (progressCallback != null) {
-                progressCallback.onBenchmarkComplete(metrics);
-            }
+            completed = true;
             
         } catch (Exception e) {
             Log.e(TAG, "Benchmark failed", e);
+        } finally {
+            notifyFinished(completed);
         }
     }
     
-    private void runSha1Benchmark() {
-        Log.d(TAG, "Running SHA-512 benchmark...");
-        metrics.startSha1Timing();
-        
-        try {
-            MessageDigest sha1 = MessageDigest.getInstance("SHA-512");
-            byte[] inputBytes = testString.getBytes(StandardCharsets.UTF_8);
-            
-            for (int i = 0; i < PerformanceMetrics.SHA1_ITERATIONS; i++) {
-                long startTime = System.nanoTime();
-                sha1.update(inputBytes);
-                byte[] hash = sha1.digest();
-                long endTime = System.nanoTime();
-                
-                // Collect sample for statistical analysis
-                metrics.addSha1Sample(endTime - startTime);
-                
-                // Reset digest for next iteration
-                sha1.reset();
-            }
-        } catch (NoSuchAlgorithmException e) {
-            Log.e(TAG, "SHA-512 algorithm not available", e);
-        }
-        
-        metrics.endSha1Timing();
+    private void notifyFinished(boolean completed) {
+        if (progressCallback == null) return;
         
-        if (progressCallback != null) {
-            progressCallback.onTestComplete("SHA-512", metrics.getSha1TotalTime());
+        if (cancellationToken.isCancelled()) {
+            progressCallback.onBenchmarkCancelled();
+        } else if (completed) {
+            progressCallback.onBenchmarkComplete(metrics);
+        } else {
+            progressCallback.onBenchmarkFailed();
         }
     }
     
-    private void runMd5Benchmark() {
-        Log.d(TAG, "Running MD5 benchmark...");
-        metrics.startMd5Timing();
+    private void runTest(BenchmarkTest test) {
+        Log.d(TAG, "Running " + test.getName() + " benchmark...");
+        TestResult result = metrics.getTestResult(test.getId());
+        result.setCancellationToken(cancellationToken);
+        result.setTimerCalibration(timerCalibration);
+        cancellationToken.startTest(TimeUnit.MILLISECONDS.toNanos(testTimeBudgetMs));
         
         try {
-            MessageDigest md5 = MessageDigest.getInstance("MD5");
-            byte[] inputBytes = testString.getBytes(StandardCharsets.UTF_8);
+            test.setup();
+            warmupPolicy.run(test, result);
             
-            for (int i = 0; i < PerformanceMetrics.MD5_ITERATIONS; i++) {
-                long startTime = System.nanoTime();
-                md5.update(inputBytes);
-                byte[] hash = md5.digest();
-                long endTime = System.nanoTime();
-                
-                // Collect sample for statistical analysis
-                metrics.addMd5Sample(endTime - startTime);
-                
-                // Reset digest for next iteration
-                md5.reset();
+            int batchSize = 1;
+            if (test.supportsBatching()) {
+                batchSize = timerCalibration.chooseBatchSize(
+                        result.getSteadyStateThroughput(), test.getExpectedSampleCount());
             }
-        } catch (NoSuchAlgorithmException e) {
-            Log.e(TAG, "MD5 algorithm not available", e);
-        }
-        
-        metrics.endMd5Timing();
-        
-        if (progressCallback != null) {
-            progressCallback.onTestComplete("MD5", metrics.getMd5TotalTime());
-        }
-    }
-    
-    private void runAesBenchmark() {
-        Log.d(TAG, "Running AES benchmark...");
-        metrics.startAesTiming();
-        
-        try {
-            // Generate AES key
-            KeyGenerator keyGen = KeyGenerator.getInstance("AES");
-            keyGen.init(256);
-            SecretKey secretKey = keyGen.generateKey();
-            
-            // Use AES/CBC/PKCS5Padding for better compatibility and performance testing
-            Cipher cipher = Cipher.getInstance("AES/CBC/PKCS5Padding");
-            cipher.init(Cipher.ENCRYPT_MODE, secretKey);
+            result.setBatching(batchSize, Math.round(timerCalibration.getOverheadNanos()));
+            result.reserveSamples((test.getExpectedSampleCount() + batchSize - 1) / batchSize);
             
-            byte[] inputBytes = testString.getBytes(StandardCharsets.UTF_8);
-            
-            for (int i = 0; i < PerformanceMetrics.AES_ITERATIONS; i++) {
-                long startTime = System.nanoTime();
-                byte[] encrypted = cipher.doFinal(inputBytes);
-                long endTime = System.nanoTime();
-                
-                // Collect sample for statistical analysis
-                metrics.addAesSample(endTime - startTime);
-            }
+            result.startTiming();
+            test.run(result);
+            result.endTiming();
+            metrics.logTestTime(test.getName(), result);
+        } catch (CancellationException e) {
+            Log.w(TAG, test.getName() + " benchmark stopped: " + e.getMessage());
+        } catch (OutOfMemoryError e) {
+            // Teardown drops the kernel's buffers, which frees enough for the next test
+            result.markFailed();
+            Log.e(TAG, test.getName() + " benchmark ran out of memory", e);
         } catch (Exception e) {
-            Log.e(TAG, "AES benchmark failed", e);
-        }
-        
-        metrics.endAesTiming();
-        
-        if (progressCallback != null) {
-            progressCallback.onTestComplete("AES", metrics.getAesTotalTime());
-        }
-    }
-    
-    private void runLoopOverheadTest() {
-        Log.d(TAG, "Running loop overhead test...");
-        metrics.startLoopTiming();
-        
-        // More complex loop with multiple operations to measure overhead
-        long dummy = 0;
-        for (int i = 0; i < PerformanceMetrics.LOOP_ITERATIONS; i++) {
-            dummy += i * 2;
-            dummy -= i / 3;
-            dummy ^= i;
-        }
-        
-        metrics.endLoopTiming();
-        
-        if (progressCallback != null) {
-            progressCallback.onTestComplete("Loop Overhead", metrics.getLoopOverheadTime());
-        }
-    }
-    
-    private void runMatrixMultiplicationBenchmark() {
-        Log.d(TAG, "Running matrix multiplication benchmark...");
-        metrics.startMatrixTiming();
-        
-        int size = PerformanceMetrics.MATRIX_SIZE;
-        double[][] matrixA = new double[size][size];
-        double[][] matrixB = new double[size][size];
-        double[][] result = new double[size][size];
-        
-        // Initialize matrices with random values
-        for (int i = 0; i < size; i++) {
-            for (int j = 0; j < size; j++) {
-                matrixA[i][j] = random.nextDouble();
-                matrixB[i][j] = random.nextDouble();
-            }
-        }
-        
-        // Perform matrix multiplication: C = A * B
-        long startTime = System.nanoTime();
-        for (int i = 0; i < size; i++) {
-            for (int j = 0; j < size; j++) {
-                result[i][j] = 0;
-                for (int k = 0; k < size; k++) {
-                    result[i][j] += matrixA[i][k] * matrixB[k][j];
-                }
-            }
-        }
-        long endTime = System.nanoTime();
-        
-        metrics.addMatrixSample(endTime - startTime);
-        metrics.endMatrixTiming();
-        
-        if (progressCallback != null) {
-            progressCallback.onTestComplete("Matrix Multiplication", metrics.getMatrixMultiplicationTime());
-        }
-    }
-    
-    private void runSortingBenchmark() {
-        Log.d(TAG, "Running sorting benchmark...");
-        metrics.startSortTiming();
-        
-        int size = PerformanceMetrics.SORT_ARRAY_SIZE;
-        int[] array = new int[size];
-        
-        // Initialize array with random values
-        for (int i = 0; i < size; i++) {
-            array[i] = random.nextInt();
-        }
-        
-        // Perform quicksort
-        long startTime = System.nanoTime();
-        quickSort(array, 0, size - 1);
-        long endTime = System.nanoTime();
-        
-        metrics.addSortSample(endTime - startTime);
-        metrics.endSortTiming();
-        
-        if (progressCallback != null) {
-            progressCallback.onTestComplete("Sorting", metrics.getSortingTime());
-        }
-    }
-    
-    private void quickSort(int[] arr, int low, int high) {
-        if (low < high) {
-            int pi = partition(arr, low, high);
-            quickSort(arr, low, pi - 1);
-            quickSort(arr, pi + 1, high);
-        }
-    }
-    
-    private int partition(int[] arr, int low, int high) {
-        int pivot = arr[high];
-        int i = (low - 1);
-        
-        for (int j = low; j < high; j++) {
-            if (arr[j] < pivot) {
-                i++;
-                int temp = arr[i];
-                arr[i] = arr[j];
-                arr[j] = temp;
-            }
-        }
-        
-        int temp = arr[i + 1];
-        arr[i + 1] = arr[high];
-        arr[high] = temp;
-        
-        return i + 1;
-    }
-    
-    private void runCompressionBenchmark() {
-        Log.d(TAG, "Running compression benchmark...");
-        metrics.startCompressionTiming();
-        
-        // Create test data
-        StringBuilder testData = new StringBuilder();
-        for (int i = 0; i < 10000; i++) {
-            testData.append(testString).append(i);
-        }
-        byte[] data = testData.toString().getBytes(StandardCharsets.UTF_8);
-        
-        for (int i = 0; i < PerformanceMetrics.COMPRESSION_ITERATIONS; i++) {
-            long startTime = System.nanoTime();
-            try {
-                ByteArrayOutputStream baos = new ByteArrayOutputStream();
-                GZIPOutputStream gzos = new GZIPOutputStream(baos);
-                gzos.write(data);
-                gzos.close();
-                byte[] compressed = baos.toByteArray();
-                long endTime = System.nanoTime();
-                metrics.addCompressionSample(endTime - startTime);
-            } catch (IOException e) {
-                Log.e(TAG, "Compression failed", e);
-            }
-        }
-        
-        metrics.endCompressionTiming();
-        
-        if (progressCallback != null) {
-            progressCallback.onTestComplete("Compression", metrics.getCompressionTime());
-        }
-    }
-    
-    private void runMemoryBandwidthBenchmark() {
-        Log.d(TAG, "Running memory bandwidth benchmark...");
-        metrics.startMemoryTiming();
-        
-        int size = PerformanceMetrics.MEMORY_TEST_SIZE / 4; // int array size
-        int[] array1 = new int[size];
-        int[] array2 = new int[size];
-        
-        // Initialize arrays
-        for (int i = 0; i < size; i++) {
-            array1[i] = random.nextInt();
-            array2[i] = random.nextInt();
-        }
-        
-        // Perform memory-intensive operations: copy, reverse, sum
-        long startTime = System.nanoTime();
-        
-        // Sequential memory access pattern
-        for (int i = 0; i < size; i++) {
-            array2[i] = array1[i];
-        }
-        
-        // Reverse copy
-        for (int i = 0; i < size / 2; i++) {
-            int temp = array1[i];
-            array1[i] = array1[size - 1 - i];
-            array1[size - 1 - i] = temp;
-        }
-        
-        // Sum operation
-        long sum = 0;
-        for (int i = 0; i < size; i++) {
-            sum += array1[i] + array2[i];
-        }
-        
-        long endTime = System.nanoTime();
-        metrics.endMemoryTiming();
-        
-        if (progressCallback != null) {
-            progressCallback.onTestComplete("Memory Bandwidth", metrics.getMemoryBandwidthTime());
-        }
-    }
-    
-    private void runMultiThreadedBenchmark() {
-        Log.d(TAG, "Running multi-threaded benchmark...");
-        metrics.startMultiThreadedTiming();
-        
-        int numThreads = Math.min(metrics.getCpuCores(), 8); // Use up to 8 threads
-        ExecutorService executor = Executors.newFixedThreadPool(numThreads);
-        CountDownLatch latch = new CountDownLatch(numThreads);
-        
-        // Each thread performs SHA-512 hashing
-        int iterationsPerThread = PerformanceMetrics.SHA1_ITERATIONS / numThreads;
-        
-        for (int t = 0; t < numThreads; t++) {
-            final int threadId = t;
-            executor.submit(() -> {
-                try {
-                    MessageDigest sha1 = MessageDigest.getInstance("SHA-512");
-                    byte[] inputBytes = (testString + threadId).getBytes(StandardCharsets.UTF_8);
-                    
-                    for (int i = 0; i < iterationsPerThread; i++) {
-                        sha1.update(inputBytes);
-                        byte[] hash = sha1.digest();
-                        sha1.reset();
-                    }
-                } catch (NoSuchAlgorithmException e) {
-                    Log.e(TAG, "SHA-512 algorithm not available in thread", e);
-                } finally {
-                    latch.countDown();
-                }
-            });
-        }
-        
-        try {
-            latch.await();
-        } catch (InterruptedException e) {
-            Log.e(TAG, "Multi-threaded benchmark interrupted", e);
+            result.markFailed();
+            Log.e(TAG, test.getName() + " benchmark failed", e);
+        } finally {
+            test.teardown();
         }
         
-        executor.shutdown();
-        metrics.endMultiThreadedTiming();
-        
-        if (progressCallback != null) {
-            progressCallback.onTestComplete("Multi-threaded", metrics.getMultiThreadedTime());
+        if (progressCallback != null && !cancellationToken.isCancelled()) {
+            progressCallback.onTestComplete(test.getName(), result.getTotalTime());
         }
     }
     
@@ -458,14 +231,7 @@ public class BenchmarkEngine {
         Log.d(TAG, "Running legacy benchmark...");
         
         // Run only SHA-512 and MD5 for backward compatibility
-        runSha1Benchmark();
-        runMd5Benchmark();
-        
-        metrics.calculateScores();
-        
-        if (progressCallback != null) {
-            progressCallback.onBenchmarkComplete(metrics);
-        }
+        runTests(PerformanceMetrics.TEST_SHA512, PerformanceMetrics.TEST_MD5);
     }
     
     // Getters
@@ -473,6 +239,30 @@ public class BenchmarkEngine {
         return metrics;
     }
     
+    public BenchmarkRegistry getRegistry() {
+        return registry;
+    }
+    
+    public WarmupPolicy getWarmupPolicy() {
+        return warmupPolicy;
+    }
+    
+    public long getRunTimeBudgetMs() {
+        return runTimeBudgetMs;
+    }
+    
+    public void setRunTimeBudgetMs(long runTimeBudgetMs) {
+        this.runTimeBudgetMs = runTimeBudgetMs;
+    }
+    
+    public long getTestTimeBudgetMs() {
+        return testTimeBudgetMs;
+    }
+    
+    public void setTestTimeBudgetMs(long testTimeBudgetMs) {
+        this.testTimeBudgetMs = testTimeBudgetMs;
+    }
+    
     public int getCurrentProgress() {
         return currentProgress.get();
     }
@@ -481,4 +271,3 @@ public class BenchmarkEngine {
         return totalTests;
     }
 }
-
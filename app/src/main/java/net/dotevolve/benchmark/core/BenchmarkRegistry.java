@@ -0,0 +1,114 @@
+package net.dotevolve.benchmark.core;
+
+import net.dotevolve.benchmark.core.kernels.AesBenchmark;
+import net.dotevolve.benchmark.core.kernels.CipherThroughputBenchmark;
+import net.dotevolve.benchmark.core.kernels.CollectionsBenchmark;
+import net.dotevolve.benchmark.core.kernels.CompressionBenchmark;
+import net.dotevolve.benchmark.core.kernels.CompressionSuiteBenchmark;
+import net.dotevolve.benchmark.core.kernels.ContentionBenchmark;
+import net.dotevolve.benchmark.core.kernels.CpuMicroBenchmark;
+import net.dotevolve.benchmark.core.kernels.DigestBenchmark;
+import net.dotevolve.benchmark.core.kernels.GcBenchmark;
+import net.dotevolve.benchmark.core.kernels.HashThroughputBenchmark;
+import net.dotevolve.benchmark.core.kernels.MatrixMultiplicationBenchmark;
+import net.dotevolve.benchmark.core.kernels.MatrixSweepBenchmark;
+import net.dotevolve.benchmark.core.kernels.MemoryBandwidthBenchmark;
+import net.dotevolve.benchmark.core.kernels.MemoryLatencyBenchmark;
+import net.dotevolve.benchmark.core.kernels.MultiThreadedBenchmark;
+import net.dotevolve.benchmark.core.kernels.ParallelMatrixBenchmark;
+import net.dotevolve.benchmark.core.kernels.PublicKeyBenchmark;
+import net.dotevolve.benchmark.core.kernels.SortSuiteBenchmark;
+import net.dotevolve.benchmark.core.kernels.SortingBenchmark;
+import net.dotevolve.benchmark.core.kernels.SqliteBenchmark;
+import net.dotevolve.benchmark.core.kernels.StorageBenchmark;
+import net.dotevolve.benchmark.core.kernels.StreamBenchmark;
+import net.dotevolve.benchmark.core.kernels.ThreadScalingBenchmark;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Ordered collection of benchmark tests walked by {@link BenchmarkEngine}
+ */
+public class BenchmarkRegistry {
+    private final Map<String, BenchmarkTest> tests = new LinkedHashMap<>();
+
+    /**
+     * Creates the registry for the full comprehensive benchmark suite. I/O tests create
+     * and delete their scratch files in {@code scratchDirectory}.
+     */
+    public static BenchmarkRegistry createDefault(String testString, int cpuCores, File scratchDirectory) {
+        BenchmarkRegistry registry = new BenchmarkRegistry();
+        registry.register(new DigestBenchmark(PerformanceMetrics.TEST_SHA512, "SHA-512", "SHA-512",
+                PerformanceMetrics.SHA1_ITERATIONS, testString));
+        registry.register(new DigestBenchmark(PerformanceMetrics.TEST_MD5, "MD5", "MD5",
+                PerformanceMetrics.MD5_ITERATIONS, testString));
+        registry.register(new HashThroughputBenchmark());
+        registry.register(new AesBenchmark(testString));
+        registry.register(new CipherThroughputBenchmark());
+        registry.register(new PublicKeyBenchmark(testString));
+        registry.register(new CpuMicroBenchmark());
+        registry.register(new MatrixMultiplicationBenchmark());
+        registry.register(new MatrixSweepBenchmark());
+        registry.register(new ParallelMatrixBenchmark(cpuCores));
+        registry.register(new SortingBenchmark());
+        registry.register(new SortSuiteBenchmark());
+        registry.register(new CollectionsBenchmark());
+        registry.register(new CompressionBenchmark(testString));
+        registry.register(new CompressionSuiteBenchmark(testString));
+        registry.register(new MemoryBandwidthBenchmark());
+        registry.register(new StreamBenchmark());
+        registry.register(new MemoryLatencyBenchmark());
+        registry.register(new GcBenchmark());
+        registry.register(new StorageBenchmark(scratchDirectory));
+        registry.register(new SqliteBenchmark(scratchDirectory));
+        registry.register(new MultiThreadedBenchmark(testString, cpuCores));
+        registry.register(new ThreadScalingBenchmark(testString, cpuCores));
+        registry.register(new ContentionBenchmark(cpuCores));
+        return registry;
+    }
+
+    /**
+     * Adds a test, replacing any existing test with the same id in place
+     */
+    public BenchmarkRegistry register(BenchmarkTest test) {
+        tests.put(test.getId(), test);
+        return this;
+    }
+
+    public BenchmarkRegistry unregister(String testId) {
+        tests.remove(testId);
+        return this;
+    }
+
+    /**
+     * Returns a new registry containing only the given tests, in the order requested.
+     * Unknown ids are ignored.
+     */
+    public BenchmarkRegistry subset(String... testIds) {
+        BenchmarkRegistry subset = new BenchmarkRegistry();
+        for (String testId : testIds) {
+            BenchmarkTest test = tests.get(testId);
+            if (test != null) {
+                subset.register(test);
+            }
+        }
+        return subset;
+    }
+
+    public BenchmarkTest get(String testId) {
+        return tests.get(testId);
+    }
+
+    public List<BenchmarkTest> getTests() {
+        return Collections.unmodifiableList(new ArrayList<>(tests.values()));
+    }
+
+    public int size() {
+        return tests.size();
+    }
+}
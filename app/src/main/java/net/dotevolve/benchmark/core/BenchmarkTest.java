@@ -0,0 +1,82 @@
+package net.dotevolve.benchmark.core;
+
+/**
+ * A single benchmark kernel that can be registered with a {@link BenchmarkRegistry}.
+ *
+ * The engine calls {@link #setup()}, warms the kernel up with {@link #runWarmupBatch(TestResult)},
+ * times {@link #run(TestResult)}, and always calls {@link #teardown()} afterwards,
+ * even if the test failed.
+ */
+public interface BenchmarkTest {
+
+    /**
+     * Stable identifier used to key results in {@link PerformanceMetrics}
+     */
+    String getId();
+
+    /**
+     * Human readable name shown in progress updates
+     */
+    String getName();
+
+    /**
+     * Untimed preparation such as allocating buffers or creating cipher instances
+     */
+    default void setup() throws Exception {
+    }
+
+    /**
+     * Measured body of the test. Per-iteration samples are recorded into {@code result},
+     * and every output is fed into {@link TestResult#getBlackhole()}. Long loops call
+     * {@link TestResult#checkCancelled()} between chunks of work.
+     */
+    void run(TestResult result) throws Exception;
+
+    /**
+     * Number of samples {@link #run(TestResult)} records, used to preallocate the sample buffer
+     */
+    default int getExpectedSampleCount() {
+        return 0;
+    }
+
+    /**
+     * Whether {@link #run(TestResult)} honours {@link TestResult#getBatchSize()} and records
+     * samples with {@link TestResult#addBatchSample(long, int)}. When batching, it also times
+     * one operation alone between batches and records it with
+     * {@link TestResult#addLatencySample(long)}, so latency percentiles stay per-operation.
+     */
+    default boolean supportsBatching() {
+        return false;
+    }
+
+    /**
+     * Runs one untimed batch of the kernel body for the warm-up phase. Outputs go into
+     * {@link TestResult#getBlackhole()} exactly as in {@link #run(TestResult)}, but no
+     * samples are recorded.
+     *
+     * @return number of operations performed, or 0 if the test does not support warm-up
+     */
+    default int runWarmupBatch(TestResult result) throws Exception {
+        return 0;
+    }
+
+    /**
+     * Untimed cleanup, releases anything allocated in {@link #setup()}
+     */
+    default void teardown() {
+    }
+
+    /**
+     * Appends this test's entry to the results summary. Only called for tests that ran;
+     * the default adds nothing.
+     */
+    default void appendSummary(TestResult result, StringBuilder out) {
+    }
+
+    /**
+     * Appends this test's section to the detailed timing report. Only called for tests
+     * that ran; the default adds nothing.
+     */
+    default void appendDetails(TestResult result, StringBuilder out) {
+    }
+}
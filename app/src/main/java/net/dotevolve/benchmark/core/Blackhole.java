@@ -0,0 +1,60 @@
+package net.dotevolve.benchmark.core;
+
+/**
+ * Consumes kernel outputs so that neither ART nor R8 can treat the work as dead code.
+ *
+ * Every value is folded into a running checksum that is published when the test ends,
+ * so the result is observably used. For kernels with fixed inputs the checksum is
+ * deterministic and can be compared between debug and release builds.
+ */
+public final class Blackhole {
+    private long sink;
+    private Object lastObject;
+    private volatile long published;
+
+    public void consume(long value) {
+        sink = sink * 31 + value;
+    }
+
+    public void consume(int value) {
+        consume((long) value);
+    }
+
+    public void consume(double value) {
+        consume(Double.doubleToRawLongBits(value));
+    }
+
+    /**
+     * Folds the length and the first and last bytes, which is enough to make the
+     * producer of the array (a digest, a cipher, a compressor) observable
+     */
+    public void consume(byte[] value) {
+        if (value == null) {
+            consume(0L);
+            return;
+        }
+        consume(value.length);
+        if (value.length > 0) {
+            consume(value[0]);
+            consume(value[value.length - 1]);
+        }
+    }
+
+    public void consume(Object value) {
+        lastObject = value;
+        consume(value != null ? 1L : 0L);
+    }
+
+    public void reset() {
+        sink = 0;
+        lastObject = null;
+    }
+
+    /**
+     * Publishes and returns the checksum of everything consumed since the last reset
+     */
+    public long getChecksum() {
+        published = sink;
+        return published;
+    }
+}
@@ -0,0 +1,92 @@
+package net.dotevolve.benchmark.core;
+
+import java.util.concurrent.CancellationException;
+
+/**
+ * Cooperative stop signal for a benchmark run, combining an explicit cancel with a
+ * whole-run and a per-test time budget.
+ *
+ * Kernels call {@link #throwIfStopped()} between chunks of work, outside their timed
+ * regions, so a stop takes effect within milliseconds without skewing samples.
+ */
+public class CancellationToken {
+    private static final long NO_DEADLINE = Long.MAX_VALUE;
+
+    private volatile boolean cancelled;
+    private volatile long runDeadline = NO_DEADLINE;
+    private volatile long testDeadline = NO_DEADLINE;
+
+    /**
+     * Requests the run to stop. Safe to call from any thread, and more than once.
+     */
+    public void cancel() {
+        cancelled = true;
+    }
+
+    public boolean isCancelled() {
+        return cancelled;
+    }
+
+    /**
+     * Starts the whole-run budget; {@code budgetNanos <= 0} means unbounded
+     */
+    public void startRun(long budgetNanos) {
+        runDeadline = deadline(budgetNanos);
+        testDeadline = NO_DEADLINE;
+    }
+
+    /**
+     * Starts the budget of the next test; {@code budgetNanos <= 0} means unbounded
+     */
+    public void startTest(long budgetNanos) {
+        testDeadline = deadline(budgetNanos);
+    }
+
+    public boolean isRunExpired() {
+        return isPast(runDeadline);
+    }
+
+    public boolean isTestExpired() {
+        return isPast(testDeadline);
+    }
+
+    /**
+     * Whether the run was cancelled or the run or test budget is used up
+     */
+    public boolean isStopped() {
+        if (cancelled) {
+            return true;
+        }
+        long now = System.nanoTime();
+        return isPast(testDeadline, now) || isPast(runDeadline, now);
+    }
+
+    /**
+     * Throws {@link CancellationException} if work should stop
+     */
+    public void throwIfStopped() {
+        if (cancelled) {
+            throw new CancellationException("Benchmark cancelled");
+        }
+        long now = System.nanoTime();
+        if (isPast(runDeadline, now)) {
+            throw new CancellationException("Benchmark time budget exceeded");
+        }
+        if (isPast(testDeadline, now)) {
+            throw new CancellationException("Test time budget exceeded");
+        }
+    }
+
+    private static long deadline(long budgetNanos) {
+        return budgetNanos > 0 ? System.nanoTime() + budgetNanos : NO_DEADLINE;
+    }
+
+    private static boolean isPast(long deadline) {
+        return isPast(deadline, System.nanoTime());
+    }
+
+    private static boolean isPast(long deadline, long now) {
+        // Overflow-safe comparison, as nanoTime may be negative
+        return deadline != NO_DEADLINE && now - deadline > 0;
+    }
+}
@@ -4,14 +4,21 @@ import com.google.firebase.firestore.FirebaseFirestore;
 import net.dotevolve.benchmark.data.db.PerformanceDatabaseHelper;
 import net.dotevolve.benchmark.data.model.BenchmarkResult;
 import net.dotevolve.benchmark.data.model.DeviceStatistics;
+import net.dotevolve.benchmark.data.model.LatencyPercentiles;
 import net.dotevolve.benchmark.data.model.PerformanceTrend;
 
 import android.content.Context;
 import android.os.Build;
 import android.util.Log;
 
+import net.dotevolve.benchmark.core.kernels.MemoryLatencyBenchmark;
+import net.dotevolve.benchmark.core.kernels.MultiThreadedBenchmark;
+import net.dotevolve.benchmark.core.kernels.PublicKeyBenchmark;
+import net.dotevolve.benchmark.core.kernels.StreamBenchmark;
+
 import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
@@ -22,37 +29,61 @@ import java.util.Map;
 public class PerformanceMetrics {
     private static final String TAG = "PerformanceMetrics";
     
-    // Timing data
-    private long sha1TotalTime;
-    private long md5TotalTime;
-    private long aesTotalTime;
-    private long rsaTotalTime;
-    private long loopOverheadTime;
-    private long matrixMultiplicationTime;
-    private long sortingTime;
-    private long compressionTime;
-    private long memoryBandwidthTime;
-    private long multiThreadedTime;
+    // Test identifiers used to key per-test results
+    public static final String TEST_SHA512 = "sha512";
+    public static final String TEST_MD5 = "md5";
+    public static final String TEST_AES = "aes";
+    public static final String TEST_PUBLIC_KEY = "public_key";
+    public static final String TEST_MATRIX = "matrix";
+    public static final String TEST_SORT = "sort";
+    public static final String TEST_COMPRESSION = "compression";
+    public static final String TEST_MEMORY = "memory";
+    public static final String TEST_MULTI_THREADED = "multi_threaded";
+    public static final String TEST_THREAD_SCALING = "thread_scaling";
+    public static final String TEST_MATRIX_SWEEP = "matrix_sweep";
+    public static final String TEST_PARALLEL_MATRIX = "parallel_matrix";
+    public static final String TEST_SORT_SUITE = "sort_suite";
+    public static final String TEST_STREAM = "stream";
+    public static final String TEST_MEMORY_LATENCY = "memory_latency";
+    public static final String TEST_COMPRESSION_SUITE = "compression_suite";
+    public static final String TEST_CIPHER_THROUGHPUT = "cipher_throughput";
+    public static final String TEST_HASH_THROUGHPUT = "hash_throughput";
+    public static final String TEST_CPU_MICRO = "cpu_micro";
+    public static final String TEST_GC = "gc";
+    public static final String TEST_COLLECTIONS = "collections";
+    public static final String TEST_STORAGE = "storage";
+    public static final String TEST_SQLITE = "sqlite";
+    public static final String TEST_CONTENTION = "contention";
+    
+    // Tests that record per-operation samples and so have a meaningful latency distribution
+    public static final String[] LATENCY_TESTS = {TEST_SHA512, TEST_MD5, TEST_AES, TEST_PUBLIC_KEY, TEST_COMPRESSION};
     
     // Iteration counts - increased for more challenging benchmarks
-    static final int SHA1_ITERATIONS = 500000;
-    static final int MD5_ITERATIONS = 500000;
-    static final int AES_ITERATIONS = 50000;
-    private static final int RSA_ITERATIONS = 5000;
-    static final int LOOP_ITERATIONS = 10000000;
-    static final int MATRIX_SIZE = 512; // For matrix multiplication
-    static final int SORT_ARRAY_SIZE = 100000; // For sorting benchmark
-    static final int COMPRESSION_ITERATIONS = 1000;
-    static final int MEMORY_TEST_SIZE = 50 * 1024 * 1024; // 50MB memory test
-    
-    // Individual timing samples for statistical analysis
-    private final List<Long> sha1Samples = new ArrayList<>();
-    private final List<Long> md5Samples = new ArrayList<>();
-    private final List<Long> aesSamples = new ArrayList<>();
-    private final List<Long> rsaSamples = new ArrayList<>();
-    private final List<Long> matrixSamples = new ArrayList<>();
-    private final List<Long> sortSamples = new ArrayList<>();
-    private final List<Long> compressionSamples = new ArrayList<>();
+    public static final int SHA1_ITERATIONS = 500000;
+    public static final int MD5_ITERATIONS = 500000;
+    public static final int AES_ITERATIONS = 50000;
+    public static final int RSA_ITERATIONS = 500; // Max RSA-2048 signatures, each a latency sample
+    public static final int MATRIX_SIZE = 512; // For matrix multiplication
+    public static final int[] MATRIX_SWEEP_SIZES = {64, 128, 256, 512}; // Ascending, last is the largest
+    public static final int SORT_ARRAY_SIZE = 100000; // For sorting benchmark
+    public static final int[] SORT_SUITE_SIZES = {10_000, 100_000, 1_000_000, 10_000_000}; // Ascending
+    public static final int[] COLLECTION_SIZES = {1_000, 10_000, 100_000, 1_000_000, 10_000_000}; // Ascending
+    public static final int COMPRESSION_ITERATIONS = 1000;
+    public static final int MEMORY_TEST_SIZE = 50 * 1024 * 1024; // 50MB memory test
+    // STREAM working sets, 16 KB to 64 MB in powers of two, ascending. Larger sets need
+    // 256 MB+ of free heap to fit three arrays at half the headroom, which apps rarely get.
+    public static final int[] STREAM_WORKING_SET_KB = {16, 32, 64, 128, 256, 512, 1024, 2048, 4096,
+            8192, 16384, 32768, 65536};
+    // Pointer-chase working sets, 4 KB to 512 MB in powers of two, ascending
+    public static final int[] LATENCY_WORKING_SET_KB = {4, 8, 16, 32, 64, 128, 256, 512, 1024, 2048,
+            4096, 8192, 16384, 32768, 65536, 131072, 262144, 524288};
+    public static final int SCALING_ITERATIONS = 200000; // Hashes per thread-scaling point
+    
+    // Timing data and samples for statistical analysis, keyed by test id
+    private final Map<String, TestResult> testResults = new LinkedHashMap<>();
+    // Tests whose display hooks build the formatted reports, in registration order
+    private List<BenchmarkTest> tests = new ArrayList<>();
+    private TimerCalibration timerCalibration;
     
     // System information
     private String deviceModel;
@@ -70,6 +101,7 @@ public class PerformanceMetrics {
     private int computationalScore;
     private int memoryScore;
     private int multiThreadingScore;
+    private int scalingScore;
     
     // Performance categories
     public enum PerformanceCategory {
@@ -111,127 +143,87 @@ public class PerformanceMetrics {
         Log.d(TAG, "System Info - Model: " + deviceModel + 
               ", Android: " + androidVersion + 
               ", Cores: " + cpuCores + 
-              ", Memory: " + formatBytes(totalMemory));
-    }
-    
-    // Timing methods
-    public void startSha1Timing() {
-        sha1TotalTime = System.nanoTime();
-    }
-    
-    public void endSha1Timing() {
-        sha1TotalTime = System.nanoTime() - sha1TotalTime;
-        Log.d(TAG, "SHA-1 Total Time: " + formatNanoTime(sha1TotalTime));
-    }
-    
-    public void startMd5Timing() {
-        md5TotalTime = System.nanoTime();
-    }
-    
-    public void endMd5Timing() {
-        md5TotalTime = System.nanoTime() - md5TotalTime;
-        Log.d(TAG, "MD5 Total Time: " + formatNanoTime(md5TotalTime));
-    }
-    
-    public void startAesTiming() {
-        aesTotalTime = System.nanoTime();
-    }
-    
-    public void endAesTiming() {
-        aesTotalTime = System.nanoTime() - aesTotalTime;
-        Log.d(TAG, "AES Total Time: " + formatNanoTime(aesTotalTime));
-    }
-    
-    public void startRsaTiming() {
-        rsaTotalTime = System.nanoTime();
-    }
-    
-    public void endRsaTiming() {
-        rsaTotalTime = System.nanoTime() - rsaTotalTime;
-        Log.d(TAG, "RSA Total Time: " + formatNanoTime(rsaTotalTime));
-    }
-    
-    public void startLoopTiming() {
-        loopOverheadTime = System.nanoTime();
-    }
-    
-    public void endLoopTiming() {
-        loopOverheadTime = System.nanoTime() - loopOverheadTime;
-        Log.d(TAG, "Loop Overhead Time: " + formatNanoTime(loopOverheadTime));
-    }
-    
-    public void startMatrixTiming() {
-        matrixMultiplicationTime = System.nanoTime();
-    }
-    
-    public void endMatrixTiming() {
-        matrixMultiplicationTime = System.nanoTime() - matrixMultiplicationTime;
-        Log.d(TAG, "Matrix Multiplication Time: " + formatNanoTime(matrixMultiplicationTime));
-    }
-    
-    public void startSortTiming() {
-        sortingTime = System.nanoTime();
-    }
-    
-    public void endSortTiming() {
-        sortingTime = System.nanoTime() - sortingTime;
-        Log.d(TAG, "Sorting Time: " + formatNanoTime(sortingTime));
-    }
-    
-    public void startCompressionTiming() {
-        compressionTime = System.nanoTime();
-    }
-    
-    public void endCompressionTiming() {
-        compressionTime = System.nanoTime() - compressionTime;
-        Log.d(TAG, "Compression Time: " + formatNanoTime(compressionTime));
-    }
-    
-    public void startMemoryTiming() {
-        memoryBandwidthTime = System.nanoTime();
-    }
-    
-    public void endMemoryTiming() {
-        memoryBandwidthTime = System.nanoTime() - memoryBandwidthTime;
-        Log.d(TAG, "Memory Bandwidth Time: " + formatNanoTime(memoryBandwidthTime));
+              ", Memory: " + ResultFormat.formatBytes(totalMemory));
+    }
+    
+    /**
+     * Returns the result holder for {@code testId}, creating it on first use. Only the
+     * engine calls this; the read accessors below never add entries for tests that did not run.
+     */
+    public TestResult getTestResult(String testId) {
+        TestResult result = testResults.get(testId);
+        if (result == null) {
+            result = new TestResult(testId);
+            testResults.put(testId, result);
+        }
+        return result;
     }
     
-    public void startMultiThreadedTiming() {
-        multiThreadedTime = System.nanoTime();
+    public Map<String, TestResult> getTestResults() {
+        return testResults;
     }
     
-    public void endMultiThreadedTiming() {
-        multiThreadedTime = System.nanoTime() - multiThreadedTime;
-        Log.d(TAG, "Multi-threaded Time: " + formatNanoTime(multiThreadedTime));
+    /**
+     * Tests asked for their summary and detail sections, in order, when formatting results
+     */
+    public void setTests(List<BenchmarkTest> tests) {
+        this.tests = tests;
     }
     
-    // Sample collection for statistical analysis
-    public void addSha1Sample(long time) {
-        sha1Samples.add(time);
+    public long getTotalTime(String testId) {
+        TestResult result = testResults.get(testId);
+        return result != null ? result.getTotalTime() : 0;
     }
     
-    public void addMd5Sample(long time) {
-        md5Samples.add(time);
+    private boolean hasRun(String testId) {
+        TestResult result = testResults.get(testId);
+        return result != null && result.hasRun();
     }
     
-    public void addAesSample(long time) {
-        aesSamples.add(time);
+    /**
+     * Streaming statistics for {@code testId}. Updated on every sample, so this can be
+     * polled for live figures while the test is still running.
+     */
+    public RunningStats getStats(String testId) {
+        TestResult result = testResults.get(testId);
+        return result != null ? result.getStats() : new RunningStats();
     }
     
-    public void addRsaSample(long time) {
-        rsaSamples.add(time);
+    /**
+     * p50/p90/p99/p99.9 latency for {@code testId}, read from its histogram
+     */
+    public LatencyPercentiles getLatencyPercentiles(String testId) {
+        TestResult result = testResults.get(testId);
+        if (result == null) {
+            return new LatencyPercentiles();
+        }
+        LatencyHistogram histogram = result.getHistogram();
+        return new LatencyPercentiles(
+                histogram.getValueAtPercentile(50),
+                histogram.getValueAtPercentile(90),
+                histogram.getValueAtPercentile(99),
+                histogram.getValueAtPercentile(99.9));
     }
     
-    public void addMatrixSample(long time) {
-        matrixSamples.add(time);
+    /**
+     * Named metric recorded by {@code testId}, or {@code NaN} if it was not recorded
+     */
+    public double getMetric(String testId, String name) {
+        TestResult result = testResults.get(testId);
+        return result != null ? result.getMetric(name) : Double.NaN;
     }
     
-    public void addSortSample(long time) {
-        sortSamples.add(time);
+    /**
+     * Checksum of every output {@code testId} fed into its blackhole during the measured run,
+     * 0 if it did not run
+     */
+    public long getChecksum(String testId) {
+        TestResult result = testResults.get(testId);
+        return result != null ? result.getChecksum() : 0;
     }
     
-    public void addCompressionSample(long time) {
-        compressionSamples.add(time);
+    void logTestTime(String testName, TestResult result) {
+        Log.d(TAG, testName + " Total Time: " + ResultFormat.formatNanoTime(result.getTotalTime()));
     }
     
     // Performance calculations
@@ -242,6 +234,7 @@ public class PerformanceMetrics {
         computationalScore = calculateComputationalScore();
         memoryScore = calculateMemoryScore();
         multiThreadingScore = calculateMultiThreadingScore();
+        scalingScore = calculateScalingScore();
         
         // Weighted overall score - more emphasis on computational and crypto performance
         overallScore = (int) Math.round(
@@ -259,111 +252,181 @@ public class PerformanceMetrics {
               ", Memory: " + memoryScore +
               ", Efficiency: " + efficiencyScore + 
               ", Stability: " + stabilityScore +
-              ", MultiThreading: " + multiThreadingScore);
+              ", MultiThreading: " + multiThreadingScore +
+              ", Scaling: " + scalingScore);
     }
     
     private int calculateCryptoScore() {
         // Based on operations per second with realistic thresholds
-        // Modern high-end devices: 200K+ ops/sec for SHA-1, 300K+ for MD5
+        // Modern high-end devices: 200K+ ops/sec for SHA-512, 300K+ for MD5
         // Mid-range devices: 50K-150K ops/sec
         // Low-end devices: 10K-50K ops/sec
-        
-        double sha1OpsPerSec = (SHA1_ITERATIONS * 1_000_000_000.0) / sha1TotalTime;
-        double md5OpsPerSec = (MD5_ITERATIONS * 1_000_000_000.0) / md5TotalTime;
-        double aesOpsPerSec = (AES_ITERATIONS * 1_000_000_000.0) / aesTotalTime;
+        int total = 0;
+        int count = 0;
         
         // Normalize using logarithmic scale for better differentiation
         // 100 points = 200K ops/sec (high-end), 50 points = 50K ops/sec (mid-range), 0 points = 5K ops/sec (low-end)
-        int sha1Score = normalizeLogarithmic(sha1OpsPerSec, 5000, 200000, 100);
-        int md5Score = normalizeLogarithmic(md5OpsPerSec, 8000, 300000, 100);
-        int aesScore = normalizeLogarithmic(aesOpsPerSec, 1000, 20000, 100);
+        if (hasRun(TEST_SHA512)) {
+            double sha1OpsPerSec = (SHA1_ITERATIONS * 1_000_000_000.0) / getTotalTime(TEST_SHA512);
+            total += normalizeLogarithmic(sha1OpsPerSec, 5000, 200000, 100);
+            count++;
+        }
+        if (hasRun(TEST_MD5)) {
+            double md5OpsPerSec = (MD5_ITERATIONS * 1_000_000_000.0) / getTotalTime(TEST_MD5);
+            total += normalizeLogarithmic(md5OpsPerSec, 8000, 300000, 100);
+            count++;
+        }
+        if (hasRun(TEST_AES)) {
+            double aesOpsPerSec = (AES_ITERATIONS * 1_000_000_000.0) / getTotalTime(TEST_AES);
+            total += normalizeLogarithmic(aesOpsPerSec, 1000, 20000, 100);
+            count++;
+        }
+        if (hasRun(TEST_PUBLIC_KEY)) {
+            total += calculatePublicKeyScore();
+            count++;
+        }
+        
+        return count > 0 ? total / count : 50; // Default if not run
+    }
+    
+    /**
+     * Handshake-style public-key throughput: RSA-2048 signing, ECDSA P-256 signing and
+     * ECDH P-256 agreement, weighted equally
+     */
+    private int calculatePublicKeyScore() {
+        // High-end: >2000 RSA-2048 signs/sec, >20K ECDSA signs/sec, >10K ECDH/sec
+        double rsaSign = getMetric(TEST_PUBLIC_KEY, PublicKeyBenchmark.opsPerSecMetric(PublicKeyBenchmark.OP_RSA2048_SIGN));
+        double ecdsaSign = getMetric(TEST_PUBLIC_KEY, PublicKeyBenchmark.opsPerSecMetric(PublicKeyBenchmark.OP_ECDSA_P256_SIGN));
+        double ecdh = getMetric(TEST_PUBLIC_KEY, PublicKeyBenchmark.opsPerSecMetric(PublicKeyBenchmark.OP_ECDH_P256));
+        if (Double.isNaN(rsaSign) || Double.isNaN(ecdsaSign) || Double.isNaN(ecdh)) {
+            return 50; // Default if cancelled part way
+        }
         
-        return (sha1Score + md5Score + aesScore) / 3;
+        return (normalizeLogarithmic(rsaSign, 50, 3000, 100) +
+                normalizeLogarithmic(ecdsaSign, 500, 30000, 100) +
+                normalizeLogarithmic(ecdh, 300, 15000, 100)) / 3;
     }
     
     private int calculateEfficiencyScore() {
         // Based on time per operation efficiency with realistic thresholds
         // High-end: <50ns per hash, Mid-range: 50-200ns, Low-end: >200ns
-        double sha1Efficiency = (double) sha1TotalTime / SHA1_ITERATIONS;
-        double md5Efficiency = (double) md5TotalTime / MD5_ITERATIONS;
-        double aesEfficiency = (double) aesTotalTime / AES_ITERATIONS;
+        int total = 0;
+        int count = 0;
         
         // Lower time per operation = higher efficiency
         // 100 points = 10ns, 50 points = 100ns, 0 points = 1000ns
-        int sha1EffScore = normalizeInverse(sha1Efficiency, 10, 1000, 100);
-        int md5EffScore = normalizeInverse(md5Efficiency, 8, 800, 100);
-        int aesEffScore = normalizeInverse(aesEfficiency, 50, 5000, 100);
+        if (hasRun(TEST_SHA512)) {
+            double sha1Efficiency = (double) getTotalTime(TEST_SHA512) / SHA1_ITERATIONS;
+            total += normalizeInverse(sha1Efficiency, 10, 1000, 100);
+            count++;
+        }
+        if (hasRun(TEST_MD5)) {
+            double md5Efficiency = (double) getTotalTime(TEST_MD5) / MD5_ITERATIONS;
+            total += normalizeInverse(md5Efficiency, 8, 800, 100);
+            count++;
+        }
+        if (hasRun(TEST_AES)) {
+            double aesEfficiency = (double) getTotalTime(TEST_AES) / AES_ITERATIONS;
+            total += normalizeInverse(aesEfficiency, 50, 5000, 100);
+            count++;
+        }
         
-        return (sha1EffScore + md5EffScore + aesEffScore) / 3;
+        return count > 0 ? total / count : 50; // Default if not run
     }
     
     private int calculateStabilityScore() {
         // Based on coefficient of variation (CV) - more accurate than raw std dev
-        if (sha1Samples.size() < 2) return 50; // Default if no samples
-        
-        double sha1CV = calculateCoefficientOfVariation(sha1Samples);
-        double md5CV = calculateCoefficientOfVariation(md5Samples);
-        double aesCV = calculateCoefficientOfVariation(aesSamples);
-        
         // Lower CV = higher stability score
         // 100 points = CV < 0.05 (5%), 50 points = CV = 0.15 (15%), 0 points = CV > 0.5 (50%)
-        int sha1Stability = normalizeInverse(sha1CV * 100, 5, 50, 100);
-        int md5Stability = normalizeInverse(md5CV * 100, 5, 50, 100);
-        int aesStability = normalizeInverse(aesCV * 100, 5, 50, 100);
+        int total = 0;
+        int count = 0;
+        
+        for (String testId : new String[]{TEST_SHA512, TEST_MD5, TEST_AES}) {
+            RunningStats stats = getStats(testId);
+            if (stats.getCount() < 2) continue;
+            
+            double cv = stats.getCoefficientOfVariation();
+            total += normalizeInverse(cv * 100, 5, 50, 100);
+            count++;
+        }
         
-        return (sha1Stability + md5Stability + aesStability) / 3;
+        return count > 0 ? total / count : 50; // Default if no samples
     }
     
     private int calculateComputationalScore() {
         // Based on matrix multiplication and sorting performance
-        if (matrixMultiplicationTime == 0 || sortingTime == 0) {
+        if (getTotalTime(TEST_MATRIX) == 0 || getTotalTime(TEST_SORT) == 0) {
             return 50; // Default if not run
         }
         
         // Matrix multiplication: O(n^3) complexity
         // High-end: <100ms for 512x512, Mid-range: 100-500ms, Low-end: >500ms
-        double matrixScore = normalizeInverse(matrixMultiplicationTime / 1_000_000.0, 50, 1000, 100);
+        double matrixScore = normalizeInverse(getTotalTime(TEST_MATRIX) / 1_000_000.0, 50, 1000, 100);
         
         // Sorting: O(n log n) complexity
         // High-end: <50ms for 100K elements, Mid-range: 50-200ms, Low-end: >200ms
-        double sortScore = normalizeInverse(sortingTime / 1_000_000.0, 20, 500, 100);
+        double sortScore = normalizeInverse(getTotalTime(TEST_SORT) / 1_000_000.0, 20, 500, 100);
         
         return (int) Math.round((matrixScore + sortScore) / 2);
     }
     
     private int calculateMemoryScore() {
-        // Based on memory bandwidth and compression performance
-        if (memoryBandwidthTime == 0 || compressionTime == 0) {
+        // Based on memory bandwidth, memory latency and compression performance
+        if (getTotalTime(TEST_COMPRESSION) == 0 || (!hasRun(TEST_STREAM) && getTotalTime(TEST_MEMORY) == 0)) {
             return 50; // Default if not run
         }
         
-        // Memory bandwidth: MB/s
-        // High-end: >5000 MB/s, Mid-range: 2000-5000 MB/s, Low-end: <2000 MB/s
-        double memoryBandwidth = (MEMORY_TEST_SIZE * 1_000_000_000.0) / (memoryBandwidthTime * 1024.0 * 1024.0);
-        double bandwidthScore = normalizeLogarithmic(memoryBandwidth, 500, 8000, 100);
+        // Memory bandwidth: STREAM triad GB/s past the last-level cache
+        // High-end: >20 GB/s, Mid-range: 5-20 GB/s, Low-end: <5 GB/s
+        double bandwidthScore;
+        if (hasRun(TEST_STREAM)) {
+            double triadGbps = getMetric(TEST_STREAM, StreamBenchmark.METRIC_DRAM_TRIAD_GBPS);
+            bandwidthScore = normalizeLogarithmic(triadGbps, 2, 40, 100);
+        } else {
+            // Legacy copy/reverse/sum pass when the sweep was not part of the run
+            double memoryBandwidth = (MEMORY_TEST_SIZE * 1_000_000_000.0) / (getTotalTime(TEST_MEMORY) * 1024.0 * 1024.0);
+            bandwidthScore = normalizeLogarithmic(memoryBandwidth, 500, 8000, 100);
+        }
         
         // Compression: ops/sec
-        double compressionOpsPerSec = (COMPRESSION_ITERATIONS * 1_000_000_000.0) / compressionTime;
+        double compressionOpsPerSec = (COMPRESSION_ITERATIONS * 1_000_000_000.0) / getTotalTime(TEST_COMPRESSION);
         double compressionScore = normalizeLogarithmic(compressionOpsPerSec, 50, 500, 100);
         
-        return (int) Math.round((bandwidthScore + compressionScore) / 2);
+        // Memory latency: ns per dependent load in DRAM
+        // High-end: <100 ns, Mid-range: 100-200 ns, Low-end: >200 ns
+        double latencyNs = getMetric(TEST_MEMORY_LATENCY, MemoryLatencyBenchmark.METRIC_DRAM_LATENCY_NS);
+        if (Double.isNaN(latencyNs) || latencyNs <= 0) {
+            return (int) Math.round((bandwidthScore + compressionScore) / 2);
+        }
+        double latencyScore = normalizeInverse(latencyNs, 80, 300, 100);
+        
+        return (int) Math.round((bandwidthScore + latencyScore + compressionScore) / 3);
     }
     
     private int calculateMultiThreadingScore() {
-        // Based on multi-threaded performance improvement
-        if (multiThreadedTime == 0) {
+        // Based on the speedup of the same workload on the pool over a single thread
+        double speedup = getMetric(TEST_MULTI_THREADED, MultiThreadedBenchmark.METRIC_SPEEDUP);
+        if (Double.isNaN(speedup)) {
             return 50; // Default if not run
         }
         
-        // Compare single-threaded vs multi-threaded performance
         // High-end: >3x speedup, Mid-range: 2-3x, Low-end: <2x
-        long singleThreadedTime = sha1TotalTime + md5TotalTime + matrixMultiplicationTime;
-        double speedup = (double) singleThreadedTime / multiThreadedTime;
-        
         // 100 points = 4x speedup, 50 points = 2x speedup, 0 points = 1x (no improvement)
         return (int) Math.max(0, Math.min(100, (speedup - 1) * 33.33));
     }
     
+    private int calculateScalingScore() {
+        // Based on parallel efficiency: speedup divided by the number of threads used
+        double efficiency = getMetric(TEST_MULTI_THREADED, MultiThreadedBenchmark.METRIC_EFFICIENCY);
+        double threads = getMetric(TEST_MULTI_THREADED, MultiThreadedBenchmark.METRIC_THREADS);
+        if (Double.isNaN(efficiency) || threads < 2) {
+            return 50; // Default if not run or nothing to scale across
+        }
+        
+        // 100 points = 90%+ efficiency, 0 points = 25% or less
+        return (int) Math.round(Math.max(0, Math.min(100, (efficiency - 0.25) / (0.90 - 0.25) * 100)));
+    }
+    
     // Helper methods for score normalization
     private int normalizeLogarithmic(double value, double min, double max, int maxScore) {
         if (value <= min) return 0;
@@ -385,27 +448,6 @@ public class PerformanceMetrics {
         return (int) Math.round(maxScore * (1.0 - (value - best) / (worst - best)));
     }
     
-    private double calculateCoefficientOfVariation(List<Long> samples) {
-        if (samples.size() < 2) return 0;
-        
-        double mean = samples.stream().mapToLong(Long::longValue).average().orElse(0);
-        if (mean == 0) return 0;
-        
-        double stdDev = calculateStandardDeviation(samples);
-        return stdDev / mean; // CV = std dev / mean
-    }
-    
-    private double calculateStandardDeviation(List<Long> samples) {
-        if (samples.size() < 2) return 0;
-        
-        double mean = samples.stream().mapToLong(Long::longValue).average().orElse(0);
-        double variance = samples.stream()
-                .mapToDouble(sample -> Math.pow(sample - mean, 2))
-                .average().orElse(0);
-        
-        return Math.sqrt(variance);
-    }
-    
     // Getters for display
     public String getFormattedResults() {
         StringBuilder result = new StringBuilder();
@@ -419,43 +461,15 @@ public class PerformanceMetrics {
         result.append("Android: ").append(androidVersion).append("\n");
         result.append("CPU Cores: ").append(cpuCores).append("\n");
         result.append("Architecture: ").append(architecture).append("\n");
-        result.append("Max Memory: ").append(formatBytes(totalMemory)).append("\n\n");
+        result.append("Max Memory: ").append(ResultFormat.formatBytes(totalMemory)).append("\n\n");
         
         // Timing Results
         result.append("⏱️ TIMING RESULTS\n");
-        result.append("SHA-1 (").append(SHA1_ITERATIONS).append(" iterations):\n");
-        result.append("  Total Time: ").append(formatNanoTime(sha1TotalTime)).append("\n");
-        result.append("  Time per Op: ").append(formatNanoTime(sha1TotalTime / SHA1_ITERATIONS)).append("\n");
-        result.append("  Operations/sec: ").append(formatOpsPerSec(sha1TotalTime, SHA1_ITERATIONS)).append("\n\n");
-        
-        result.append("MD5 (").append(MD5_ITERATIONS).append(" iterations):\n");
-        result.append("  Total Time: ").append(formatNanoTime(md5TotalTime)).append("\n");
-        result.append("  Time per Op: ").append(formatNanoTime(md5TotalTime / MD5_ITERATIONS)).append("\n");
-        result.append("  Operations/sec: ").append(formatOpsPerSec(md5TotalTime, MD5_ITERATIONS)).append("\n\n");
-        
-        if (matrixMultiplicationTime > 0) {
-            result.append("Matrix Multiplication (").append(MATRIX_SIZE).append("x").append(MATRIX_SIZE).append("):\n");
-            result.append("  Total Time: ").append(formatNanoTime(matrixMultiplicationTime)).append("\n\n");
-        }
-        
-        if (sortingTime > 0) {
-            result.append("Sorting (").append(SORT_ARRAY_SIZE).append(" elements):\n");
-            result.append("  Total Time: ").append(formatNanoTime(sortingTime)).append("\n\n");
-        }
-        
-        if (compressionTime > 0) {
-            result.append("Compression (").append(COMPRESSION_ITERATIONS).append(" iterations):\n");
-            result.append("  Total Time: ").append(formatNanoTime(compressionTime)).append("\n\n");
-        }
-        
-        if (memoryBandwidthTime > 0) {
-            result.append("Memory Bandwidth (").append(formatBytes(MEMORY_TEST_SIZE)).append("):\n");
-            result.append("  Total Time: ").append(formatNanoTime(memoryBandwidthTime)).append("\n\n");
-        }
-        
-        if (multiThreadedTime > 0) {
-            result.append("Multi-threaded Performance:\n");
-            result.append("  Total Time: ").append(formatNanoTime(multiThreadedTime)).append("\n\n");
+        for (BenchmarkTest test : tests) {
+            TestResult testResult = testResults.get(test.getId());
+            if (testResult != null && testResult.hasRun()) {
+                test.appendSummary(testResult, result);
+            }
         }
         
         // Performance Scores
@@ -467,22 +481,23 @@ public class PerformanceMetrics {
         result.append("Memory: ").append(memoryScore).append("/100\n");
         result.append("Efficiency: ").append(efficiencyScore).append("/100\n");
         result.append("Stability: ").append(stabilityScore).append("/100\n");
-        result.append("Multi-threading: ").append(multiThreadingScore).append("/100\n\n");
+        result.append("Multi-threading: ").append(multiThreadingScore).append("/100\n");
+        result.append("Scaling: ").append(scalingScore).append("/100\n\n");
         
         // Performance Analysis
         result.append("🔍 PERFORMANCE ANALYSIS\n");
         result.append("Algorithm Comparison:\n");
-        double sha1VsMd5 = (double) sha1TotalTime / md5TotalTime;
-        result.append("  SHA-1 vs MD5 ratio: ").append(String.format(Locale.US, "%.2fx", sha1VsMd5)).append("\n");
+        double sha1VsMd5 = (double) getTotalTime(TEST_SHA512) / getTotalTime(TEST_MD5);
+        result.append("  SHA-512 vs MD5 ratio: ").append(String.format(Locale.US, "%.2fx", sha1VsMd5)).append("\n");
         
-        if (sha1Samples.size() > 1) {
-            result.append("  SHA-1 consistency: ").append(String.format(Locale.US, "%.1f%%", 
-                Math.max(0, 100 - (calculateStandardDeviation(sha1Samples) / 1000)))).append("\n");
+        if (getStats(TEST_SHA512).getCount() > 1) {
+            result.append("  SHA-512 consistency: ").append(String.format(Locale.US, "%.1f%%", 
+                Math.max(0, 100 - (getStats(TEST_SHA512).getStandardDeviation() / 1000)))).append("\n");
         }
         
-        if (md5Samples.size() > 1) {
+        if (getStats(TEST_MD5).getCount() > 1) {
             result.append("  MD5 consistency: ").append(String.format(Locale.US, "%.1f%%", 
-                Math.max(0, 100 - (calculateStandardDeviation(md5Samples) / 1000)))).append("\n");
+                Math.max(0, 100 - (getStats(TEST_MD5).getStandardDeviation() / 1000)))).append("\n");
         }
         
         return result.toString();
@@ -493,65 +508,66 @@ public class PerformanceMetrics {
         
         info.append("=== DETAILED TIMING INFORMATION ===\n\n");
         
-        // SHA-1 Details
-        info.append("🔐 SHA-1 HASH PERFORMANCE\n");
-        info.append("Iterations: ").append(SHA1_ITERATIONS).append("\n");
-        info.append("Total Time: ").append(formatNanoTime(sha1TotalTime)).append("\n");
-        info.append("Average per Operation: ").append(formatNanoTime(sha1TotalTime / SHA1_ITERATIONS)).append("\n");
-        info.append("Operations per Second: ").append(formatOpsPerSec(sha1TotalTime, SHA1_ITERATIONS)).append("\n");
-        info.append("Operations per Millisecond: ").append(String.format(Locale.US, "%.2f", 
-            (SHA1_ITERATIONS * 1_000_000.0) / sha1TotalTime)).append("\n\n");
-        
-        // MD5 Details
-        info.append("🔐 MD5 HASH PERFORMANCE\n");
-        info.append("Iterations: ").append(MD5_ITERATIONS).append("\n");
-        info.append("Total Time: ").append(formatNanoTime(md5TotalTime)).append("\n");
-        info.append("Average per Operation: ").append(formatNanoTime(md5TotalTime / MD5_ITERATIONS)).append("\n");
-        info.append("Operations per Second: ").append(formatOpsPerSec(md5TotalTime, MD5_ITERATIONS)).append("\n");
-        info.append("Operations per Millisecond: ").append(String.format(Locale.US, "%.2f", 
-            (MD5_ITERATIONS * 1_000_000.0) / md5TotalTime)).append("\n\n");
-        
-        // AES Details
-        if (aesTotalTime > 0) {
-            info.append("🔐 AES ENCRYPTION PERFORMANCE\n");
-            info.append("Iterations: ").append(AES_ITERATIONS).append("\n");
-            info.append("Total Time: ").append(formatNanoTime(aesTotalTime)).append("\n");
-            info.append("Average per Operation: ").append(formatNanoTime(aesTotalTime / AES_ITERATIONS)).append("\n");
-            info.append("Operations per Second: ").append(formatOpsPerSec(aesTotalTime, AES_ITERATIONS)).append("\n\n");
-        }
-        
-        // Matrix Multiplication Details
-        if (matrixMultiplicationTime > 0) {
-            info.append("🔢 MATRIX MULTIPLICATION PERFORMANCE\n");
-            info.append("Matrix Size: ").append(MATRIX_SIZE).append("x").append(MATRIX_SIZE).append("\n");
-            info.append("Total Time: ").append(formatNanoTime(matrixMultiplicationTime)).append("\n");
-            info.append("Operations: ").append(MATRIX_SIZE * MATRIX_SIZE * MATRIX_SIZE).append(" (O(n³))\n\n");
-        }
-        
-        // Sorting Details
-        if (sortingTime > 0) {
-            info.append("📊 SORTING PERFORMANCE\n");
-            info.append("Array Size: ").append(SORT_ARRAY_SIZE).append(" elements\n");
-            info.append("Total Time: ").append(formatNanoTime(sortingTime)).append("\n");
-            info.append("Time per Element: ").append(formatNanoTime(sortingTime / SORT_ARRAY_SIZE)).append("\n\n");
+        // Per-test sections, in registration order
+        for (BenchmarkTest test : tests) {
+            TestResult testResult = testResults.get(test.getId());
+            if (testResult != null && testResult.hasRun()) {
+                test.appendDetails(testResult, info);
+            }
         }
         
+        // Timer calibration and batch sizes
+        if (timerCalibration != null) {
+            info.append("⏲️ TIMER CALIBRATION\n");
+            info.append("nanoTime Overhead: ").append(String.format(Locale.US, "%.1f ns", timerCalibration.getOverheadNanos())).append("\n");
+            info.append("nanoTime Resolution: ").append(timerCalibration.getResolutionNanos()).append(" ns\n");
+            for (TestResult testResult : testResults.values()) {
+                if (testResult.getBatchSize() > 1) {
+                    info.append(testResult.getTestId()).append(": ")
+                        .append(testResult.getBatchSize()).append(" ops per sample\n");
+                }
+            }
+            info.append("\n");
+        }
+
+        // Warm-up Details
+        StringBuilder warmup = new StringBuilder();
+        for (TestResult testResult : testResults.values()) {
+            if (testResult.getWarmupBatches() == 0) continue;
+            warmup.append(testResult.getTestId()).append(": ")
+                  .append(testResult.getWarmupBatches()).append(" batches in ")
+                  .append(ResultFormat.formatNanoTime(testResult.getWarmupTime()));
+            if (testResult.reachedSteadyState()) {
+                warmup.append(", steady from batch ").append(testResult.getSteadyStateBatch())
+                      .append(String.format(Locale.US, " (%.0f ops/sec)", testResult.getSteadyStateThroughput()));
+            } else {
+                warmup.append(", no steady state");
+            }
+            warmup.append("\n");
+        }
+        if (warmup.length() > 0) {
+            info.append("🔥 WARM-UP\n").append(warmup).append("\n");
+        }
+
+        // Result checksums, comparable between builds for kernels with fixed inputs
+        StringBuilder checksums = new StringBuilder();
+        for (TestResult testResult : testResults.values()) {
+            if (!testResult.hasRun()) continue;
+            checksums.append(testResult.getTestId()).append(": ")
+                     .append(Long.toHexString(testResult.getChecksum())).append("\n");
+        }
+        if (checksums.length() > 0) {
+            info.append("🧾 RESULT CHECKSUMS\n").append(checksums).append("\n");
+        }
+
         // System Performance
         info.append("💻 SYSTEM PERFORMANCE\n");
-        info.append("CPU Utilization: ").append(calculateCpuUtilization()).append("%\n");
         info.append("Memory Efficiency: ").append(calculateMemoryEfficiency()).append("%\n");
         info.append("Performance per Core: ").append(calculatePerformancePerCore()).append(" ops/sec\n");
         
         return info.toString();
     }
     
-    private String calculateCpuUtilization() {
-        // Simplified CPU utilization calculation
-        long totalCryptoTime = sha1TotalTime + md5TotalTime;
-        long totalTestTime = totalCryptoTime + loopOverheadTime;
-        return String.format(Locale.US, "%.1f", (double) totalCryptoTime / totalTestTime * 100);
-    }
-    
     private String calculateMemoryEfficiency() {
         // Simplified memory efficiency calculation
         long usedMemory = Runtime.getRuntime().totalMemory() - Runtime.getRuntime().freeMemory();
@@ -560,42 +576,11 @@ public class PerformanceMetrics {
     
     private String calculatePerformancePerCore() {
         double totalOps = SHA1_ITERATIONS + (double) MD5_ITERATIONS;
-        long totalTime = sha1TotalTime + md5TotalTime;
+        long totalTime = getTotalTime(TEST_SHA512) + getTotalTime(TEST_MD5);
         double opsPerSec = (totalOps * 1_000_000_000.0) / totalTime;
         return String.format(Locale.US, "%.0f", opsPerSec / cpuCores);
     }
     
-    // Utility methods
-    private String formatNanoTime(long nanoTime) {
-        if (nanoTime < 1_000) {
-            return nanoTime + " ns";
-        } else if (nanoTime < 1_000_000) {
-            return String.format(Locale.US, "%.2f μs", nanoTime / 1_000.0);
-        } else if (nanoTime < 1_000_000_000) {
-            return String.format(Locale.US, "%.2f ms", nanoTime / 1_000_000.0);
-        } else {
-            return String.format(Locale.US, "%.2f s", nanoTime / 1_000_000_000.0);
-        }
-    }
-    
-    private String formatOpsPerSec(long totalTime, int iterations) {
-        double opsPerSec = (iterations * 1_000_000_000.0) / totalTime;
-        if (opsPerSec >= 1_000_000) {
-            return String.format(Locale.US, "%.1fM ops/sec", opsPerSec / 1_000_000);
-        } else if (opsPerSec >= 1_000) {
-            return String.format(Locale.US, "%.1fK ops/sec", opsPerSec / 1_000);
-        } else {
-            return String.format(Locale.US, "%.0f ops/sec", opsPerSec);
-        }
-    }
-    
-    private String formatBytes(long bytes) {
-        if (bytes < 1024) return bytes + " B";
-        int exp = (int) (Math.log(bytes) / Math.log(1024));
-        String pre = "KMGTPE".charAt(exp - 1) + "";
-        return String.format(Locale.US, "%.1f %sB", bytes / Math.pow(1024, exp), pre);
-    }
-    
     private PerformanceCategory getPerformanceCategory(int score) {
         return PerformanceCategory.fromScore(score);
     }
@@ -629,16 +614,55 @@ public class PerformanceMetrics {
             benchmarkData.put("efficiencyScore", efficiencyScore);
             benchmarkData.put("stabilityScore", stabilityScore);
             benchmarkData.put("multiThreadingScore", multiThreadingScore);
-            benchmarkData.put("sha1TotalTime", sha1TotalTime);
-            benchmarkData.put("md5TotalTime", md5TotalTime);
-            benchmarkData.put("aesTotalTime", aesTotalTime);
-            benchmarkData.put("rsaTotalTime", rsaTotalTime);
-            benchmarkData.put("loopOverheadTime", loopOverheadTime);
-            benchmarkData.put("matrixMultiplicationTime", matrixMultiplicationTime);
-            benchmarkData.put("sortingTime", sortingTime);
-            benchmarkData.put("compressionTime", compressionTime);
-            benchmarkData.put("memoryBandwidthTime", memoryBandwidthTime);
-            benchmarkData.put("multiThreadedTime", multiThreadedTime);
+            benchmarkData.put("scalingScore", scalingScore);
+            benchmarkData.put("sha1TotalTime", getTotalTime(TEST_SHA512));
+            benchmarkData.put("md5TotalTime", getTotalTime(TEST_MD5));
+            benchmarkData.put("aesTotalTime", getTotalTime(TEST_AES));
+            benchmarkData.put("rsaTotalTime", getRsaTotalTime());
+            benchmarkData.put("publicKeyTotalTime", getTotalTime(TEST_PUBLIC_KEY));
+            benchmarkData.put("matrixMultiplicationTime", getTotalTime(TEST_MATRIX));
+            benchmarkData.put("sortingTime", getTotalTime(TEST_SORT));
+            benchmarkData.put("compressionTime", getTotalTime(TEST_COMPRESSION));
+            benchmarkData.put("memoryBandwidthTime", getTotalTime(TEST_MEMORY));
+            benchmarkData.put("multiThreadedTime", getMultiThreadedTime());
+            if (timerCalibration != null) {
+                benchmarkData.put("timerOverheadNanos", timerCalibration.getOverheadNanos());
+                benchmarkData.put("timerResolutionNanos", timerCalibration.getResolutionNanos());
+            }
+            Map<String, Object> batchSizes = new HashMap<>();
+            for (TestResult testResult : testResults.values()) {
+                if (testResult.hasRun()) {
+                    batchSizes.put(testResult.getTestId(), testResult.getBatchSize());
+                }
+            }
+            benchmarkData.put("batchSizes", batchSizes);
+            Map<String, Object> checksums = new HashMap<>();
+            for (TestResult testResult : testResults.values()) {
+                if (testResult.hasRun()) {
+                    checksums.put(testResult.getTestId(), Long.toHexString(testResult.getChecksum()));
+                }
+            }
+            benchmarkData.put("checksums", checksums);
+            Map<String, Object> testMetrics = new HashMap<>();
+            for (TestResult testResult : testResults.values()) {
+                if (!testResult.getMetrics().isEmpty()) {
+                    testMetrics.put(testResult.getTestId(), new HashMap<>(testResult.getMetrics()));
+                }
+            }
+            benchmarkData.put("testMetrics", testMetrics);
+            
+            Map<String, Object> latencyData = new HashMap<>();
+            for (String testId : LATENCY_TESTS) {
+                LatencyPercentiles percentiles = getLatencyPercentiles(testId);
+                if (percentiles.isEmpty()) continue;
+                Map<String, Object> values = new HashMap<>();
+                values.put("p50", percentiles.getP50());
+                values.put("p90", percentiles.getP90());
+                values.put("p99", percentiles.getP99());
+                values.put("p999", percentiles.getP999());
+                latencyData.put(testId, values);
+            }
+            benchmarkData.put("latencyPercentiles", latencyData);
             benchmarkData.put("timestamp", Timestamp.now());
 
             db.collection("benchmarks")
@@ -680,6 +704,18 @@ public class PerformanceMetrics {
         }
     }
     
+    /**
+     * Fills in the per-test metrics of a stored run, which history queries do not load
+     */
+    public static void loadTestMetrics(Context context, BenchmarkResult result) {
+        try {
+            PerformanceDatabaseHelper dbHelper = new PerformanceDatabaseHelper(context);
+            dbHelper.loadTestMetrics(result);
+        } catch (Exception e) {
+            Log.e(TAG, "Failed to load test metrics", e);
+        }
+    }
+    
     public static DeviceStatistics getDeviceStatistics(Context context, String deviceModel) {
         try {
             PerformanceDatabaseHelper dbHelper = new PerformanceDatabaseHelper(context);
@@ -700,20 +736,36 @@ public class PerformanceMetrics {
     public int getCpuCores() { return cpuCores; }
     public long getTotalMemory() { return totalMemory; }
     public String getArchitecture() { return architecture; }
-    public long getSha1TotalTime() { return sha1TotalTime; }
-    public long getMd5TotalTime() { return md5TotalTime; }
-    public long getAesTotalTime() { return aesTotalTime; }
-    public long getRsaTotalTime() { return rsaTotalTime; }
-    public long getLoopOverheadTime() { return loopOverheadTime; }
-    public long getMatrixMultiplicationTime() { return matrixMultiplicationTime; }
-    public long getSortingTime() { return sortingTime; }
-    public long getCompressionTime() { return compressionTime; }
-    public long getMemoryBandwidthTime() { return memoryBandwidthTime; }
-    public long getMultiThreadedTime() { return multiThreadedTime; }
+    public long getSha1TotalTime() { return getTotalTime(TEST_SHA512); }
+    public long getMd5TotalTime() { return getTotalTime(TEST_MD5); }
+    public long getAesTotalTime() { return getTotalTime(TEST_AES); }
+    /**
+     * Time spent in RSA-2048 signing and verification within the public-key stage
+     */
+    public long getRsaTotalTime() {
+        double time = getMetric(TEST_PUBLIC_KEY, PublicKeyBenchmark.METRIC_RSA2048_TIME_NS);
+        return Double.isNaN(time) ? 0 : (long) time;
+    }
+    public long getPublicKeyTotalTime() { return getTotalTime(TEST_PUBLIC_KEY); }
+    public long getMatrixMultiplicationTime() { return getTotalTime(TEST_MATRIX); }
+    public long getSortingTime() { return getTotalTime(TEST_SORT); }
+    public long getCompressionTime() { return getTotalTime(TEST_COMPRESSION); }
+    public long getMemoryBandwidthTime() { return getTotalTime(TEST_MEMORY); }
+    /**
+     * Time of the pooled run of the multi-threaded workload, or the whole stage if the
+     * stage was timed through the legacy start/end methods
+     */
+    public long getMultiThreadedTime() {
+        double parallelTime = getMetric(TEST_MULTI_THREADED, MultiThreadedBenchmark.METRIC_PARALLEL_TIME);
+        return Double.isNaN(parallelTime) ? getTotalTime(TEST_MULTI_THREADED) : (long) parallelTime;
+    }
     public int getComputationalScore() { return computationalScore; }
     public int getMemoryScore() { return memoryScore; }
     public int getMultiThreadingScore() { return multiThreadingScore; }
+    public int getScalingScore() { return scalingScore; }
     public String getBenchmarkVersion() { return benchmarkVersion; }
     public void setBenchmarkVersion(String benchmarkVersion) { this.benchmarkVersion = benchmarkVersion; }
+    public TimerCalibration getTimerCalibration() { return timerCalibration; }
+    public void setTimerCalibration(TimerCalibration timerCalibration) { this.timerCalibration = timerCalibration; }
 }
 
@@ -0,0 +1,58 @@
+package net.dotevolve.benchmark.core;
+
+import java.util.Locale;
+
+/**
+ * Formatting helpers shared by {@link PerformanceMetrics} and the display hooks of
+ * {@link BenchmarkTest} implementations
+ */
+public final class ResultFormat {
+
+    private ResultFormat() {
+    }
+
+    public static String formatNanoTime(long nanoTime) {
+        if (nanoTime < 1_000) {
+            return nanoTime + " ns";
+        } else if (nanoTime < 1_000_000) {
+            return String.format(Locale.US, "%.2f μs", nanoTime / 1_000.0);
+        } else if (nanoTime < 1_000_000_000) {
+            return String.format(Locale.US, "%.2f ms", nanoTime / 1_000_000.0);
+        } else {
+            return String.format(Locale.US, "%.2f s", nanoTime / 1_000_000_000.0);
+        }
+    }
+
+    public static String formatOpsPerSec(long totalTime, int iterations) {
+        double opsPerSec = (iterations * 1_000_000_000.0) / totalTime;
+        if (opsPerSec >= 1_000_000) {
+            return String.format(Locale.US, "%.1fM ops/sec", opsPerSec / 1_000_000);
+        } else if (opsPerSec >= 1_000) {
+            return String.format(Locale.US, "%.1fK ops/sec", opsPerSec / 1_000);
+        } else {
+            return String.format(Locale.US, "%.0f ops/sec", opsPerSec);
+        }
+    }
+
+    public static String formatBytes(long bytes) {
+        if (bytes < 1024) return bytes + " B";
+        int exp = (int) (Math.log(bytes) / Math.log(1024));
+        String pre = "KMGTPE".charAt(exp - 1) + "";
+        return String.format(Locale.US, "%.1f %sB", bytes / Math.pow(1024, exp), pre);
+    }
+
+    /**
+     * Appends p50/p90/p99/p99.9/max lines from the histogram of {@code result}, nothing
+     * if it recorded no samples
+     */
+    public static void appendLatencyPercentiles(StringBuilder out, TestResult result) {
+        LatencyHistogram histogram = result.getHistogram();
+        if (histogram.getTotalCount() == 0) return;
+
+        out.append("Latency p50: ").append(formatNanoTime(histogram.getValueAtPercentile(50)))
+           .append(", p90: ").append(formatNanoTime(histogram.getValueAtPercentile(90))).append("\n");
+        out.append("Latency p99: ").append(formatNanoTime(histogram.getValueAtPercentile(99)))
+           .append(", p99.9: ").append(formatNanoTime(histogram.getValueAtPercentile(99.9)))
+           .append(", max: ").append(formatNanoTime(histogram.getMaxValue())).append("\n");
+    }
+}
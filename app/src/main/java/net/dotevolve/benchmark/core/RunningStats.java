@@ -0,0 +1,57 @@
+package net.dotevolve.benchmark.core;
+
+/**
+ * Single-pass streaming statistics over timing samples.
+ *
+ * Uses Welford's online algorithm, so mean and variance are numerically stable and
+ * available at any point while samples are still being recorded.
+ */
+public class RunningStats {
+    private long count;
+    private double mean;
+    private double m2; // Sum of squared differences from the current mean
+    private long min = Long.MAX_VALUE;
+    private long max = Long.MIN_VALUE;
+
+    public void add(long value) {
+        count++;
+        double delta = value - mean;
+        mean += delta / count;
+        m2 += delta * (value - mean);
+
+        if (value < min) min = value;
+        if (value > max) max = value;
+    }
+
+    public void clear() {
+        count = 0;
+        mean = 0;
+        m2 = 0;
+        min = Long.MAX_VALUE;
+        max = Long.MIN_VALUE;
+    }
+
+    /**
+     * Population variance, matching the previous multi-pass calculation
+     */
+    public double getVariance() {
+        return count < 2 ? 0 : m2 / count;
+    }
+
+    public double getStandardDeviation() {
+        return Math.sqrt(getVariance());
+    }
+
+    /**
+     * Coefficient of variation, std dev / mean
+     */
+    public double getCoefficientOfVariation() {
+        if (count < 2 || mean == 0) return 0;
+        return getStandardDeviation() / mean;
+    }
+
+    public long getCount() { return count; }
+    public double getMean() { return mean; }
+    public long getMin() { return count > 0 ? min : 0; }
+    public long getMax() { return count > 0 ? max : 0; }
+}
@@ -0,0 +1,60 @@
+package net.dotevolve.benchmark.core;
+
+import java.util.Arrays;
+
+/**
+ * Growable buffer of primitive timing samples.
+ *
+ * Reserve the expected sample count up front with {@link #ensureCapacity(int)} so that
+ * {@link #add(long)} never allocates inside a measured loop.
+ */
+public class SampleBuffer {
+    private static final int DEFAULT_CAPACITY = 16;
+
+    private long[] values;
+    private int size;
+
+    public SampleBuffer() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    public SampleBuffer(int initialCapacity) {
+        values = new long[Math.max(1, initialCapacity)];
+    }
+
+    public void add(long value) {
+        if (size == values.length) {
+            grow(size + 1);
+        }
+        values[size++] = value;
+    }
+
+    public void ensureCapacity(int capacity) {
+        if (capacity > values.length) {
+            values = Arrays.copyOf(values, capacity);
+        }
+    }
+
+    private void grow(int minCapacity) {
+        int newCapacity = Math.max(minCapacity, values.length + (values.length >> 1));
+        values = Arrays.copyOf(values, newCapacity);
+    }
+
+    public long get(int index) {
+        if (index >= size) {
+            throw new IndexOutOfBoundsException("Index " + index + " out of bounds for size " + size);
+        }
+        return values[index];
+    }
+
+    public void clear() {
+        size = 0;
+    }
+
+    public long[] toArray() {
+        return Arrays.copyOf(values, size);
+    }
+
+    public int size() { return size; }
+    public int capacity() { return values.length; }
+}
@@ -0,0 +1,169 @@
+package net.dotevolve.benchmark.core;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Timing data and samples collected for a single benchmark test
+ */
+public class TestResult {
+    private final String testId;
+    private long startTime;
+    private long totalTime;
+    private final SampleBuffer samples = new SampleBuffer();
+    private final RunningStats stats = new RunningStats();
+    private final LatencyHistogram histogram = new LatencyHistogram();
+    private final Blackhole blackhole = new Blackhole();
+    private long checksum;
+    private boolean failed;
+
+    // Named figures a kernel derives from its run, e.g. throughput per thread count
+    private final Map<String, Double> metrics = new LinkedHashMap<>();
+
+    private CancellationToken cancellationToken = new CancellationToken();
+
+    // Warm-up phase, -1 steady state batch means the budget ran out first
+    private int warmupBatches;
+    private long warmupTime;
+    private int steadyStateBatch = -1;
+    private double steadyStateThroughput;
+
+    // Batched sampling, each sample covers batchSize operations
+    private int batchSize = 1;
+    private long timerOverhead;
+    // Fraction of a nanosecond dropped from the last per-operation sample, carried into the next
+    private double batchCarry;
+    private TimerCalibration timerCalibration;
+
+    public TestResult(String testId) {
+        this.testId = testId;
+    }
+
+    /**
+     * Preallocates room for {@code count} samples so recording them does not allocate
+     */
+    public void reserveSamples(int count) {
+        samples.ensureCapacity(count);
+    }
+
+    public void startTiming() {
+        samples.clear();
+        stats.clear();
+        histogram.clear();
+        batchCarry = 0;
+        blackhole.reset();
+        metrics.clear();
+        failed = false;
+        totalTime = 0;
+        startTime = System.nanoTime();
+    }
+
+    public void endTiming() {
+        totalTime = System.nanoTime() - startTime;
+        checksum = blackhole.getChecksum();
+    }
+
+    public void addSample(long time) {
+        samples.add(time);
+        stats.add(time);
+        histogram.record(time);
+    }
+
+    /**
+     * Records one sample covering {@code operations} operations, stored as the per-operation
+     * time after subtracting the calibrated timer overhead. A batch of more than one
+     * operation only feeds the sample buffer and running stats: its average hides the tail,
+     * so latency percentiles come from {@link #addLatencySample(long)} instead.
+     */
+    public void addBatchSample(long time, int operations) {
+        long corrected = Math.max(0, time - timerOverhead);
+        if (operations <= 1) {
+            addSample(corrected);
+            return;
+        }
+        // Carry the fractional nanosecond so truncation does not bias the mean down
+        double perOperation = (double) corrected / operations + batchCarry;
+        long sample = (long) perOperation;
+        batchCarry = perOperation - sample;
+        samples.add(sample);
+        stats.add(sample);
+    }
+
+    /**
+     * Records the time of a single operation into the latency histogram only, after
+     * subtracting the calibrated timer overhead. Batched kernels time one operation alone
+     * between batches so the percentiles stay per-operation.
+     */
+    public void addLatencySample(long time) {
+        histogram.record(Math.max(0, time - timerOverhead));
+    }
+
+    /**
+     * Throws {@link java.util.concurrent.CancellationException} if the run was cancelled
+     * or a time budget ran out. Call between chunks of work, outside timed regions.
+     */
+    public void checkCancelled() {
+        cancellationToken.throwIfStopped();
+    }
+
+    public void putMetric(String name, double value) {
+        metrics.put(name, value);
+    }
+
+    /**
+     * Returns the named metric, or {@code NaN} if the kernel did not record it
+     */
+    public double getMetric(String name) {
+        Double value = metrics.get(name);
+        return value != null ? value : Double.NaN;
+    }
+
+    public Map<String, Double> getMetrics() {
+        return Collections.unmodifiableMap(metrics);
+    }
+
+    public void setBatching(int batchSize, long timerOverhead) {
+        this.batchSize = Math.max(1, batchSize);
+        this.timerOverhead = timerOverhead;
+    }
+
+    public void setWarmup(int batches, long time, int steadyStateBatch, double steadyStateThroughput) {
+        this.warmupBatches = batches;
+        this.warmupTime = time;
+        this.steadyStateBatch = steadyStateBatch;
+        this.steadyStateThroughput = steadyStateThroughput;
+    }
+
+    /**
+     * Marks the test as failed and drops its timing, so scores treat it as not run
+     */
+    public void markFailed() {
+        failed = true;
+        totalTime = 0;
+    }
+
+    public boolean hasRun() {
+        return totalTime > 0;
+    }
+
+    public String getTestId() { return testId; }
+    public long getTotalTime() { return totalTime; }
+    public SampleBuffer getSamples() { return samples; }
+    public RunningStats getStats() { return stats; }
+    public LatencyHistogram getHistogram() { return histogram; }
+    public Blackhole getBlackhole() { return blackhole; }
+    public long getChecksum() { return checksum; }
+    public boolean isFailed() { return failed; }
+    public int getWarmupBatches() { return warmupBatches; }
+    public long getWarmupTime() { return warmupTime; }
+    public int getSteadyStateBatch() { return steadyStateBatch; }
+    public double getSteadyStateThroughput() { return steadyStateThroughput; }
+    public boolean reachedSteadyState() { return steadyStateBatch >= 0; }
+    public CancellationToken getCancellationToken() { return cancellationToken; }
+    public void setCancellationToken(CancellationToken cancellationToken) { this.cancellationToken = cancellationToken; }
+    public int getBatchSize() { return batchSize; }
+    public long getTimerOverhead() { return timerOverhead; }
+    public TimerCalibration getTimerCalibration() { return timerCalibration; }
+    public void setTimerCalibration(TimerCalibration timerCalibration) { this.timerCalibration = timerCalibration; }
+}
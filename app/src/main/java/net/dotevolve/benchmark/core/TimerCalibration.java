@@ -0,0 +1,87 @@
+package net.dotevolve.benchmark.core;
+
+import android.util.Log;
+
+import java.util.Locale;
+
+/**
+ * One-time measurement of {@link System#nanoTime()} cost and granularity.
+ *
+ * The overhead is subtracted from batched samples, and both values decide how many
+ * operations each sample has to cover before the clock stops dominating the measurement.
+ */
+public class TimerCalibration {
+    private static final String TAG = "TimerCalibration";
+
+    private static final int WARMUP_CALLS = 20_000;
+    private static final int OVERHEAD_CALLS = 100_000;
+    private static final int RESOLUTION_PROBES = 1_000;
+
+    // A sample should be at least this many times longer than the timer overhead/resolution
+    private static final int MIN_BATCH_MULTIPLE = 100;
+    private static final long MIN_BATCH_NANOS = 1_000;
+    private static final int MAX_BATCH_SIZE = 1_000;
+    private static final int MIN_SAMPLES = 100;
+
+    private final double overheadNanos;
+    private final long resolutionNanos;
+
+    /**
+     * Known timer characteristics; use {@link #calibrate()} to measure them
+     */
+    TimerCalibration(double overheadNanos, long resolutionNanos) {
+        this.overheadNanos = overheadNanos;
+        this.resolutionNanos = resolutionNanos;
+    }
+
+    public static TimerCalibration calibrate() {
+        long sink = 0;
+        for (int i = 0; i < WARMUP_CALLS; i++) {
+            sink += System.nanoTime();
+        }
+
+        // Overhead: average cost of back-to-back calls
+        long start = System.nanoTime();
+        for (int i = 0; i < OVERHEAD_CALLS; i++) {
+            sink += System.nanoTime();
+        }
+        double overhead = (System.nanoTime() - start) / (double) OVERHEAD_CALLS;
+
+        // Resolution: smallest non-zero step between consecutive readings
+        long resolution = Long.MAX_VALUE;
+        for (int i = 0; i < RESOLUTION_PROBES; i++) {
+            long t0 = System.nanoTime();
+            long t1;
+            do {
+                t1 = System.nanoTime();
+            } while (t1 == t0);
+            resolution = Math.min(resolution, t1 - t0);
+        }
+
+        Log.d(TAG, String.format(Locale.US, "nanoTime overhead: %.1f ns, resolution: %d ns (%d)",
+                overhead, resolution, sink & 1));
+        return new TimerCalibration(overhead, resolution);
+    }
+
+    /**
+     * Picks how many operations one sample should cover so that timer cost is amortised,
+     * while still leaving enough samples for meaningful percentiles.
+     *
+     * @param opsPerSecond estimated kernel throughput, 0 if unknown
+     * @param iterations   total operations the test will run
+     */
+    public int chooseBatchSize(double opsPerSecond, int iterations) {
+        if (opsPerSecond <= 0) return 1;
+
+        double opNanos = 1_000_000_000.0 / opsPerSecond;
+        double targetNanos = Math.max(MIN_BATCH_NANOS,
+                MIN_BATCH_MULTIPLE * Math.max(overheadNanos, resolutionNanos));
+        int batchSize = (int) Math.ceil(targetNanos / opNanos);
+
+        int maxForSamples = Math.max(1, iterations / MIN_SAMPLES);
+        return Math.max(1, Math.min(batchSize, Math.min(MAX_BATCH_SIZE, maxForSamples)));
+    }
+
+    public double getOverheadNanos() { return overheadNanos; }
+    public long getResolutionNanos() { return resolutionNanos; }
+}
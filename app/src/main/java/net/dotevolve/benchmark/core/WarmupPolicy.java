@@ -0,0 +1,104 @@
+package net.dotevolve.benchmark.core;
+
+import android.util.Log;
+
+import java.util.Locale;
+
+/**
+ * Warm-up phase run before each measured kernel.
+ *
+ * Runs untimed batches of the kernel until per-batch throughput stabilises, so the
+ * measured run starts with JIT-compiled code instead of the interpreter.
+ */
+public class WarmupPolicy {
+    private static final String TAG = "WarmupPolicy";
+
+    // Defaults tuned so a stable kernel settles in well under a second
+    public static final double DEFAULT_TOLERANCE = 0.05; // 5% spread across the window
+    public static final int DEFAULT_WINDOW_SIZE = 5;
+    public static final int DEFAULT_MIN_BATCHES = 5;
+    public static final int DEFAULT_MAX_BATCHES = 200;
+    public static final long DEFAULT_MAX_DURATION_NANOS = 3_000_000_000L; // 3 s
+
+    private double tolerance = DEFAULT_TOLERANCE;
+    private int windowSize = DEFAULT_WINDOW_SIZE;
+    private int minBatches = DEFAULT_MIN_BATCHES;
+    private int maxBatches = DEFAULT_MAX_BATCHES;
+    private long maxDurationNanos = DEFAULT_MAX_DURATION_NANOS;
+    private boolean enabled = true;
+
+    /**
+     * Warms up {@code test} and records the warm-up length and steady-state point in {@code result}.
+     * Tests that do not support warm-up batches are skipped.
+     */
+    public void run(BenchmarkTest test, TestResult result) throws Exception {
+        if (!enabled) return;
+
+        double[] window = new double[windowSize];
+        int batches = 0;
+        long warmupStart = System.nanoTime();
+
+        while (batches < maxBatches && System.nanoTime() - warmupStart < maxDurationNanos) {
+            result.checkCancelled();
+            long batchStart = System.nanoTime();
+            int operations = test.runWarmupBatch(result);
+            long batchTime = System.nanoTime() - batchStart;
+
+            if (operations <= 0) {
+                return; // Test does not support warm-up
+            }
+
+            double throughput = operations * 1_000_000_000.0 / Math.max(1, batchTime);
+            window[batches % windowSize] = throughput;
+            batches++;
+
+            if (batches >= Math.max(minBatches, windowSize) && isSteady(window)) {
+                result.setWarmup(batches, System.nanoTime() - warmupStart, batches - windowSize + 1, mean(window));
+                Log.d(TAG, String.format(Locale.US, "%s steady after %d batches (%.0f ops/sec)",
+                        test.getName(), batches, mean(window)));
+                return;
+            }
+        }
+
+        // Budget exhausted without reaching a steady state, keep the latest estimate
+        int filled = Math.min(batches, windowSize);
+        double estimate = 0;
+        for (int i = 0; i < filled; i++) {
+            estimate += window[i] / filled;
+        }
+        result.setWarmup(batches, System.nanoTime() - warmupStart, -1, estimate);
+        Log.w(TAG, test.getName() + " did not reach steady state after " + batches + " batches");
+    }
+
+    private boolean isSteady(double[] window) {
+        double min = Double.MAX_VALUE;
+        double max = 0;
+        for (double value : window) {
+            min = Math.min(min, value);
+            max = Math.max(max, value);
+        }
+        double mean = mean(window);
+        return mean > 0 && (max - min) / mean <= tolerance;
+    }
+
+    private double mean(double[] window) {
+        double sum = 0;
+        for (double value : window) {
+            sum += value;
+        }
+        return sum / window.length;
+    }
+
+    public double getTolerance() { return tolerance; }
+    public void setTolerance(double tolerance) { this.tolerance = tolerance; }
+    public int getWindowSize() { return windowSize; }
+    public void setWindowSize(int windowSize) { this.windowSize = Math.max(2, windowSize); }
+    public int getMinBatches() { return minBatches; }
+    public void setMinBatches(int minBatches) { this.minBatches = minBatches; }
+    public int getMaxBatches() { return maxBatches; }
+    public void setMaxBatches(int maxBatches) { this.maxBatches = maxBatches; }
+    public long getMaxDurationNanos() { return maxDurationNanos; }
+    public void setMaxDurationNanos(long maxDurationNanos) { this.maxDurationNanos = maxDurationNanos; }
+    public boolean isEnabled() { return enabled; }
+    public void setEnabled(boolean enabled) { this.enabled = enabled; }
+}
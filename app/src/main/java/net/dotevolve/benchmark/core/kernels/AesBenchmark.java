@@ -0,0 +1,112 @@
+package net.dotevolve.benchmark.core.kernels;
+
+import net.dotevolve.benchmark.core.BenchmarkTest;
+import net.dotevolve.benchmark.core.Blackhole;
+import net.dotevolve.benchmark.core.PerformanceMetrics;
+import net.dotevolve.benchmark.core.ResultFormat;
+import net.dotevolve.benchmark.core.TestResult;
+
+import java.nio.charset.StandardCharsets;
+
+import javax.crypto.Cipher;
+import javax.crypto.KeyGenerator;
+import javax.crypto.SecretKey;
+
+/**
+ * Encrypts a short input string repeatedly with AES-256
+ */
+public class AesBenchmark implements BenchmarkTest {
+    private final byte[] inputBytes;
+
+    private Cipher cipher;
+
+    public AesBenchmark(String input) {
+        this.inputBytes = input.getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Override
+    public String getId() { return PerformanceMetrics.TEST_AES; }
+
+    @Override
+    public String getName() { return "AES"; }
+
+    @Override
+    public void setup() throws Exception {
+        // Generate AES key
+        KeyGenerator keyGen = KeyGenerator.getInstance("AES");
+        keyGen.init(256);
+        SecretKey secretKey = keyGen.generateKey();
+
+        // Use AES/CBC/PKCS5Padding for better compatibility and performance testing
+        cipher = Cipher.getInstance("AES/CBC/PKCS5Padding");
+        cipher.init(Cipher.ENCRYPT_MODE, secretKey);
+    }
+
+    @Override
+    public void run(TestResult result) throws Exception {
+        Blackhole blackhole = result.getBlackhole();
+        int iterations = PerformanceMetrics.AES_ITERATIONS;
+        int batchSize = result.getBatchSize();
+        for (int i = 0; i < iterations; ) {
+            result.checkCancelled();
+            int operations = Math.min(batchSize, iterations - i);
+            long startTime = System.nanoTime();
+            encrypt(operations, blackhole);
+            long endTime = System.nanoTime();
+
+            // Collect sample for statistical analysis
+            result.addBatchSample(endTime - startTime, operations);
+            i += operations;
+
+            // A batch average hides the tail, so time one operation alone for the percentiles
+            if (operations > 1 && i < iterations) {
+                long probeStart = System.nanoTime();
+                encrypt(1, blackhole);
+                result.addLatencySample(System.nanoTime() - probeStart);
+                i++;
+            }
+        }
+    }
+
+    @Override
+    public boolean supportsBatching() {
+        return true;
+    }
+
+    @Override
+    public int getExpectedSampleCount() {
+        return PerformanceMetrics.AES_ITERATIONS;
+    }
+
+    @Override
+    public int runWarmupBatch(TestResult result) throws Exception {
+        int batchSize = PerformanceMetrics.AES_ITERATIONS / 100;
+        encrypt(batchSize, result.getBlackhole());
+        return batchSize;
+    }
+
+    // Shared by warm-up and the measured loop so both exercise the same compiled code
+    private void encrypt(int operations, Blackhole blackhole) throws Exception {
+        for (int i = 0; i < operations; i++) {
+            blackhole.consume(cipher.doFinal(inputBytes));
+        }
+    }
+
+    @Override
+    public void teardown() {
+        cipher = null;
+    }
+
+    @Override
+    public void appendDetails(TestResult result, StringBuilder out) {
+        long totalTime = result.getTotalTime();
+        int iterations = PerformanceMetrics.AES_ITERATIONS;
+        out.append("🔐 AES ENCRYPTION PERFORMANCE\n");
+        out.append("Iterations: ").append(iterations).append("\n");
+        out.append("Total Time: ").append(ResultFormat.formatNanoTime(totalTime)).append("\n");
+        out.append("Average per Operation: ").append(ResultFormat.formatNanoTime(totalTime / iterations)).append("\n");
+        out.append("Operations per Second: ").append(ResultFormat.formatOpsPerSec(totalTime, iterations)).append("\n");
+        ResultFormat.appendLatencyPercentiles(out, result);
+        out.append("\n");
+    }
+}
@@ -0,0 +1,235 @@
+package net.dotevolve.benchmark.core.kernels;
+
+import android.util.Log;
+
+import net.dotevolve.benchmark.core.BenchmarkTest;
+import net.dotevolve.benchmark.core.Blackhole;
+import net.dotevolve.benchmark.core.PerformanceMetrics;
+import net.dotevolve.benchmark.core.ResultFormat;
+import net.dotevolve.benchmark.core.TestResult;
+
+import java.nio.ByteBuffer;
+import java.security.GeneralSecurityException;
+import java.security.spec.AlgorithmParameterSpec;
+import java.util.Locale;
+import java.util.Random;
+
+import javax.crypto.Cipher;
+import javax.crypto.spec.GCMParameterSpec;
+import javax.crypto.spec.IvParameterSpec;
+import javax.crypto.spec.SecretKeySpec;
+
+/**
+ * Bulk encryption throughput of AES-GCM, AES-CTR, AES-CBC and ChaCha20-Poly1305 over
+ * buffer sizes from 64 B to 1 MB, in MB/s.
+ *
+ * Every cipher encrypts into a preallocated {@link ByteBuffer} through
+ * {@link Cipher#doFinal(ByteBuffer, ByteBuffer)}. CTR and CBC simply reset after each
+ * call; the AEAD ciphers refuse to reuse a nonce, so they are re-initialised with the next
+ * counter nonce per message, the way a TLS record layer uses them. Keys and nonces are
+ * fixed so ciphertexts, and so checksums, are reproducible.
+ */
+public class CipherThroughputBenchmark implements BenchmarkTest {
+    private static final String TAG = "CipherThroughput";
+
+    public static final String CIPHER_AES_GCM = "aes_gcm";
+    public static final String CIPHER_AES_CTR = "aes_ctr";
+    public static final String CIPHER_AES_CBC = "aes_cbc";
+    public static final String CIPHER_CHACHA20_POLY1305 = "chacha20_poly1305";
+    public static final String[] CIPHERS = {CIPHER_AES_GCM, CIPHER_AES_CTR, CIPHER_AES_CBC, CIPHER_CHACHA20_POLY1305};
+    public static final int[] BUFFER_SIZES = {64, 256, 1024, 4 * 1024, 16 * 1024, 64 * 1024, 256 * 1024, 1024 * 1024};
+
+    private static final long SEED = 17;
+    private static final int KEY_BYTES = 32;
+    private static final int NONCE_BYTES = 12;
+    private static final int GCM_TAG_BITS = 128;
+    // Room for a 16-byte tag or a block of padding
+    private static final int OUTPUT_SLACK = 32;
+    // Each cipher and size encrypts at least this many bytes
+    private static final long MIN_BYTES_PER_CELL = 8L * 1024 * 1024;
+    // Bytes encrypted between cancellation checks
+    private static final int CHUNK_BYTES = 256 * 1024;
+    private static final int WARMUP_SIZE = 4 * 1024;
+    private static final int WARMUP_MESSAGES = 16;
+    // Warm-up nonces count up from setup and measured ones restart per cipher under their
+    // own prefix, so no nonce repeats under a key within a run
+    private static final byte WARMUP_NONCE_PREFIX = 0;
+    private static final byte RUN_NONCE_PREFIX = 1;
+
+    private Cipher[] ciphers;
+    private SecretKeySpec[] keys;
+    private byte[] nonce;
+    private long nonceCounter;
+    private ByteBuffer input;
+    private ByteBuffer output;
+
+    public static String throughputMetric(String cipher, int bufferSize) {
+        return "mbps_" + cipher + "_b" + bufferSize;
+    }
+
+    @Override
+    public String getId() { return PerformanceMetrics.TEST_CIPHER_THROUGHPUT; }
+
+    @Override
+    public String getName() { return "Cipher Throughput"; }
+
+    @Override
+    public void setup() {
+        Random random = new Random(SEED);
+        byte[] keyBytes = new byte[KEY_BYTES];
+        random.nextBytes(keyBytes);
+
+        nonce = new byte[NONCE_BYTES];
+        resetNonce(WARMUP_NONCE_PREFIX);
+        ciphers = new Cipher[CIPHERS.length];
+        keys = new SecretKeySpec[CIPHERS.length];
+        for (int c = 0; c < CIPHERS.length; c++) {
+            try {
+                createCipher(c, keyBytes);
+            } catch (GeneralSecurityException e) {
+                // ChaCha20-Poly1305 needs API 28 or a provider that ships it
+                Log.w(TAG, CIPHERS[c] + " not available: " + e.getMessage());
+                ciphers[c] = null;
+            }
+        }
+
+        int maxSize = BUFFER_SIZES[BUFFER_SIZES.length - 1];
+        byte[] plaintext = new byte[maxSize];
+        random.nextBytes(plaintext);
+        input = ByteBuffer.wrap(plaintext);
+        output = ByteBuffer.allocate(maxSize + OUTPUT_SLACK);
+    }
+
+    @Override
+    public void run(TestResult result) throws GeneralSecurityException {
+        Blackhole blackhole = result.getBlackhole();
+        for (int c = 0; c < CIPHERS.length; c++) {
+            if (ciphers[c] == null) continue;
+            resetNonce(RUN_NONCE_PREFIX);
+
+            for (int size : BUFFER_SIZES) {
+                long messages = Math.max(1, MIN_BYTES_PER_CELL / size);
+                int messagesPerChunk = Math.max(1, CHUNK_BYTES / size);
+
+                long totalTime = 0;
+                int written = 0;
+                for (long done = 0; done < messages; done += messagesPerChunk) {
+                    result.checkCancelled();
+                    int chunk = (int) Math.min(messagesPerChunk, messages - done);
+                    long startTime = System.nanoTime();
+                    for (int m = 0; m < chunk; m++) {
+                        written = encrypt(c, size);
+                    }
+                    totalTime += System.nanoTime() - startTime;
+                }
+
+                double megabytes = (double) size * messages / (1024 * 1024);
+                result.putMetric(throughputMetric(CIPHERS[c], size), megabytes * 1_000_000_000.0 / Math.max(1, totalTime));
+                blackhole.consume(written);
+                blackhole.consume(output.get(written - 1));
+            }
+        }
+    }
+
+    @Override
+    public int runWarmupBatch(TestResult result) throws GeneralSecurityException {
+        int operations = 0;
+        for (int c = 0; c < CIPHERS.length; c++) {
+            if (ciphers[c] == null) continue;
+            for (int m = 0; m < WARMUP_MESSAGES; m++) {
+                result.getBlackhole().consume(encrypt(c, WARMUP_SIZE));
+            }
+            operations += WARMUP_MESSAGES;
+        }
+        return operations;
+    }
+
+    @Override
+    public void teardown() {
+        ciphers = null;
+        keys = null;
+        input = null;
+        output = null;
+    }
+
+    @Override
+    public void appendDetails(TestResult result, StringBuilder out) {
+        out.append("🔐 CIPHER THROUGHPUT (MB/s)\n");
+        for (String cipher : CIPHERS) {
+            StringBuilder row = new StringBuilder();
+            for (int size : BUFFER_SIZES) {
+                double throughput = result.getMetric(throughputMetric(cipher, size));
+                if (Double.isNaN(throughput)) continue;
+                row.append(row.length() == 0 ? "" : ", ")
+                   .append(ResultFormat.formatBytes(size)).append(String.format(Locale.US, " %.1f", throughput));
+            }
+            out.append(cipher).append(": ").append(row.length() > 0 ? row : "not available").append("\n");
+        }
+        out.append("\n");
+    }
+
+    private void createCipher(int c, byte[] keyBytes) throws GeneralSecurityException {
+        switch (CIPHERS[c]) {
+            case CIPHER_AES_GCM:
+                keys[c] = new SecretKeySpec(keyBytes, "AES");
+                ciphers[c] = Cipher.getInstance("AES/GCM/NoPadding");
+                break;
+            case CIPHER_AES_CTR:
+                keys[c] = new SecretKeySpec(keyBytes, "AES");
+                ciphers[c] = Cipher.getInstance("AES/CTR/NoPadding");
+                ciphers[c].init(Cipher.ENCRYPT_MODE, keys[c], new IvParameterSpec(new byte[16]));
+                break;
+            case CIPHER_AES_CBC:
+                keys[c] = new SecretKeySpec(keyBytes, "AES");
+                ciphers[c] = Cipher.getInstance("AES/CBC/PKCS5Padding");
+                ciphers[c].init(Cipher.ENCRYPT_MODE, keys[c], new IvParameterSpec(new byte[16]));
+                break;
+            default:
+                keys[c] = new SecretKeySpec(keyBytes, "ChaCha20");
+                ciphers[c] = chaCha20Poly1305();
+                break;
+        }
+        if (isAead(c)) {
+            // Fail here rather than mid-run if the provider rejects the key or nonce
+            ciphers[c].init(Cipher.ENCRYPT_MODE, keys[c], nextNonceSpec(c));
+        }
+    }
+
+    private static Cipher chaCha20Poly1305() throws GeneralSecurityException {
+        try {
+            return Cipher.getInstance("ChaCha20/Poly1305/NoPadding"); // Conscrypt name
+        } catch (GeneralSecurityException e) {
+            return Cipher.getInstance("ChaCha20-Poly1305"); // SunJCE name
+        }
+    }
+
+    private boolean isAead(int c) {
+        return CIPHERS[c].equals(CIPHER_AES_GCM) || CIPHERS[c].equals(CIPHER_CHACHA20_POLY1305);
+    }
+
+    private int encrypt(int c, int size) throws GeneralSecurityException {
+        Cipher cipher = ciphers[c];
+        if (isAead(c)) {
+            cipher.init(Cipher.ENCRYPT_MODE, keys[c], nextNonceSpec(c));
+        }
+        input.clear().limit(size);
+        output.clear();
+        return cipher.doFinal(input, output);
+    }
+
+    private void resetNonce(byte prefix) {
+        nonce[0] = prefix;
+        nonceCounter = 0;
+    }
+
+    private AlgorithmParameterSpec nextNonceSpec(int c) {
+        long counter = ++nonceCounter;
+        for (int i = 0; i < 8; i++) {
+            nonce[NONCE_BYTES - 1 - i] = (byte) (counter >>> (8 * i));
+        }
+        // Both specs copy the nonce, so the shared array can be updated in place
+        return CIPHERS[c].equals(CIPHER_AES_GCM)
+                ? new GCMParameterSpec(GCM_TAG_BITS, nonce)
+                : new IvParameterSpec(nonce);
+    }
+}
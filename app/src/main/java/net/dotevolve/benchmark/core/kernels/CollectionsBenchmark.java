@@ -0,0 +1,483 @@
+package net.dotevolve.benchmark.core.kernels;
+
+import android.util.ArrayMap;
+import android.util.SparseIntArray;
+
+import net.dotevolve.benchmark.core.BenchmarkTest;
+import net.dotevolve.benchmark.core.Blackhole;
+import net.dotevolve.benchmark.core.PerformanceMetrics;
+import net.dotevolve.benchmark.core.TestResult;
+
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * Put, get, iterate and remove throughput of int-keyed maps in ns/op: boxed
+ * {@code HashMap<Integer, Integer>} and {@link ArrayMap}, the primitive
+ * {@link SparseIntArray}, and {@link IntIntMap}, an open-addressing map with no boxing.
+ * Keys are either sequential or scattered, and lookups and removals either follow insertion
+ * order or a seeded shuffle of it.
+ *
+ * ArrayMap and SparseIntArray keep sorted arrays with O(n) inserts, so they stop at
+ * {@link #SORTED_ARRAY_MAX_KEYS}. Sizes whose maps would crowd the heap are skipped. Bytes
+ * per entry are measured from the heap after a full GC, at each map's largest size.
+ */
+public class CollectionsBenchmark implements BenchmarkTest {
+    public static final String MAP_HASH_MAP = "hash_map";
+    public static final String MAP_ARRAY_MAP = "array_map";
+    public static final String MAP_SPARSE_INT_ARRAY = "sparse_int_array";
+    public static final String MAP_INT_INT_MAP = "int_int_map";
+    public static final String[] MAPS = {MAP_HASH_MAP, MAP_ARRAY_MAP, MAP_SPARSE_INT_ARRAY, MAP_INT_INT_MAP};
+
+    public static final String OP_PUT = "put";
+    public static final String OP_GET = "get";
+    public static final String OP_ITERATE = "iterate";
+    public static final String OP_REMOVE = "remove";
+    public static final String[] OPERATIONS = {OP_PUT, OP_GET, OP_ITERATE, OP_REMOVE};
+
+    public static final String ACCESS_SEQUENTIAL = "sequential";
+    public static final String ACCESS_RANDOM = "random";
+    public static final String[] ACCESS_PATTERNS = {ACCESS_SEQUENTIAL, ACCESS_RANDOM};
+
+    public static final int SORTED_ARRAY_MAX_KEYS = 10_000;
+
+    private static final long SEED = 22;
+    // Smaller sizes repeat until at least this many keys are processed per cell
+    private static final int MIN_KEYS_PER_CELL = 1_000_000;
+    private static final int WARMUP_KEYS = 1000;
+    // Upper estimates of heap per entry, including table growth, for the heap check
+    private static final int HASH_MAP_BYTES_PER_ENTRY = 96;
+    private static final int ARRAY_MAP_BYTES_PER_ENTRY = 64;
+    private static final int SPARSE_INT_ARRAY_BYTES_PER_ENTRY = 24;
+    private static final int INT_INT_MAP_BYTES_PER_ENTRY = 40;
+
+    private MapUnderTest[] maps;
+    private int[] warmupKeys;
+
+    public static String nsPerOpMetric(String map, String operation, String access, int size) {
+        return "ns_" + operation + "_" + map + "_" + access + "_n" + size;
+    }
+
+    public static String bytesPerEntryMetric(String map) {
+        return "bytes_per_entry_" + map;
+    }
+
+    @Override
+    public String getId() { return PerformanceMetrics.TEST_COLLECTIONS; }
+
+    @Override
+    public String getName() { return "Collections"; }
+
+    @Override
+    public void setup() {
+        maps = new MapUnderTest[MAPS.length];
+        for (int m = 0; m < MAPS.length; m++) {
+            maps[m] = create(MAPS[m]);
+        }
+        warmupKeys = new int[WARMUP_KEYS];
+        fillKeys(warmupKeys, ACCESS_RANDOM, new Random(SEED));
+    }
+
+    @Override
+    public void run(TestResult result) {
+        Blackhole blackhole = result.getBlackhole();
+        int[] largestSize = new int[MAPS.length];
+
+        for (String access : ACCESS_PATTERNS) {
+            for (int size : PerformanceMetrics.COLLECTION_SIZES) {
+                // Insertion order and lookup order
+                if (!HeapBudget.fits(8L * size)) break;
+                int[] keys = new int[size];
+                Random random = new Random(SEED);
+                fillKeys(keys, access, random);
+                int[] lookups = keys.clone();
+                if (access.equals(ACCESS_RANDOM)) {
+                    shuffle(lookups, random);
+                }
+
+                for (int m = 0; m < MAPS.length; m++) {
+                    if (!fits(MAPS[m], size)) continue;
+                    runCell(result, m, access, keys, lookups, blackhole);
+                    largestSize[m] = size;
+                }
+            }
+        }
+
+        // Footprint at each map's largest size, with scattered keys so tables are not favoured
+        for (int m = 0; m < MAPS.length; m++) {
+            if (largestSize[m] == 0) continue;
+            result.checkCancelled();
+            int[] keys = new int[largestSize[m]];
+            fillKeys(keys, ACCESS_RANDOM, new Random(SEED));
+            result.putMetric(bytesPerEntryMetric(MAPS[m]), measureBytesPerEntry(maps[m], keys));
+        }
+    }
+
+    @Override
+    public int runWarmupBatch(TestResult result) {
+        Blackhole blackhole = result.getBlackhole();
+        for (MapUnderTest map : maps) {
+            map.clear();
+            map.putAll(warmupKeys);
+            blackhole.consume(map.getAll(warmupKeys));
+            blackhole.consume(map.iterate());
+            map.removeAll(warmupKeys);
+        }
+        return maps.length * WARMUP_KEYS * OPERATIONS.length;
+    }
+
+    @Override
+    public void teardown() {
+        if (maps != null) {
+            for (MapUnderTest map : maps) {
+                map.clear();
+            }
+            maps = null;
+        }
+        warmupKeys = null;
+    }
+
+    @Override
+    public void appendSummary(TestResult result, StringBuilder out) {
+        // Largest size both maps ran, where boxing shows most
+        int[] sizes = PerformanceMetrics.COLLECTION_SIZES;
+        for (int i = sizes.length - 1; i >= 0; i--) {
+            double boxed = result.getMetric(nsPerOpMetric(MAP_HASH_MAP, OP_GET, ACCESS_RANDOM, sizes[i]));
+            double primitive = result.getMetric(nsPerOpMetric(MAP_INT_INT_MAP, OP_GET, ACCESS_RANDOM, sizes[i]));
+            if (Double.isNaN(boxed) || Double.isNaN(primitive)) continue;
+            out.append("Collections (random get, ").append(sizes[i]).append(" keys):\n");
+            out.append(String.format(Locale.US, "  HashMap: %.1f ns, IntIntMap: %.1f ns (%.1fx)\n\n",
+                    boxed, primitive, boxed / primitive));
+            break;
+        }
+    }
+
+    @Override
+    public void appendDetails(TestResult result, StringBuilder out) {
+        out.append("🗃️ COLLECTIONS (ns/op: put, get, iterate, remove)\n");
+        for (String access : ACCESS_PATTERNS) {
+            for (int size : PerformanceMetrics.COLLECTION_SIZES) {
+                StringBuilder rows = new StringBuilder();
+                for (String map : MAPS) {
+                    double put = result.getMetric(nsPerOpMetric(map, OP_PUT, access, size));
+                    if (Double.isNaN(put)) continue;
+                    rows.append(String.format(Locale.US, "  %s: %.1f, %.1f, %.1f, %.1f\n", map, put,
+                            result.getMetric(nsPerOpMetric(map, OP_GET, access, size)),
+                            result.getMetric(nsPerOpMetric(map, OP_ITERATE, access, size)),
+                            result.getMetric(nsPerOpMetric(map, OP_REMOVE, access, size))));
+                }
+                if (rows.length() > 0) {
+                    out.append(size).append(" keys, ").append(access).append(":\n").append(rows);
+                }
+            }
+        }
+        for (String map : MAPS) {
+            double bytesPerEntry = result.getMetric(bytesPerEntryMetric(map));
+            if (Double.isNaN(bytesPerEntry)) continue;
+            out.append(String.format(Locale.US, "%s: %.1f bytes/entry\n", map, bytesPerEntry));
+        }
+        out.append("\n");
+    }
+
+    private void runCell(TestResult result, int m, String access, int[] keys, int[] lookups, Blackhole blackhole) {
+        MapUnderTest map = maps[m];
+        int size = keys.length;
+        int repetitions = Math.max(1, MIN_KEYS_PER_CELL / size);
+        long[] times = new long[OPERATIONS.length];
+
+        for (int r = 0; r < repetitions; r++) {
+            result.checkCancelled();
+            // A fresh map each time, so puts include the growth a real map goes through
+            map.clear();
+            long startTime = System.nanoTime();
+            map.putAll(keys);
+            times[0] += System.nanoTime() - startTime;
+
+            startTime = System.nanoTime();
+            long found = map.getAll(lookups);
+            times[1] += System.nanoTime() - startTime;
+
+            startTime = System.nanoTime();
+            long iterated = map.iterate();
+            times[2] += System.nanoTime() - startTime;
+
+            result.checkCancelled();
+            startTime = System.nanoTime();
+            map.removeAll(lookups);
+            times[3] += System.nanoTime() - startTime;
+
+            blackhole.consume(found);
+            blackhole.consume(iterated);
+            blackhole.consume(map.size());
+        }
+
+        long operations = (long) size * repetitions;
+        for (int op = 0; op < OPERATIONS.length; op++) {
+            result.putMetric(nsPerOpMetric(MAPS[m], OPERATIONS[op], access, size), (double) times[op] / operations);
+        }
+    }
+
+    private static double measureBytesPerEntry(MapUnderTest map, int[] keys) {
+        map.clear();
+        long before = usedHeapAfterGc();
+        map.putAll(keys);
+        long after = usedHeapAfterGc();
+        double bytesPerEntry = (double) (after - before) / keys.length;
+        map.clear();
+        return Math.max(0, bytesPerEntry);
+    }
+
+    private static long usedHeapAfterGc() {
+        Runtime runtime = Runtime.getRuntime();
+        runtime.gc();
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+
+    private static boolean fits(String map, int size) {
+        switch (map) {
+            case MAP_HASH_MAP:
+                return HeapBudget.fits((long) HASH_MAP_BYTES_PER_ENTRY * size);
+            case MAP_ARRAY_MAP:
+                return size <= SORTED_ARRAY_MAX_KEYS && HeapBudget.fits((long) ARRAY_MAP_BYTES_PER_ENTRY * size);
+            case MAP_SPARSE_INT_ARRAY:
+                return size <= SORTED_ARRAY_MAX_KEYS && HeapBudget.fits((long) SPARSE_INT_ARRAY_BYTES_PER_ENTRY * size);
+            default:
+                return HeapBudget.fits((long) INT_INT_MAP_BYTES_PER_ENTRY * size);
+        }
+    }
+
+    /**
+     * Sequential keys are 0..n-1. Random keys are distinct and scattered over the whole int
+     * range: multiplying by an odd constant is a bijection, so no key repeats.
+     */
+    private static void fillKeys(int[] keys, String access, Random random) {
+        if (access.equals(ACCESS_SEQUENTIAL)) {
+            for (int i = 0; i < keys.length; i++) {
+                keys[i] = i;
+            }
+        } else {
+            int offset = random.nextInt();
+            for (int i = 0; i < keys.length; i++) {
+                keys[i] = (i + offset) * 0x9E3779B1;
+            }
+        }
+    }
+
+    private static void shuffle(int[] array, Random random) {
+        for (int i = array.length - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            int t = array[i];
+            array[i] = array[j];
+            array[j] = t;
+        }
+    }
+
+    private static MapUnderTest create(String map) {
+        switch (map) {
+            case MAP_HASH_MAP:
+                return new HashMapUnderTest();
+            case MAP_ARRAY_MAP:
+                return new ArrayMapUnderTest();
+            case MAP_SPARSE_INT_ARRAY:
+                return new SparseIntArrayUnderTest();
+            default:
+                return new IntIntMapUnderTest();
+        }
+    }
+
+    private static int valueFor(int key) {
+        // Outside the Integer cache, so every boxed value is a real allocation
+        return key ^ 0x5A5A5A5A;
+    }
+
+    /**
+     * One map implementation. Each loop lives in its own subclass so the map calls in it
+     * stay monomorphic.
+     */
+    private abstract static class MapUnderTest {
+        /** Replaces the map with a new, empty one at its default capacity */
+        abstract void clear();
+        abstract void putAll(int[] keys);
+        /** Looks up every key and returns the sum of the values found */
+        abstract long getAll(int[] keys);
+        /** Visits every entry and returns the sum of the values */
+        abstract long iterate();
+        abstract void removeAll(int[] keys);
+        abstract int size();
+    }
+
+    private static final class HashMapUnderTest extends MapUnderTest {
+        private HashMap<Integer, Integer> map = new HashMap<>();
+
+        @Override
+        void clear() { map = new HashMap<>(); }
+
+        @Override
+        void putAll(int[] keys) {
+            for (int key : keys) {
+                map.put(key, valueFor(key));
+            }
+        }
+
+        @Override
+        long getAll(int[] keys) {
+            long sum = 0;
+            for (int key : keys) {
+                sum += map.get(key);
+            }
+            return sum;
+        }
+
+        @Override
+        long iterate() {
+            long sum = 0;
+            for (Map.Entry<Integer, Integer> entry : map.entrySet()) {
+                sum += entry.getValue();
+            }
+            return sum;
+        }
+
+        @Override
+        void removeAll(int[] keys) {
+            for (int key : keys) {
+                map.remove(key);
+            }
+        }
+
+        @Override
+        int size() { return map.size(); }
+    }
+
+    private static final class ArrayMapUnderTest extends MapUnderTest {
+        private ArrayMap<Integer, Integer> map = new ArrayMap<>();
+
+        @Override
+        void clear() { map = new ArrayMap<>(); }
+
+        @Override
+        void putAll(int[] keys) {
+            for (int key : keys) {
+                map.put(key, valueFor(key));
+            }
+        }
+
+        @Override
+        long getAll(int[] keys) {
+            long sum = 0;
+            for (int key : keys) {
+                sum += map.get(key);
+            }
+            return sum;
+        }
+
+        @Override
+        long iterate() {
+            // Indexed access is the allocation-free way to walk an ArrayMap
+            long sum = 0;
+            for (int i = 0, n = map.size(); i < n; i++) {
+                sum += map.valueAt(i);
+            }
+            return sum;
+        }
+
+        @Override
+        void removeAll(int[] keys) {
+            for (int key : keys) {
+                map.remove(key);
+            }
+        }
+
+        @Override
+        int size() { return map.size(); }
+    }
+
+    private static final class SparseIntArrayUnderTest extends MapUnderTest {
+        private SparseIntArray map = new SparseIntArray();
+
+        @Override
+        void clear() { map = new SparseIntArray(); }
+
+        @Override
+        void putAll(int[] keys) {
+            for (int key : keys) {
+                map.put(key, valueFor(key));
+            }
+        }
+
+        @Override
+        long getAll(int[] keys) {
+            long sum = 0;
+            for (int key : keys) {
+                sum += map.get(key);
+            }
+            return sum;
+        }
+
+        @Override
+        long iterate() {
+            long sum = 0;
+            for (int i = 0, n = map.size(); i < n; i++) {
+                sum += map.valueAt(i);
+            }
+            return sum;
+        }
+
+        @Override
+        void removeAll(int[] keys) {
+            for (int key : keys) {
+                map.delete(key);
+            }
+        }
+
+        @Override
+        int size() { return map.size(); }
+    }
+
+    private static final class IntIntMapUnderTest extends MapUnderTest implements IntIntMap.EntryVisitor {
+        private IntIntMap map = new IntIntMap();
+        private long sum;
+
+        @Override
+        void clear() { map = new IntIntMap(); }
+
+        @Override
+        void putAll(int[] keys) {
+            for (int key : keys) {
+                map.put(key, valueFor(key));
+            }
+        }
+
+        @Override
+        long getAll(int[] keys) {
+            long sum = 0;
+            for (int key : keys) {
+                sum += map.get(key, 0);
+            }
+            return sum;
+        }
+
+        @Override
+        long iterate() {
+            sum = 0;
+            map.forEach(this);
+            return sum;
+        }
+
+        @Override
+        public void visit(int key, int value) {
+            sum += value;
+        }
+
+        @Override
+        void removeAll(int[] keys) {
+            for (int key : keys) {
+                map.remove(key);
+            }
+        }
+
+        @Override
+        int size() { return map.size(); }
+    }
+}
@@ -0,0 +1,99 @@
+package net.dotevolve.benchmark.core.kernels;
+
+import net.dotevolve.benchmark.core.BenchmarkTest;
+import net.dotevolve.benchmark.core.Blackhole;
+import net.dotevolve.benchmark.core.PerformanceMetrics;
+import net.dotevolve.benchmark.core.ResultFormat;
+import net.dotevolve.benchmark.core.TestResult;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * GZIP compression of a synthetic text payload
+ */
+public class CompressionBenchmark implements BenchmarkTest {
+    private final String testString;
+
+    private byte[] data;
+
+    public CompressionBenchmark(String testString) {
+        this.testString = testString;
+    }
+
+    @Override
+    public String getId() { return PerformanceMetrics.TEST_COMPRESSION; }
+
+    @Override
+    public String getName() { return "Compression"; }
+
+    @Override
+    public void setup() {
+        // Create test data
+        StringBuilder testData = new StringBuilder();
+        for (int i = 0; i < 10000; i++) {
+            testData.append(testString).append(i);
+        }
+        data = testData.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Override
+    public void run(TestResult result) throws IOException {
+        Blackhole blackhole = result.getBlackhole();
+        for (int i = 0; i < PerformanceMetrics.COMPRESSION_ITERATIONS; i++) {
+            result.checkCancelled();
+            long startTime = System.nanoTime();
+            blackhole.consume(compress());
+            long endTime = System.nanoTime();
+            result.addSample(endTime - startTime);
+        }
+    }
+
+    @Override
+    public int getExpectedSampleCount() {
+        return PerformanceMetrics.COMPRESSION_ITERATIONS;
+    }
+
+    @Override
+    public int runWarmupBatch(TestResult result) throws IOException {
+        Blackhole blackhole = result.getBlackhole();
+        int batchSize = PerformanceMetrics.COMPRESSION_ITERATIONS / 100;
+        for (int i = 0; i < batchSize; i++) {
+            blackhole.consume(compress());
+        }
+        return batchSize;
+    }
+
+    private byte[] compress() throws IOException {
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        GZIPOutputStream gzos = new GZIPOutputStream(baos);
+        gzos.write(data);
+        gzos.close();
+        return baos.toByteArray();
+    }
+
+    @Override
+    public void teardown() {
+        data = null;
+    }
+
+    @Override
+    public void appendSummary(TestResult result, StringBuilder out) {
+        out.append("Compression (").append(PerformanceMetrics.COMPRESSION_ITERATIONS).append(" iterations):\n");
+        out.append("  Total Time: ").append(ResultFormat.formatNanoTime(result.getTotalTime())).append("\n\n");
+    }
+
+    @Override
+    public void appendDetails(TestResult result, StringBuilder out) {
+        long totalTime = result.getTotalTime();
+        int iterations = PerformanceMetrics.COMPRESSION_ITERATIONS;
+        out.append("🗜️ COMPRESSION PERFORMANCE\n");
+        out.append("Iterations: ").append(iterations).append("\n");
+        out.append("Total Time: ").append(ResultFormat.formatNanoTime(totalTime)).append("\n");
+        out.append("Average per Operation: ").append(ResultFormat.formatNanoTime(totalTime / iterations)).append("\n");
+        ResultFormat.appendLatencyPercentiles(out, result);
+        out.append("\n");
+    }
+}
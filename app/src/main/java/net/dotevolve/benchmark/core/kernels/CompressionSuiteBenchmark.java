@@ -0,0 +1,242 @@
+package net.dotevolve.benchmark.core.kernels;
+
+import net.dotevolve.benchmark.core.BenchmarkTest;
+import net.dotevolve.benchmark.core.Blackhole;
+import net.dotevolve.benchmark.core.PerformanceMetrics;
+import net.dotevolve.benchmark.core.TestResult;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Locale;
+import java.util.Random;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * Deflate and inflate throughput and compression ratio on text, JSON log and random
+ * corpora at several levels.
+ *
+ * One {@link Deflater} per level and one {@link Inflater} are created in setup and reset
+ * between passes, and all output buffers are preallocated, so the timed region holds only
+ * the codec work and no native allocation.
+ */
+public class CompressionSuiteBenchmark implements BenchmarkTest {
+    public static final String CORPUS_TEXT = "text";
+    public static final String CORPUS_JSON = "json";
+    public static final String CORPUS_RANDOM = "random";
+    public static final String[] CORPORA = {CORPUS_TEXT, CORPUS_JSON, CORPUS_RANDOM};
+    public static final int[] LEVELS = {1, 6, 9};
+
+    private static final long SEED = 1000;
+    private static final int CORPUS_SIZE = 1024 * 1024;
+    // Each level and corpus processes at least this many input bytes per direction
+    private static final long MIN_BYTES_PER_CELL = 8L * 1024 * 1024;
+    private static final int WARMUP_SIZE = 64 * 1024;
+    private static final int WARMUP_LEVEL_INDEX = 1; // Level 6, zlib's default
+    private static final String[] WORDS = {"the", "device", "benchmark", "result", "of", "and",
+            "memory", "thread", "score", "to", "a", "latency", "in", "is", "upload", "battery",
+            "network", "for", "cache", "with", "session", "user", "request", "response"};
+    private static final String[] LOG_LEVELS = {"DEBUG", "INFO", "INFO", "INFO", "WARN", "ERROR"};
+
+    private final String testString;
+
+    private byte[][] corpora;
+    private Deflater[] deflaters;
+    private Inflater inflater;
+    private byte[] compressed;
+    private byte[] decompressed;
+
+    public CompressionSuiteBenchmark(String testString) {
+        this.testString = testString;
+    }
+
+    public static String compressMetric(String corpus, int level) {
+        return "compress_mbps_" + corpus + "_l" + level;
+    }
+
+    public static String decompressMetric(String corpus, int level) {
+        return "decompress_mbps_" + corpus + "_l" + level;
+    }
+
+    public static String ratioMetric(String corpus, int level) {
+        return "ratio_" + corpus + "_l" + level;
+    }
+
+    @Override
+    public String getId() { return PerformanceMetrics.TEST_COMPRESSION_SUITE; }
+
+    @Override
+    public String getName() { return "Compression Suite"; }
+
+    @Override
+    public void setup() {
+        Random random = new Random(SEED);
+        corpora = new byte[CORPORA.length][];
+        for (int c = 0; c < CORPORA.length; c++) {
+            corpora[c] = buildCorpus(CORPORA[c], random);
+        }
+
+        deflaters = new Deflater[LEVELS.length];
+        for (int l = 0; l < LEVELS.length; l++) {
+            deflaters[l] = new Deflater(LEVELS[l]);
+        }
+        inflater = new Inflater();
+
+        // Stored blocks add 5 bytes per 64 KB, so incompressible input still fits
+        compressed = new byte[CORPUS_SIZE + CORPUS_SIZE / 1024 + 64];
+        decompressed = new byte[CORPUS_SIZE];
+    }
+
+    @Override
+    public void run(TestResult result) throws DataFormatException {
+        Blackhole blackhole = result.getBlackhole();
+        int repetitions = (int) Math.max(1, MIN_BYTES_PER_CELL / CORPUS_SIZE);
+
+        for (int c = 0; c < CORPORA.length; c++) {
+            byte[] input = corpora[c];
+            for (int l = 0; l < LEVELS.length; l++) {
+                int compressedLength = 0;
+                long compressTime = 0;
+                for (int r = 0; r < repetitions; r++) {
+                    result.checkCancelled();
+                    long startTime = System.nanoTime();
+                    compressedLength = deflate(deflaters[l], input, input.length);
+                    compressTime += System.nanoTime() - startTime;
+                }
+
+                long decompressTime = 0;
+                for (int r = 0; r < repetitions; r++) {
+                    result.checkCancelled();
+                    long startTime = System.nanoTime();
+                    inflate(compressedLength, input.length);
+                    decompressTime += System.nanoTime() - startTime;
+                }
+
+                double megabytes = (double) input.length * repetitions / (1024 * 1024);
+                result.putMetric(compressMetric(CORPORA[c], LEVELS[l]), megabytes * 1_000_000_000.0 / Math.max(1, compressTime));
+                result.putMetric(decompressMetric(CORPORA[c], LEVELS[l]), megabytes * 1_000_000_000.0 / Math.max(1, decompressTime));
+                result.putMetric(ratioMetric(CORPORA[c], LEVELS[l]), (double) input.length / compressedLength);
+                blackhole.consume(compressedLength);
+                blackhole.consume(decompressed[input.length - 1]);
+            }
+        }
+    }
+
+    @Override
+    public int runWarmupBatch(TestResult result) throws DataFormatException {
+        for (byte[] input : corpora) {
+            int compressedLength = deflate(deflaters[WARMUP_LEVEL_INDEX], input, WARMUP_SIZE);
+            inflate(compressedLength, WARMUP_SIZE);
+            result.getBlackhole().consume(compressedLength);
+        }
+        return corpora.length * WARMUP_SIZE;
+    }
+
+    @Override
+    public void teardown() {
+        // Deflater and Inflater hold native zlib state until end() is called
+        if (deflaters != null) {
+            for (Deflater deflater : deflaters) {
+                deflater.end();
+            }
+            deflaters = null;
+        }
+        if (inflater != null) {
+            inflater.end();
+            inflater = null;
+        }
+        corpora = null;
+        compressed = null;
+        decompressed = null;
+    }
+
+    @Override
+    public void appendDetails(TestResult result, StringBuilder out) {
+        out.append("📦 COMPRESSION SUITE\n");
+        for (String corpus : CORPORA) {
+            out.append(corpus).append(":\n");
+            for (int level : LEVELS) {
+                out.append(String.format(Locale.US, "  level %d: %.1f MB/s deflate, %.1f MB/s inflate, ratio %.2f\n",
+                        level,
+                        result.getMetric(compressMetric(corpus, level)),
+                        result.getMetric(decompressMetric(corpus, level)),
+                        result.getMetric(ratioMetric(corpus, level))));
+            }
+        }
+        out.append("\n");
+    }
+
+    private int deflate(Deflater deflater, byte[] input, int length) {
+        deflater.reset();
+        deflater.setInput(input, 0, length);
+        deflater.finish();
+        int written = 0;
+        while (!deflater.finished() && written < compressed.length) {
+            written += deflater.deflate(compressed, written, compressed.length - written);
+        }
+        if (!deflater.finished()) {
+            throw new IllegalStateException("Compression buffer too small");
+        }
+        return written;
+    }
+
+    private void inflate(int compressedLength, int expectedLength) throws DataFormatException {
+        inflater.reset();
+        inflater.setInput(compressed, 0, compressedLength);
+        int read = 0;
+        while (!inflater.finished() && read < expectedLength) {
+            int inflated = inflater.inflate(decompressed, read, expectedLength - read);
+            if (inflated == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+                break; // Truncated stream, reported below
+            }
+            read += inflated;
+        }
+        if (read != expectedLength) {
+            throw new DataFormatException("Decompressed " + read + " of " + expectedLength + " bytes");
+        }
+    }
+
+    private byte[] buildCorpus(String corpus, Random random) {
+        byte[] bytes;
+        switch (corpus) {
+            case CORPUS_TEXT: {
+                StringBuilder text = new StringBuilder(CORPUS_SIZE + 64);
+                while (text.length() < CORPUS_SIZE) {
+                    int words = 6 + random.nextInt(12);
+                    for (int w = 0; w < words; w++) {
+                        text.append(WORDS[random.nextInt(WORDS.length)]).append(' ');
+                    }
+                    text.append(testString).append(".\n");
+                }
+                bytes = text.toString().getBytes(StandardCharsets.UTF_8);
+                break;
+            }
+            case CORPUS_JSON: {
+                // Shaped like the log records the app ships: repeated keys, varying values
+                StringBuilder json = new StringBuilder(CORPUS_SIZE + 256);
+                long timestamp = 1_700_000_000_000L;
+                for (int id = 0; json.length() < CORPUS_SIZE; id++) {
+                    timestamp += random.nextInt(5000);
+                    json.append("{\"id\":").append(id)
+                        .append(",\"ts\":").append(timestamp)
+                        .append(",\"level\":\"").append(LOG_LEVELS[random.nextInt(LOG_LEVELS.length)])
+                        .append("\",\"tag\":\"").append(WORDS[random.nextInt(WORDS.length)])
+                        .append("\",\"durationMs\":").append(random.nextInt(10000))
+                        .append(",\"msg\":\"").append(WORDS[random.nextInt(WORDS.length)]).append(' ')
+                        .append(WORDS[random.nextInt(WORDS.length)]).append(' ')
+                        .append(Long.toHexString(random.nextLong()))
+                        .append("\"}\n");
+                }
+                bytes = json.toString().getBytes(StandardCharsets.UTF_8);
+                break;
+            }
+            default:
+                bytes = new byte[CORPUS_SIZE];
+                random.nextBytes(bytes);
+                return bytes;
+        }
+        byte[] trimmed = new byte[CORPUS_SIZE];
+        System.arraycopy(bytes, 0, trimmed, 0, CORPUS_SIZE);
+        return trimmed;
+    }
+}
@@ -0,0 +1,323 @@
+package net.dotevolve.benchmark.core.kernels;
+
+import android.os.Build;
+
+import net.dotevolve.benchmark.core.BenchmarkTest;
+import net.dotevolve.benchmark.core.CancellationToken;
+import net.dotevolve.benchmark.core.PerformanceMetrics;
+import net.dotevolve.benchmark.core.TestResult;
+
+import java.util.Locale;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Cost of contention: N threads increment shared state as fast as they can through a
+ * {@code synchronized} block, a {@link ReentrantLock}, a compare-and-set loop on an
+ * {@link AtomicLong}, a {@link LongAdder}, and per-thread counters that either share cache
+ * lines (false sharing) or sit a padding apart. Throughput is reported in M increments/sec
+ * per primitive and thread count.
+ *
+ * Every thread does the same number of increments and all start together from a gate, and
+ * the final count is checked against the expected total. Per-thread counters are read and
+ * written with acquire/release ordering so the JIT cannot keep them in registers.
+ */
+public class ContentionBenchmark implements BenchmarkTest {
+    public static final String PRIMITIVE_SYNCHRONIZED = "synchronized";
+    public static final String PRIMITIVE_REENTRANT_LOCK = "reentrant_lock";
+    public static final String PRIMITIVE_ATOMIC_CAS = "atomic_cas";
+    public static final String PRIMITIVE_LONG_ADDER = "long_adder";
+    public static final String PRIMITIVE_SHARED_COUNTERS = "shared_counters";
+    public static final String PRIMITIVE_PADDED_COUNTERS = "padded_counters";
+    public static final String[] PRIMITIVES = {PRIMITIVE_SYNCHRONIZED, PRIMITIVE_REENTRANT_LOCK,
+            PRIMITIVE_ATOMIC_CAS, PRIMITIVE_LONG_ADDER, PRIMITIVE_SHARED_COUNTERS, PRIMITIVE_PADDED_COUNTERS};
+
+    private static final int OPS_PER_THREAD = 1 << 20;
+    private static final int WARMUP_OPS_PER_THREAD = 1 << 14;
+    // Best of a few rounds per point keeps one descheduled round from bending the curve
+    private static final int ROUNDS_PER_POINT = 3;
+    // Workers poll the cancellation token once per this many increments
+    private static final int CANCEL_CHECK_INTERVAL = 4096;
+    // 128 bytes between padded counters, past both the cache line and its prefetch pair
+    private static final int PADDING_LONGS = 16;
+
+    private final int[] threadCounts;
+    private final int maxThreads;
+
+    private ExecutorService executor;
+    private final Object monitor = new Object();
+    private long synchronizedCount; // Guarded by monitor
+    private final ReentrantLock lock = new ReentrantLock();
+    private long lockCount; // Guarded by lock
+    private final AtomicLong atomicCount = new AtomicLong();
+    private Adder adder;
+    private AtomicLongArray counters;
+
+    public ContentionBenchmark(int cpuCores) {
+        this.threadCounts = ThreadScalingBenchmark.threadCounts(cpuCores);
+        this.maxThreads = threadCounts[threadCounts.length - 1];
+    }
+
+    public static String throughputMetric(String primitive, int threads) {
+        return "mops_" + primitive + "_t" + threads;
+    }
+
+    @Override
+    public String getId() { return PerformanceMetrics.TEST_CONTENTION; }
+
+    @Override
+    public String getName() { return "Contention"; }
+
+    @Override
+    public void setup() {
+        executor = Executors.newFixedThreadPool(maxThreads);
+        counters = new AtomicLongArray(maxThreads * PADDING_LONGS);
+        // LongAdder arrived in API 24
+        adder = Build.VERSION.SDK_INT >= Build.VERSION_CODES.N ? new Adder() : null;
+    }
+
+    @Override
+    public void run(TestResult result) throws InterruptedException {
+        for (String primitive : PRIMITIVES) {
+            if (primitive.equals(PRIMITIVE_LONG_ADDER) && adder == null) continue;
+            for (int threads : threadCounts) {
+                long bestTime = Long.MAX_VALUE;
+                for (int round = 0; round < ROUNDS_PER_POINT; round++) {
+                    result.checkCancelled();
+                    long time = runRound(primitive, threads, OPS_PER_THREAD, result.getCancellationToken());
+                    result.getBlackhole().consume(verifiedTotal(primitive, threads, OPS_PER_THREAD));
+                    bestTime = Math.min(bestTime, time);
+                }
+                double operations = (double) threads * OPS_PER_THREAD;
+                result.putMetric(throughputMetric(primitive, threads), operations * 1_000.0 / Math.max(1, bestTime));
+            }
+        }
+    }
+
+    @Override
+    public int runWarmupBatch(TestResult result) throws InterruptedException {
+        // Full width, so every worker slot and the contended paths are exercised
+        int operations = 0;
+        for (String primitive : PRIMITIVES) {
+            if (primitive.equals(PRIMITIVE_LONG_ADDER) && adder == null) continue;
+            runRound(primitive, maxThreads, WARMUP_OPS_PER_THREAD, result.getCancellationToken());
+            result.getBlackhole().consume(verifiedTotal(primitive, maxThreads, WARMUP_OPS_PER_THREAD));
+            operations += maxThreads * WARMUP_OPS_PER_THREAD;
+        }
+        return operations;
+    }
+
+    @Override
+    public void teardown() {
+        if (executor != null) {
+            executor.shutdownNow();
+            executor = null;
+        }
+        adder = null;
+        counters = null;
+    }
+
+    @Override
+    public void appendSummary(TestResult result, StringBuilder out) {
+        out.append("Contention (").append(maxThreads).append(" threads):\n");
+        out.append(String.format(Locale.US, "  synchronized: %.1f, AtomicLong CAS: %.1f, padded: %.1f M ops/sec\n\n",
+                result.getMetric(throughputMetric(PRIMITIVE_SYNCHRONIZED, maxThreads)),
+                result.getMetric(throughputMetric(PRIMITIVE_ATOMIC_CAS, maxThreads)),
+                result.getMetric(throughputMetric(PRIMITIVE_PADDED_COUNTERS, maxThreads))));
+    }
+
+    @Override
+    public void appendDetails(TestResult result, StringBuilder out) {
+        out.append("🔒 CONTENTION (M ops/sec)\n");
+        for (String primitive : PRIMITIVES) {
+            StringBuilder row = new StringBuilder();
+            for (int threads : threadCounts) {
+                double mops = result.getMetric(throughputMetric(primitive, threads));
+                if (Double.isNaN(mops)) continue;
+                row.append(row.length() == 0 ? "" : ", ")
+                   .append(String.format(Locale.US, "%dt %.1f", threads, mops));
+            }
+            if (row.length() > 0) {
+                out.append(primitive).append(": ").append(row).append("\n");
+            }
+        }
+        out.append("\n");
+    }
+
+    /**
+     * Resets the primitive, releases {@code threads} workers together and returns the time
+     * until the last one finishes
+     */
+    private long runRound(String primitive, int threads, int opsPerThread, CancellationToken token)
+            throws InterruptedException {
+        reset(primitive);
+        CountDownLatch ready = new CountDownLatch(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        CountDownLatch done = new CountDownLatch(threads);
+
+        for (int t = 0; t < threads; t++) {
+            final int slot = t;
+            executor.submit(() -> {
+                try {
+                    ready.countDown();
+                    start.await();
+                    increment(primitive, slot, opsPerThread, token);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                } finally {
+                    done.countDown();
+                }
+            });
+        }
+
+        ready.await();
+        long startTime = System.nanoTime();
+        start.countDown();
+        done.await();
+        long elapsed = System.nanoTime() - startTime;
+        token.throwIfStopped();
+        return elapsed;
+    }
+
+    private void increment(String primitive, int slot, int ops, CancellationToken token) {
+        switch (primitive) {
+            case PRIMITIVE_SYNCHRONIZED:
+                for (int i = 0; i < ops; i++) {
+                    if (i % CANCEL_CHECK_INTERVAL == 0 && token.isStopped()) return;
+                    synchronized (monitor) {
+                        synchronizedCount++;
+                    }
+                }
+                break;
+            case PRIMITIVE_REENTRANT_LOCK:
+                for (int i = 0; i < ops; i++) {
+                    if (i % CANCEL_CHECK_INTERVAL == 0 && token.isStopped()) return;
+                    lock.lock();
+                    try {
+                        lockCount++;
+                    } finally {
+                        lock.unlock();
+                    }
+                }
+                break;
+            case PRIMITIVE_ATOMIC_CAS:
+                // An explicit retry loop rather than incrementAndGet(), so failed CAS attempts
+                // under contention are part of the cost
+                for (int i = 0; i < ops; i++) {
+                    if (i % CANCEL_CHECK_INTERVAL == 0 && token.isStopped()) return;
+                    long current;
+                    do {
+                        current = atomicCount.get();
+                    } while (!atomicCount.compareAndSet(current, current + 1));
+                }
+                break;
+            case PRIMITIVE_LONG_ADDER:
+                adder.increment(ops, token);
+                break;
+            default:
+                // Adjacent slots share a cache line; padded slots each have their own
+                int index = primitive.equals(PRIMITIVE_PADDED_COUNTERS) ? slot * PADDING_LONGS : slot;
+                for (int i = 0; i < ops; i++) {
+                    if (i % CANCEL_CHECK_INTERVAL == 0 && token.isStopped()) return;
+                    counters.lazySet(index, counters.get(index) + 1);
+                }
+                break;
+        }
+    }
+
+    private void reset(String primitive) {
+        switch (primitive) {
+            case PRIMITIVE_SYNCHRONIZED:
+                synchronized (monitor) {
+                    synchronizedCount = 0;
+                }
+                break;
+            case PRIMITIVE_REENTRANT_LOCK:
+                lock.lock();
+                try {
+                    lockCount = 0;
+                } finally {
+                    lock.unlock();
+                }
+                break;
+            case PRIMITIVE_ATOMIC_CAS:
+                atomicCount.set(0);
+                break;
+            case PRIMITIVE_LONG_ADDER:
+                adder.reset();
+                break;
+            default:
+                for (int i = 0; i < counters.length(); i++) {
+                    counters.set(i, 0);
+                }
+                break;
+        }
+    }
+
+    /**
+     * Returns the final count, after checking no increment was lost
+     */
+    private long verifiedTotal(String primitive, int threads, int opsPerThread) {
+        long total;
+        switch (primitive) {
+            case PRIMITIVE_SYNCHRONIZED:
+                synchronized (monitor) {
+                    total = synchronizedCount;
+                }
+                break;
+            case PRIMITIVE_REENTRANT_LOCK:
+                lock.lock();
+                try {
+                    total = lockCount;
+                } finally {
+                    lock.unlock();
+                }
+                break;
+            case PRIMITIVE_ATOMIC_CAS:
+                total = atomicCount.get();
+                break;
+            case PRIMITIVE_LONG_ADDER:
+                total = adder.sum();
+                break;
+            default:
+                total = 0;
+                for (int i = 0; i < counters.length(); i++) {
+                    total += counters.get(i);
+                }
+                break;
+        }
+        long expected = (long) threads * opsPerThread;
+        if (total != expected) {
+            throw new IllegalStateException(primitive + " counted " + total + " of " + expected);
+        }
+        return total;
+    }
+
+    /**
+     * Keeps every reference to {@link LongAdder} in one class, which is only loaded on
+     * API 24 and later
+     */
+    private static final class Adder {
+        private final LongAdder adder = new LongAdder();
+
+        void increment(int ops, CancellationToken token) {
+            for (int i = 0; i < ops; i++) {
+                if (i % CANCEL_CHECK_INTERVAL == 0 && token.isStopped()) return;
+                adder.increment();
+            }
+        }
+
+        void reset() {
+            adder.reset();
+        }
+
+        long sum() {
+            return adder.sum();
+        }
+    }
+}
@@ -0,0 +1,255 @@
+package net.dotevolve.benchmark.core.kernels;
+
+import net.dotevolve.benchmark.core.BenchmarkTest;
+import net.dotevolve.benchmark.core.Blackhole;
+import net.dotevolve.benchmark.core.PerformanceMetrics;
+import net.dotevolve.benchmark.core.TestResult;
+
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.Random;
+
+/**
+ * Targeted CPU micro-kernels in ns/op: integer add and FP multiply-add as one dependent
+ * chain (latency) and as four independent chains (throughput), integer and FP division,
+ * and the same branchy loop over sorted and over random data (prediction).
+ *
+ * Chains are written as recurrences the compiler cannot reassociate or vectorise, divisors
+ * are read at run time so division is not strength-reduced, and every result reaches the
+ * blackhole.
+ */
+public class CpuMicroBenchmark implements BenchmarkTest {
+    public static final String KERNEL_INT_ADD_DEPENDENT = "int_add_dependent";
+    public static final String KERNEL_INT_ADD_INDEPENDENT = "int_add_independent";
+    public static final String KERNEL_FP_MADD_DEPENDENT = "fp_madd_dependent";
+    public static final String KERNEL_FP_MADD_INDEPENDENT = "fp_madd_independent";
+    public static final String KERNEL_INT_DIV = "int_div";
+    public static final String KERNEL_FP_DIV = "fp_div";
+    public static final String KERNEL_BRANCH_PREDICTABLE = "branch_predictable";
+    public static final String KERNEL_BRANCH_UNPREDICTABLE = "branch_unpredictable";
+    public static final String[] KERNELS = {KERNEL_INT_ADD_DEPENDENT, KERNEL_INT_ADD_INDEPENDENT,
+            KERNEL_FP_MADD_DEPENDENT, KERNEL_FP_MADD_INDEPENDENT, KERNEL_INT_DIV, KERNEL_FP_DIV,
+            KERNEL_BRANCH_PREDICTABLE, KERNEL_BRANCH_UNPREDICTABLE};
+
+    private static final long SEED = 20;
+    // Operations per kernel, timed in chunks with a cancellation check between them
+    private static final int OPS_PER_KERNEL = 1 << 24;
+    private static final int CHUNK_OPS = 1 << 20;
+    private static final int WARMUP_OPS = 1 << 16;
+    // Branch data is indexed with a mask, so its length must be a power of two
+    private static final int BRANCH_DATA_SIZE = 1 << 16;
+    private static final int BRANCH_THRESHOLD = 128;
+
+    private int[] randomData;
+    private int[] sortedData;
+    // Held in fields so the JIT sees run-time values, not constants
+    private int intDivisor;
+    private int intOffset;
+    private double fpMultiplier;
+    private double fpAddend;
+    private double fpDivisor;
+
+    public static String nsPerOpMetric(String kernel) {
+        return "ns_per_op_" + kernel;
+    }
+
+    @Override
+    public String getId() { return PerformanceMetrics.TEST_CPU_MICRO; }
+
+    @Override
+    public String getName() { return "CPU Micro-kernels"; }
+
+    @Override
+    public void setup() {
+        Random random = new Random(SEED);
+        randomData = new int[BRANCH_DATA_SIZE];
+        for (int i = 0; i < BRANCH_DATA_SIZE; i++) {
+            randomData[i] = random.nextInt(2 * BRANCH_THRESHOLD);
+        }
+        // Same values, so both branch kernels do identical work and only prediction differs
+        sortedData = randomData.clone();
+        Arrays.sort(sortedData);
+
+        intDivisor = 3 + random.nextInt(4);
+        intOffset = 1_000_000_007;
+        fpMultiplier = 0.999999;
+        fpAddend = 1e-6;
+        fpDivisor = 1.0000001;
+    }
+
+    @Override
+    public void run(TestResult result) {
+        Blackhole blackhole = result.getBlackhole();
+        for (String kernel : KERNELS) {
+            long totalTime = 0;
+            for (int done = 0; done < OPS_PER_KERNEL; done += CHUNK_OPS) {
+                result.checkCancelled();
+                long startTime = System.nanoTime();
+                runKernel(kernel, CHUNK_OPS, blackhole);
+                totalTime += System.nanoTime() - startTime;
+            }
+            result.putMetric(nsPerOpMetric(kernel), (double) totalTime / OPS_PER_KERNEL);
+        }
+    }
+
+    @Override
+    public int runWarmupBatch(TestResult result) {
+        for (String kernel : KERNELS) {
+            runKernel(kernel, WARMUP_OPS, result.getBlackhole());
+        }
+        return KERNELS.length * WARMUP_OPS;
+    }
+
+    @Override
+    public void teardown() {
+        randomData = null;
+        sortedData = null;
+    }
+
+    @Override
+    public void appendDetails(TestResult result, StringBuilder out) {
+        out.append("🧬 CPU MICRO-KERNELS (ns/op)\n");
+        for (String kernel : KERNELS) {
+            double nsPerOp = result.getMetric(nsPerOpMetric(kernel));
+            if (Double.isNaN(nsPerOp)) continue;
+            out.append(String.format(Locale.US, "%s: %.3f ns\n", kernel, nsPerOp));
+        }
+        double dependent = result.getMetric(nsPerOpMetric(KERNEL_INT_ADD_DEPENDENT));
+        double independent = result.getMetric(nsPerOpMetric(KERNEL_INT_ADD_INDEPENDENT));
+        double predictable = result.getMetric(nsPerOpMetric(KERNEL_BRANCH_PREDICTABLE));
+        double unpredictable = result.getMetric(nsPerOpMetric(KERNEL_BRANCH_UNPREDICTABLE));
+        if (!Double.isNaN(unpredictable)) {
+            out.append(String.format(Locale.US, "Integer ILP: %.1fx, unpredictable branch cost: +%.2f ns\n",
+                    dependent / independent, unpredictable - predictable));
+        }
+        out.append("\n");
+    }
+
+    private void runKernel(String kernel, int ops, Blackhole blackhole) {
+        switch (kernel) {
+            case KERNEL_INT_ADD_DEPENDENT:
+                blackhole.consume(intAddDependent(ops));
+                break;
+            case KERNEL_INT_ADD_INDEPENDENT:
+                blackhole.consume(intAddIndependent(ops));
+                break;
+            case KERNEL_FP_MADD_DEPENDENT:
+                blackhole.consume(fpMaddDependent(ops));
+                break;
+            case KERNEL_FP_MADD_INDEPENDENT:
+                blackhole.consume(fpMaddIndependent(ops));
+                break;
+            case KERNEL_INT_DIV:
+                blackhole.consume(intDiv(ops));
+                break;
+            case KERNEL_FP_DIV:
+                blackhole.consume(fpDiv(ops));
+                break;
+            case KERNEL_BRANCH_PREDICTABLE:
+                blackhole.consume(branches(sortedData, ops));
+                break;
+            default:
+                blackhole.consume(branches(randomData, ops));
+                break;
+        }
+    }
+
+    /**
+     * Fibonacci-style recurrence: every add needs the result of the one before it
+     */
+    private long intAddDependent(int ops) {
+        long x = 1;
+        long y = 2;
+        for (int i = 0; i < ops; i += 2) {
+            x += y;
+            y += x;
+        }
+        return x + y;
+    }
+
+    /**
+     * Four copies of the same recurrence, which an out-of-order core can run side by side
+     */
+    private long intAddIndependent(int ops) {
+        long x0 = 1, y0 = 2, x1 = 3, y1 = 4, x2 = 5, y2 = 6, x3 = 7, y3 = 8;
+        for (int i = 0; i < ops; i += 8) {
+            x0 += y0;
+            x1 += y1;
+            x2 += y2;
+            x3 += y3;
+            y0 += x0;
+            y1 += x1;
+            y2 += x2;
+            y3 += x3;
+        }
+        return x0 + y0 + x1 + y1 + x2 + y2 + x3 + y3;
+    }
+
+    /**
+     * d = d * m + a converges towards a / (1 - m), so values never overflow or go denormal
+     */
+    private double fpMaddDependent(int ops) {
+        double m = fpMultiplier;
+        double a = fpAddend;
+        double d = 1.0;
+        for (int i = 0; i < ops; i++) {
+            d = d * m + a;
+        }
+        return d;
+    }
+
+    private double fpMaddIndependent(int ops) {
+        double m = fpMultiplier;
+        double a = fpAddend;
+        double d0 = 1.0, d1 = 2.0, d2 = 3.0, d3 = 4.0;
+        for (int i = 0; i < ops; i += 4) {
+            d0 = d0 * m + a;
+            d1 = d1 * m + a;
+            d2 = d2 * m + a;
+            d3 = d3 * m + a;
+        }
+        return d0 + d1 + d2 + d3;
+    }
+
+    /**
+     * x / d + c stays near c * d / (d - 1), well inside int range for d >= 3
+     */
+    private int intDiv(int ops) {
+        int d = intDivisor;
+        int c = intOffset / 2;
+        int x = c;
+        for (int i = 0; i < ops; i++) {
+            x = x / d + c;
+        }
+        return x;
+    }
+
+    private double fpDiv(int ops) {
+        double d = fpDivisor;
+        double c = fpAddend;
+        double x = 1.0;
+        for (int i = 0; i < ops; i++) {
+            x = x / d + c;
+        }
+        return x;
+    }
+
+    /**
+     * Different work on each side, which keeps the JIT from turning the branch into a
+     * conditional move
+     */
+    private long branches(int[] data, int ops) {
+        int mask = data.length - 1;
+        long below = 0;
+        long above = 0;
+        for (int i = 0; i < ops; i++) {
+            int value = data[i & mask];
+            if (value < BRANCH_THRESHOLD) {
+                below += value;
+            } else {
+                above ^= (long) value * i;
+            }
+        }
+        return below + above;
+    }
+}
@@ -0,0 +1,121 @@
+package net.dotevolve.benchmark.core.kernels;
+
+import net.dotevolve.benchmark.core.BenchmarkTest;
+import net.dotevolve.benchmark.core.Blackhole;
+import net.dotevolve.benchmark.core.ResultFormat;
+import net.dotevolve.benchmark.core.TestResult;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.Locale;
+
+/**
+ * Hashes a short input string repeatedly with a {@link MessageDigest} algorithm
+ */
+public class DigestBenchmark implements BenchmarkTest {
+    private final String id;
+    private final String name;
+    private final String algorithm;
+    private final int iterations;
+    private final byte[] inputBytes;
+
+    private MessageDigest digest;
+
+    public DigestBenchmark(String id, String name, String algorithm, int iterations, String input) {
+        this.id = id;
+        this.name = name;
+        this.algorithm = algorithm;
+        this.iterations = iterations;
+        this.inputBytes = input.getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Override
+    public String getId() { return id; }
+
+    @Override
+    public String getName() { return name; }
+
+    @Override
+    public void setup() throws Exception {
+        digest = MessageDigest.getInstance(algorithm);
+    }
+
+    @Override
+    public void run(TestResult result) {
+        Blackhole blackhole = result.getBlackhole();
+        int batchSize = result.getBatchSize();
+        for (int i = 0; i < iterations; ) {
+            result.checkCancelled();
+            int operations = Math.min(batchSize, iterations - i);
+            long startTime = System.nanoTime();
+            hash(operations, blackhole);
+            long endTime = System.nanoTime();
+
+            // Collect sample for statistical analysis
+            result.addBatchSample(endTime - startTime, operations);
+            i += operations;
+
+            // A batch average hides the tail, so time one operation alone for the percentiles
+            if (operations > 1 && i < iterations) {
+                long probeStart = System.nanoTime();
+                hash(1, blackhole);
+                result.addLatencySample(System.nanoTime() - probeStart);
+                i++;
+            }
+        }
+    }
+
+    @Override
+    public boolean supportsBatching() {
+        return true;
+    }
+
+    @Override
+    public int getExpectedSampleCount() {
+        return iterations;
+    }
+
+    @Override
+    public int runWarmupBatch(TestResult result) {
+        int batchSize = Math.max(1, iterations / 100);
+        hash(batchSize, result.getBlackhole());
+        return batchSize;
+    }
+
+    // Shared by warm-up and the measured loop so both exercise the same compiled code
+    private void hash(int operations, Blackhole blackhole) {
+        for (int i = 0; i < operations; i++) {
+            // digest() resets the digest for the next iteration
+            digest.update(inputBytes);
+            blackhole.consume(digest.digest());
+        }
+    }
+
+    @Override
+    public void teardown() {
+        digest = null;
+    }
+
+    @Override
+    public void appendSummary(TestResult result, StringBuilder out) {
+        long totalTime = result.getTotalTime();
+        out.append(name).append(" (").append(iterations).append(" iterations):\n");
+        out.append("  Total Time: ").append(ResultFormat.formatNanoTime(totalTime)).append("\n");
+        out.append("  Time per Op: ").append(ResultFormat.formatNanoTime(totalTime / iterations)).append("\n");
+        out.append("  Operations/sec: ").append(ResultFormat.formatOpsPerSec(totalTime, iterations)).append("\n\n");
+    }
+
+    @Override
+    public void appendDetails(TestResult result, StringBuilder out) {
+        long totalTime = result.getTotalTime();
+        out.append("🔐 ").append(name.toUpperCase(Locale.US)).append(" HASH PERFORMANCE\n");
+        out.append("Iterations: ").append(iterations).append("\n");
+        out.append("Total Time: ").append(ResultFormat.formatNanoTime(totalTime)).append("\n");
+        out.append("Average per Operation: ").append(ResultFormat.formatNanoTime(totalTime / iterations)).append("\n");
+        out.append("Operations per Second: ").append(ResultFormat.formatOpsPerSec(totalTime, iterations)).append("\n");
+        out.append("Operations per Millisecond: ").append(String.format(Locale.US, "%.2f",
+                (iterations * 1_000_000.0) / totalTime)).append("\n");
+        ResultFormat.appendLatencyPercentiles(out, result);
+        out.append("\n");
+    }
+}
@@ -0,0 +1,363 @@
+package net.dotevolve.benchmark.core.kernels;
+
+import android.os.Debug;
+import android.util.Log;
+
+import net.dotevolve.benchmark.core.BenchmarkTest;
+import net.dotevolve.benchmark.core.Blackhole;
+import net.dotevolve.benchmark.core.PerformanceMetrics;
+import net.dotevolve.benchmark.core.ResultFormat;
+import net.dotevolve.benchmark.core.TestResult;
+
+import java.util.Arrays;
+import java.util.Locale;
+
+/**
+ * Managed-runtime allocation and GC pauses: short-lived churn that dies young, a cache
+ * whose entries survive young collections before being replaced, and large arrays that go
+ * to the large-object space. Each phase reports allocation throughput in MB/s, the used
+ * heap delta and, where ART exposes them, GC count and time.
+ *
+ * A max-priority watchdog thread sleeps 1 ms at a time and records how late it wakes up.
+ * Stop-the-world pauses delay it, so its lateness during the phases is the pause
+ * distribution other threads see; a short idle window first gives the scheduler's own
+ * jitter to compare against. Lateness is recorded as the test's latency samples.
+ */
+public class GcBenchmark implements BenchmarkTest {
+    private static final String TAG = "GcBenchmark";
+
+    public static final String PHASE_SHORT_LIVED = "short_lived";
+    public static final String PHASE_MEDIUM_LIVED = "medium_lived";
+    public static final String PHASE_LARGE_ARRAY = "large_array";
+    public static final String[] PHASES = {PHASE_SHORT_LIVED, PHASE_MEDIUM_LIVED, PHASE_LARGE_ARRAY};
+
+    public static final String METRIC_PAUSE_P50_NS = "pause_p50_ns";
+    public static final String METRIC_PAUSE_P99_NS = "pause_p99_ns";
+    public static final String METRIC_PAUSE_MAX_NS = "pause_max_ns";
+    public static final String METRIC_IDLE_P99_NS = "idle_p99_ns";
+    public static final String METRIC_CACHE_KB = "cache_kb";
+    public static final String METRIC_HEAP_GROWTH_KB = "heap_growth_kb";
+    public static final String METRIC_NATIVE_HEAP_DELTA_KB = "native_heap_delta_kb";
+
+    // Bytes allocated per phase, in chunks with a cancellation check between them
+    private static final long SHORT_LIVED_BYTES = 512L * 1024 * 1024;
+    private static final long MEDIUM_LIVED_BYTES = 256L * 1024 * 1024;
+    private static final long LARGE_ARRAY_BYTES = 512L * 1024 * 1024;
+    private static final long CHUNK_BYTES = 16L * 1024 * 1024;
+    private static final long WARMUP_BYTES = 4L * 1024 * 1024;
+    // Approximate array header, added to each allocation when counting bytes
+    private static final int ARRAY_HEADER_BYTES = 16;
+
+    private static final int SMALL_OBJECT_BYTES = 48;
+    // Short-lived objects stay reachable for this many allocations, so they escape but die young
+    private static final int SHORT_LIVED_SLOTS = 256;
+    private static final int CACHE_ENTRY_BYTES = 256;
+    private static final int CACHE_ENTRIES = 64 * 1024;
+    private static final int MIN_CACHE_ENTRIES = 1024;
+    // Odd, so stepping by it visits every slot of a power-of-two cache once per lap
+    private static final int CACHE_STRIDE = 40503;
+    private static final int LARGE_OBJECT_BYTES = 1024 * 1024;
+    private static final int LARGE_ARRAY_SLOTS = 8;
+
+    private static final long WATCHDOG_PERIOD_MS = 1;
+    private static final int MAX_WATCHDOG_SAMPLES = 1 << 16;
+    private static final long IDLE_WINDOW_MS = 250;
+
+    private static final String STAT_GC_COUNT = "art.gc.gc-count";
+    private static final String STAT_GC_TIME = "art.gc.gc-time";
+
+    private byte[][] shortLived;
+    private byte[][] cache;
+    private byte[][] largeArrays;
+    private int shortSlot;
+    private int cacheSlot;
+    private int largeSlot;
+
+    public static String allocationMetric(String phase) {
+        return "alloc_mbps_" + phase;
+    }
+
+    public static String heapDeltaMetric(String phase) {
+        return "heap_delta_kb_" + phase;
+    }
+
+    public static String gcCountMetric(String phase) {
+        return "gc_count_" + phase;
+    }
+
+    public static String gcTimeMetric(String phase) {
+        return "gc_time_ms_" + phase;
+    }
+
+    @Override
+    public String getId() { return PerformanceMetrics.TEST_GC; }
+
+    @Override
+    public String getName() { return "Allocation & GC"; }
+
+    @Override
+    public void setup() {
+        shortLived = new byte[SHORT_LIVED_SLOTS][];
+
+        int entries = CACHE_ENTRIES;
+        while (entries > MIN_CACHE_ENTRIES
+                && !HeapBudget.fits(4L * entries * (CACHE_ENTRY_BYTES + ARRAY_HEADER_BYTES))) {
+            entries /= 2;
+        }
+        // Filled up front so the measured phase starts with a full cache
+        cache = new byte[entries][];
+        for (int i = 0; i < entries; i++) {
+            cache[i] = new byte[CACHE_ENTRY_BYTES];
+        }
+
+        int slots = LARGE_ARRAY_SLOTS;
+        while (slots > 1 && !HeapBudget.fits(2L * slots * LARGE_OBJECT_BYTES)) {
+            slots /= 2;
+        }
+        largeArrays = new byte[slots][];
+    }
+
+    @Override
+    public void run(TestResult result) throws InterruptedException {
+        Blackhole blackhole = result.getBlackhole();
+        result.putMetric(METRIC_CACHE_KB, cache.length * (double) (CACHE_ENTRY_BYTES + ARRAY_HEADER_BYTES) / 1024);
+
+        Runtime runtime = Runtime.getRuntime();
+        long heapTotalBefore = runtime.totalMemory();
+        long nativeBefore = Debug.getNativeHeapAllocatedSize();
+
+        // Scheduler jitter with nothing allocating, the floor for the pause figures
+        Watchdog idle = Watchdog.start();
+        Thread.sleep(IDLE_WINDOW_MS);
+        long[] idleLateness = idle.stop();
+        if (idleLateness.length > 0) {
+            Arrays.sort(idleLateness);
+            result.putMetric(METRIC_IDLE_P99_NS, percentile(idleLateness, 0.99));
+        }
+
+        Watchdog watchdog = Watchdog.start();
+        long[] lateness;
+        try {
+            for (String phase : PHASES) {
+                runPhase(result, phase, blackhole);
+            }
+        } finally {
+            lateness = watchdog.stop();
+        }
+
+        for (long late : lateness) {
+            result.addSample(late);
+        }
+        if (lateness.length > 0) {
+            Arrays.sort(lateness);
+            result.putMetric(METRIC_PAUSE_P50_NS, percentile(lateness, 0.50));
+            result.putMetric(METRIC_PAUSE_P99_NS, percentile(lateness, 0.99));
+            result.putMetric(METRIC_PAUSE_MAX_NS, lateness[lateness.length - 1]);
+        }
+
+        result.putMetric(METRIC_HEAP_GROWTH_KB, (runtime.totalMemory() - heapTotalBefore) / 1024.0);
+        result.putMetric(METRIC_NATIVE_HEAP_DELTA_KB, (Debug.getNativeHeapAllocatedSize() - nativeBefore) / 1024.0);
+    }
+
+    @Override
+    public int getExpectedSampleCount() {
+        return MAX_WATCHDOG_SAMPLES;
+    }
+
+    @Override
+    public int runWarmupBatch(TestResult result) {
+        Blackhole blackhole = result.getBlackhole();
+        int allocations = 0;
+        for (String phase : PHASES) {
+            allocations += allocate(phase, WARMUP_BYTES, blackhole);
+        }
+        return allocations;
+    }
+
+    @Override
+    public void teardown() {
+        shortLived = null;
+        cache = null;
+        largeArrays = null;
+    }
+
+    @Override
+    public void appendSummary(TestResult result, StringBuilder out) {
+        out.append("Allocation & GC:\n");
+        out.append(String.format(Locale.US, "  Short-lived churn: %.0f MB/s\n",
+                result.getMetric(allocationMetric(PHASE_SHORT_LIVED))));
+        out.append("  Pause p99: ").append(ResultFormat.formatNanoTime((long) result.getMetric(METRIC_PAUSE_P99_NS)))
+           .append(", max: ").append(ResultFormat.formatNanoTime((long) result.getMetric(METRIC_PAUSE_MAX_NS)))
+           .append("\n\n");
+    }
+
+    @Override
+    public void appendDetails(TestResult result, StringBuilder out) {
+        out.append("♻️ ALLOCATION & GC\n");
+        for (String phase : PHASES) {
+            double mbps = result.getMetric(allocationMetric(phase));
+            if (Double.isNaN(mbps)) continue;
+            out.append(String.format(Locale.US, "%s: %.0f MB/s, heap %+.0f KB", phase, mbps,
+                    result.getMetric(heapDeltaMetric(phase))));
+            double gcCount = result.getMetric(gcCountMetric(phase));
+            if (!Double.isNaN(gcCount)) {
+                out.append(String.format(Locale.US, ", %.0f GCs in %.0f ms", gcCount,
+                        result.getMetric(gcTimeMetric(phase))));
+            }
+            out.append("\n");
+        }
+        out.append("Cache Size: ").append(ResultFormat.formatBytes((long) result.getMetric(METRIC_CACHE_KB) * 1024)).append("\n");
+        out.append("Watchdog Lateness p50: ").append(ResultFormat.formatNanoTime((long) result.getMetric(METRIC_PAUSE_P50_NS)))
+           .append(", p99: ").append(ResultFormat.formatNanoTime((long) result.getMetric(METRIC_PAUSE_P99_NS)))
+           .append(", max: ").append(ResultFormat.formatNanoTime((long) result.getMetric(METRIC_PAUSE_MAX_NS)))
+           .append("\n");
+        out.append("Idle p99: ").append(ResultFormat.formatNanoTime((long) result.getMetric(METRIC_IDLE_P99_NS))).append("\n");
+        out.append(String.format(Locale.US, "Heap growth: %+.0f KB, native heap: %+.0f KB\n\n",
+                result.getMetric(METRIC_HEAP_GROWTH_KB), result.getMetric(METRIC_NATIVE_HEAP_DELTA_KB)));
+    }
+
+    private void runPhase(TestResult result, String phase, Blackhole blackhole) {
+        Runtime runtime = Runtime.getRuntime();
+        long usedBefore = runtime.totalMemory() - runtime.freeMemory();
+        long gcCountBefore = runtimeStat(STAT_GC_COUNT);
+        long gcTimeBefore = runtimeStat(STAT_GC_TIME);
+
+        long bytes = phaseBytes(phase);
+        long totalTime = 0;
+        for (long done = 0; done < bytes; done += CHUNK_BYTES) {
+            result.checkCancelled();
+            long startTime = System.nanoTime();
+            allocate(phase, Math.min(CHUNK_BYTES, bytes - done), blackhole);
+            totalTime += System.nanoTime() - startTime;
+        }
+
+        double megabytes = (double) bytes / (1024 * 1024);
+        result.putMetric(allocationMetric(phase), megabytes * 1_000_000_000.0 / Math.max(1, totalTime));
+        result.putMetric(heapDeltaMetric(phase), (runtime.totalMemory() - runtime.freeMemory() - usedBefore) / 1024.0);
+
+        long gcCountAfter = runtimeStat(STAT_GC_COUNT);
+        long gcTimeAfter = runtimeStat(STAT_GC_TIME);
+        if (gcCountBefore >= 0 && gcCountAfter >= 0) {
+            result.putMetric(gcCountMetric(phase), gcCountAfter - gcCountBefore);
+        }
+        if (gcTimeBefore >= 0 && gcTimeAfter >= 0) {
+            result.putMetric(gcTimeMetric(phase), gcTimeAfter - gcTimeBefore);
+        }
+    }
+
+    private static long phaseBytes(String phase) {
+        switch (phase) {
+            case PHASE_SHORT_LIVED:
+                return SHORT_LIVED_BYTES;
+            case PHASE_MEDIUM_LIVED:
+                return MEDIUM_LIVED_BYTES;
+            default:
+                return LARGE_ARRAY_BYTES;
+        }
+    }
+
+    /**
+     * Allocates about {@code bytes} bytes in the given pattern and returns the allocation count.
+     * Every object is stored in a reachable slot so the JIT cannot elide the allocation.
+     */
+    private int allocate(String phase, long bytes, Blackhole blackhole) {
+        switch (phase) {
+            case PHASE_SHORT_LIVED: {
+                int count = (int) (bytes / (SMALL_OBJECT_BYTES + ARRAY_HEADER_BYTES));
+                int slot = shortSlot;
+                for (int i = 0; i < count; i++) {
+                    slot = (slot + 1) & (SHORT_LIVED_SLOTS - 1);
+                    shortLived[slot] = new byte[SMALL_OBJECT_BYTES];
+                }
+                shortSlot = slot;
+                blackhole.consume(shortLived[slot].length);
+                return count;
+            }
+            case PHASE_MEDIUM_LIVED: {
+                // Each entry lives for one lap of the cache, long enough to be promoted
+                int count = (int) (bytes / (CACHE_ENTRY_BYTES + ARRAY_HEADER_BYTES));
+                int mask = cache.length - 1;
+                int slot = cacheSlot;
+                for (int i = 0; i < count; i++) {
+                    slot = (slot + CACHE_STRIDE) & mask;
+                    cache[slot] = new byte[CACHE_ENTRY_BYTES];
+                }
+                cacheSlot = slot;
+                blackhole.consume(cache[slot].length);
+                return count;
+            }
+            default: {
+                int count = (int) Math.max(1, bytes / LARGE_OBJECT_BYTES);
+                int slot = largeSlot;
+                for (int i = 0; i < count; i++) {
+                    slot = (slot + 1) % largeArrays.length;
+                    largeArrays[slot] = new byte[LARGE_OBJECT_BYTES];
+                }
+                largeSlot = slot;
+                blackhole.consume(largeArrays[slot].length);
+                return count;
+            }
+        }
+    }
+
+    private static long percentile(long[] sorted, double fraction) {
+        int index = (int) Math.ceil(fraction * sorted.length) - 1;
+        return sorted[Math.max(0, Math.min(sorted.length - 1, index))];
+    }
+
+    /**
+     * Reads an ART runtime statistic, or -1 if the runtime does not report it
+     */
+    private static long runtimeStat(String name) {
+        try {
+            String value = Debug.getRuntimeStat(name);
+            return value != null ? Long.parseLong(value) : -1;
+        } catch (RuntimeException e) {
+            Log.w(TAG, "Runtime stat " + name + " unavailable: " + e.getMessage());
+            return -1;
+        }
+    }
+
+    /**
+     * Sleeps {@link #WATCHDOG_PERIOD_MS} at a time on its own thread and records how late
+     * each wake-up is, in nanoseconds
+     */
+    private static final class Watchdog implements Runnable {
+        private final long[] lateness = new long[MAX_WATCHDOG_SAMPLES];
+        private final Thread thread = new Thread(this, "gc-watchdog");
+        private volatile boolean running = true;
+        // Only touched by the watchdog thread, read after join()
+        private int count;
+
+        static Watchdog start() {
+            Watchdog watchdog = new Watchdog();
+            watchdog.thread.setDaemon(true);
+            watchdog.thread.setPriority(Thread.MAX_PRIORITY);
+            watchdog.thread.start();
+            return watchdog;
+        }
+
+        @Override
+        public void run() {
+            long period = WATCHDOG_PERIOD_MS * 1_000_000L;
+            while (running && count < lateness.length) {
+                long startTime = System.nanoTime();
+                try {
+                    Thread.sleep(WATCHDOG_PERIOD_MS);
+                } catch (InterruptedException e) {
+                    return;
+                }
+                lateness[count++] = Math.max(0, System.nanoTime() - startTime - period);
+            }
+        }
+
+        /**
+         * Stops the thread and returns the recorded lateness values
+         */
+        long[] stop() throws InterruptedException {
+            running = false;
+            thread.join();
+            return Arrays.copyOf(lateness, count);
+        }
+    }
+}
@@ -0,0 +1,134 @@
+package net.dotevolve.benchmark.core.kernels;
+
+import net.dotevolve.benchmark.core.BenchmarkTest;
+import net.dotevolve.benchmark.core.Blackhole;
+import net.dotevolve.benchmark.core.PerformanceMetrics;
+import net.dotevolve.benchmark.core.ResultFormat;
+import net.dotevolve.benchmark.core.TestResult;
+
+import java.security.DigestException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Locale;
+import java.util.Random;
+
+/**
+ * Hash throughput of SHA-1, SHA-256, SHA-512 and MD5 from 64 B messages, where per-call
+ * setup dominates, up to 16 MB, where the compression function does, in MB/s.
+ *
+ * All sizes hash a prefix of one seeded input buffer, and digests are written into a
+ * preallocated array so nothing is allocated per message.
+ */
+public class HashThroughputBenchmark implements BenchmarkTest {
+    public static final String HASH_SHA1 = "sha1";
+    public static final String HASH_SHA256 = "sha256";
+    public static final String HASH_SHA512 = "sha512";
+    public static final String HASH_MD5 = "md5";
+    public static final String[] HASHES = {HASH_SHA1, HASH_SHA256, HASH_SHA512, HASH_MD5};
+    public static final int[] MESSAGE_SIZES = {64, 1024, 64 * 1024, 1024 * 1024, 16 * 1024 * 1024};
+
+    // MessageDigest names, in the same order as HASHES
+    private static final String[] ALGORITHMS = {"SHA-1", "SHA-256", "SHA-512", "MD5"};
+    private static final long SEED = 64;
+    // Each hash and size digests at least this many bytes
+    private static final long MIN_BYTES_PER_CELL = 16L * 1024 * 1024;
+    // Bytes hashed between cancellation checks
+    private static final int CHUNK_BYTES = 1024 * 1024;
+    private static final int WARMUP_SIZE = 4 * 1024;
+    private static final int WARMUP_MESSAGES = 32;
+
+    private MessageDigest[] digests;
+    private byte[] input;
+    private byte[] output;
+
+    public static String throughputMetric(String hash, int messageSize) {
+        return "mbps_" + hash + "_b" + messageSize;
+    }
+
+    @Override
+    public String getId() { return PerformanceMetrics.TEST_HASH_THROUGHPUT; }
+
+    @Override
+    public String getName() { return "Hash Throughput"; }
+
+    @Override
+    public void setup() throws NoSuchAlgorithmException {
+        digests = new MessageDigest[ALGORITHMS.length];
+        int maxDigestLength = 0;
+        for (int h = 0; h < ALGORITHMS.length; h++) {
+            digests[h] = MessageDigest.getInstance(ALGORITHMS[h]);
+            maxDigestLength = Math.max(maxDigestLength, digests[h].getDigestLength());
+        }
+        output = new byte[maxDigestLength];
+
+        input = new byte[MESSAGE_SIZES[MESSAGE_SIZES.length - 1]];
+        new Random(SEED).nextBytes(input);
+    }
+
+    @Override
+    public void run(TestResult result) throws DigestException {
+        Blackhole blackhole = result.getBlackhole();
+        for (int h = 0; h < HASHES.length; h++) {
+            for (int size : MESSAGE_SIZES) {
+                long messages = Math.max(1, MIN_BYTES_PER_CELL / size);
+                int messagesPerChunk = Math.max(1, CHUNK_BYTES / size);
+
+                long totalTime = 0;
+                for (long done = 0; done < messages; done += messagesPerChunk) {
+                    result.checkCancelled();
+                    int chunk = (int) Math.min(messagesPerChunk, messages - done);
+                    long startTime = System.nanoTime();
+                    for (int m = 0; m < chunk; m++) {
+                        hash(h, size);
+                    }
+                    totalTime += System.nanoTime() - startTime;
+                }
+
+                double megabytes = (double) size * messages / (1024 * 1024);
+                result.putMetric(throughputMetric(HASHES[h], size), megabytes * 1_000_000_000.0 / Math.max(1, totalTime));
+                blackhole.consume(output);
+            }
+        }
+    }
+
+    @Override
+    public int runWarmupBatch(TestResult result) throws DigestException {
+        for (int h = 0; h < HASHES.length; h++) {
+            for (int m = 0; m < WARMUP_MESSAGES; m++) {
+                hash(h, WARMUP_SIZE);
+            }
+            result.getBlackhole().consume(output);
+        }
+        return HASHES.length * WARMUP_MESSAGES;
+    }
+
+    @Override
+    public void teardown() {
+        digests = null;
+        input = null;
+        output = null;
+    }
+
+    @Override
+    public void appendDetails(TestResult result, StringBuilder out) {
+        out.append("#️⃣ HASH THROUGHPUT (MB/s)\n");
+        for (String hash : HASHES) {
+            StringBuilder row = new StringBuilder();
+            for (int size : MESSAGE_SIZES) {
+                double throughput = result.getMetric(throughputMetric(hash, size));
+                if (Double.isNaN(throughput)) continue;
+                row.append(row.length() == 0 ? "" : ", ")
+                   .append(ResultFormat.formatBytes(size)).append(String.format(Locale.US, " %.1f", throughput));
+            }
+            out.append(hash).append(": ").append(row).append("\n");
+        }
+        out.append("\n");
+    }
+
+    private void hash(int h, int size) throws DigestException {
+        MessageDigest digest = digests[h];
+        digest.update(input, 0, size);
+        // Also resets the digest for the next message
+        digest.digest(output, 0, digest.getDigestLength());
+    }
+}
@@ -0,0 +1,19 @@
+package net.dotevolve.benchmark.core.kernels;
+
+/**
+ * Guards the size sweeps against allocating more than the app heap can spare
+ */
+final class HeapBudget {
+    private HeapBudget() {
+    }
+
+    /**
+     * Whether {@code bytes} fit in half of the heap still available, leaving headroom so a
+     * sweep never pushes the app into an OOM
+     */
+    static boolean fits(long bytes) {
+        Runtime runtime = Runtime.getRuntime();
+        long available = runtime.maxMemory() - (runtime.totalMemory() - runtime.freeMemory());
+        return bytes <= available / 2;
+    }
+}
@@ -0,0 +1,178 @@
+package net.dotevolve.benchmark.core.kernels;
+
+/**
+ * Open-addressing int to int hash map with linear probing, the primitive baseline for the
+ * collections benchmark.
+ *
+ * Keys and values are interleaved in one array so a probe touches a single cache line.
+ * Key 0 marks a free slot, so an entry with key 0 is kept outside the table. Removal shifts
+ * later entries of the probe run back instead of leaving tombstones, so lookups never slow
+ * down after many removals.
+ */
+final class IntIntMap {
+    private static final int FREE = 0;
+    private static final int MIN_CAPACITY = 16;
+    private static final float LOAD_FACTOR = 0.75f;
+
+    // key, value, key, value, ...
+    private int[] table;
+    private int mask;
+    private int growAt;
+    private int size;
+    private boolean hasZeroKey;
+    private int zeroValue;
+
+    /**
+     * Receives each entry from {@link #forEach(EntryVisitor)}
+     */
+    interface EntryVisitor {
+        void visit(int key, int value);
+    }
+
+    IntIntMap() {
+        this(MIN_CAPACITY);
+    }
+
+    IntIntMap(int expectedSize) {
+        int capacity = MIN_CAPACITY;
+        while (capacity * LOAD_FACTOR < expectedSize) {
+            capacity <<= 1;
+        }
+        allocate(capacity);
+    }
+
+    int size() {
+        return size;
+    }
+
+    /**
+     * Returns the value for {@code key}, or {@code missing} if there is none
+     */
+    int get(int key, int missing) {
+        if (key == FREE) {
+            return hasZeroKey ? zeroValue : missing;
+        }
+        int slot = hash(key) & mask;
+        while (true) {
+            int k = table[slot << 1];
+            if (k == key) {
+                return table[(slot << 1) + 1];
+            }
+            if (k == FREE) {
+                return missing;
+            }
+            slot = (slot + 1) & mask;
+        }
+    }
+
+    void put(int key, int value) {
+        if (key == FREE) {
+            if (!hasZeroKey) {
+                hasZeroKey = true;
+                size++;
+            }
+            zeroValue = value;
+            return;
+        }
+        int slot = hash(key) & mask;
+        while (true) {
+            int k = table[slot << 1];
+            if (k == key) {
+                table[(slot << 1) + 1] = value;
+                return;
+            }
+            if (k == FREE) {
+                table[slot << 1] = key;
+                table[(slot << 1) + 1] = value;
+                if (++size > growAt) {
+                    resize((mask + 1) << 1);
+                }
+                return;
+            }
+            slot = (slot + 1) & mask;
+        }
+    }
+
+    /**
+     * Removes {@code key} and returns whether it was present
+     */
+    boolean remove(int key) {
+        if (key == FREE) {
+            if (!hasZeroKey) return false;
+            hasZeroKey = false;
+            zeroValue = 0;
+            size--;
+            return true;
+        }
+        int slot = hash(key) & mask;
+        while (true) {
+            int k = table[slot << 1];
+            if (k == key) break;
+            if (k == FREE) return false;
+            slot = (slot + 1) & mask;
+        }
+
+        // Backward-shift deletion: move each later entry of the run into the gap unless its
+        // home slot lies cyclically between the gap and its current slot
+        int gap = slot;
+        int next = slot;
+        while (true) {
+            next = (next + 1) & mask;
+            int k = table[next << 1];
+            if (k == FREE) break;
+            int home = hash(k) & mask;
+            boolean movable = next > gap ? (home <= gap || home > next) : (home <= gap && home > next);
+            if (movable) {
+                table[gap << 1] = k;
+                table[(gap << 1) + 1] = table[(next << 1) + 1];
+                gap = next;
+            }
+        }
+        table[gap << 1] = FREE;
+        table[(gap << 1) + 1] = 0;
+        size--;
+        return true;
+    }
+
+    void forEach(EntryVisitor visitor) {
+        if (hasZeroKey) {
+            visitor.visit(FREE, zeroValue);
+        }
+        int[] t = table;
+        for (int i = 0; i < t.length; i += 2) {
+            if (t[i] != FREE) {
+                visitor.visit(t[i], t[i + 1]);
+            }
+        }
+    }
+
+    private void allocate(int capacity) {
+        table = new int[capacity << 1];
+        mask = capacity - 1;
+        growAt = (int) (capacity * LOAD_FACTOR);
+    }
+
+    private void resize(int newCapacity) {
+        int[] old = table;
+        allocate(newCapacity);
+        for (int i = 0; i < old.length; i += 2) {
+            int k = old[i];
+            if (k == FREE) continue;
+            int slot = hash(k) & mask;
+            while (table[slot << 1] != FREE) {
+                slot = (slot + 1) & mask;
+            }
+            table[slot << 1] = k;
+            table[(slot << 1) + 1] = old[i + 1];
+        }
+    }
+
+    /**
+     * Fibonacci hashing with the high bits folded down, so sequential keys spread out.
+     * Package-private so tests can build colliding and wrapping probe runs.
+     */
+    static int hash(int key) {
+        int h = key * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+}
@@ -0,0 +1,98 @@
+package net.dotevolve.benchmark.core.kernels;
+
+import java.util.Random;
+
+/**
+ * Dense matrix multiply kernels shared by the matrix benchmarks. All kernels compute
+ * rows {@code [rowStart, rowEnd)} of C = A * B so callers can split the work into chunks.
+ */
+final class MatrixKernels {
+    // 64x64 doubles = 32 KB per tile, so the A, B and C tiles of one step fit in L2
+    // and the B tile row walked by the inner loop stays in L1
+    static final int BLOCK_SIZE = 64;
+
+    private MatrixKernels() {
+    }
+
+    /**
+     * Floating point operations of one n x n multiply, one multiply and one add per term
+     */
+    static double flops(int n) {
+        return 2.0 * n * n * n;
+    }
+
+    /**
+     * Fills {@code a} and {@code b} from a fixed seed, so every matrix benchmark multiplies
+     * the same inputs for a given size and result checksums are reproducible
+     */
+    static void fillRandom(long seed, double[][] a, double[][] b) {
+        Random random = new Random(seed);
+        int n = a.length;
+        for (int i = 0; i < n; i++) {
+            for (int j = 0; j < n; j++) {
+                a[i][j] = random.nextDouble();
+                b[i][j] = random.nextDouble();
+            }
+        }
+    }
+
+    /**
+     * Row-major copy of {@code matrix} into a single array
+     */
+    static double[] flatten(double[][] matrix) {
+        int n = matrix.length;
+        double[] flat = new double[n * n];
+        for (int i = 0; i < n; i++) {
+            System.arraycopy(matrix[i], 0, flat, i * n, n);
+        }
+        return flat;
+    }
+
+    /**
+     * Textbook i-j-k order; the inner loop walks B down a column, one cache line per term
+     */
+    static void multiplyNaive(double[][] a, double[][] b, double[][] c, int rowStart, int rowEnd) {
+        int n = a.length;
+        for (int i = rowStart; i < rowEnd; i++) {
+            for (int j = 0; j < n; j++) {
+                c[i][j] = 0;
+                for (int k = 0; k < n; k++) {
+                    c[i][j] += a[i][k] * b[k][j];
+                }
+            }
+        }
+    }
+
+    /**
+     * Tiled i-k-j order on row-major flat arrays; the inner loop streams contiguous rows
+     * of B and C, which the JIT can keep in registers and vectorise
+     */
+    static void multiplyBlocked(double[] a, double[] b, double[] c, int n, int rowStart, int rowEnd) {
+        for (int i = rowStart; i < rowEnd; i++) {
+            int rowOffset = i * n;
+            for (int j = 0; j < n; j++) {
+                c[rowOffset + j] = 0;
+            }
+        }
+
+        for (int ii = rowStart; ii < rowEnd; ii += BLOCK_SIZE) {
+            int iEnd = Math.min(ii + BLOCK_SIZE, rowEnd);
+            for (int kk = 0; kk < n; kk += BLOCK_SIZE) {
+                int kEnd = Math.min(kk + BLOCK_SIZE, n);
+                for (int jj = 0; jj < n; jj += BLOCK_SIZE) {
+                    int jEnd = Math.min(jj + BLOCK_SIZE, n);
+                    for (int i = ii; i < iEnd; i++) {
+                        int rowOffset = i * n;
+                        for (int k = kk; k < kEnd; k++) {
+                            double aik = a[rowOffset + k];
+                            int bOffset = k * n;
+                            for (int j = jj; j < jEnd; j++) {
+                                c[rowOffset + j] += aik * b[bOffset + j];
+                            }
+                        }
+                    }
+                }
+            }
+        }
+    }
+}
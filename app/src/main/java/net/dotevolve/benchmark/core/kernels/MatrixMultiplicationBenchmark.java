@@ -0,0 +1,107 @@
+package net.dotevolve.benchmark.core.kernels;
+
+import net.dotevolve.benchmark.core.BenchmarkTest;
+import net.dotevolve.benchmark.core.Blackhole;
+import net.dotevolve.benchmark.core.PerformanceMetrics;
+import net.dotevolve.benchmark.core.ResultFormat;
+import net.dotevolve.benchmark.core.TestResult;
+
+import java.util.Locale;
+
+/**
+ * Naive dense matrix multiplication, C = A * B
+ */
+public class MatrixMultiplicationBenchmark implements BenchmarkTest {
+    private static final int WARMUP_ROWS = 8;
+
+    public static final String METRIC_GFLOPS = "gflops";
+    static final long SEED = 512; // Shared with the other matrix benchmarks
+
+    private double[][] matrixA;
+    private double[][] matrixB;
+    private double[][] matrixC;
+
+    @Override
+    public String getId() { return PerformanceMetrics.TEST_MATRIX; }
+
+    @Override
+    public String getName() { return "Matrix Multiplication"; }
+
+    @Override
+    public void setup() {
+        int size = PerformanceMetrics.MATRIX_SIZE;
+        matrixA = new double[size][size];
+        matrixB = new double[size][size];
+        matrixC = new double[size][size];
+
+        // Initialize matrices with random values
+        MatrixKernels.fillRandom(SEED, matrixA, matrixB);
+    }
+
+    @Override
+    public void run(TestResult result) {
+        // Perform matrix multiplication: C = A * B
+        long startTime = System.nanoTime();
+        multiplyRows(result, 0, PerformanceMetrics.MATRIX_SIZE);
+        long endTime = System.nanoTime();
+
+        result.addSample(endTime - startTime);
+        result.putMetric(METRIC_GFLOPS, MatrixKernels.flops(PerformanceMetrics.MATRIX_SIZE) / (endTime - startTime));
+        consumeRows(result.getBlackhole(), 0, PerformanceMetrics.MATRIX_SIZE);
+    }
+
+    @Override
+    public int getExpectedSampleCount() {
+        return 1;
+    }
+
+    @Override
+    public int runWarmupBatch(TestResult result) {
+        // A handful of rows runs the same inner loops as a full pass
+        int rows = WARMUP_ROWS;
+        multiplyRows(result, 0, rows);
+        consumeRows(result.getBlackhole(), 0, rows);
+        return rows;
+    }
+
+    // Folds the diagonal and last column of the computed rows, outside the timed region
+    private void consumeRows(Blackhole blackhole, int rowStart, int rowEnd) {
+        int last = PerformanceMetrics.MATRIX_SIZE - 1;
+        for (int i = rowStart; i < rowEnd; i++) {
+            blackhole.consume(matrixC[i][i]);
+            blackhole.consume(matrixC[i][last]);
+        }
+    }
+
+    private void multiplyRows(TestResult result, int rowStart, int rowEnd) {
+        for (int i = rowStart; i < rowEnd; i++) {
+            result.checkCancelled(); // Once per row, negligible next to size^2 multiply-adds
+            MatrixKernels.multiplyNaive(matrixA, matrixB, matrixC, i, i + 1);
+        }
+    }
+
+    @Override
+    public void teardown() {
+        matrixA = null;
+        matrixB = null;
+        matrixC = null;
+    }
+
+    @Override
+    public void appendSummary(TestResult result, StringBuilder out) {
+        int size = PerformanceMetrics.MATRIX_SIZE;
+        out.append("Matrix Multiplication (").append(size).append("x").append(size).append("):\n");
+        out.append("  Total Time: ").append(ResultFormat.formatNanoTime(result.getTotalTime())).append("\n");
+        out.append(String.format(Locale.US, "  GFLOPS: %.2f\n\n", result.getMetric(METRIC_GFLOPS)));
+    }
+
+    @Override
+    public void appendDetails(TestResult result, StringBuilder out) {
+        int size = PerformanceMetrics.MATRIX_SIZE;
+        out.append("🔢 MATRIX MULTIPLICATION PERFORMANCE\n");
+        out.append("Matrix Size: ").append(size).append("x").append(size).append("\n");
+        out.append("Total Time: ").append(ResultFormat.formatNanoTime(result.getTotalTime())).append("\n");
+        out.append("Operations: ").append(size * size * size).append(" (O(n³))\n");
+        out.append(String.format(Locale.US, "GFLOPS: %.2f\n\n", result.getMetric(METRIC_GFLOPS)));
+    }
+}
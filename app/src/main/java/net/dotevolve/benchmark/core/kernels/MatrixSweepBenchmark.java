@@ -0,0 +1,137 @@
+package net.dotevolve.benchmark.core.kernels;
+
+import net.dotevolve.benchmark.core.BenchmarkTest;
+import net.dotevolve.benchmark.core.Blackhole;
+import net.dotevolve.benchmark.core.PerformanceMetrics;
+import net.dotevolve.benchmark.core.TestResult;
+
+import java.util.Locale;
+
+/**
+ * GFLOPS of the naive i-j-k kernel on {@code double[][]} and the cache-blocked i-k-j kernel
+ * on flat {@code double[]} storage across several matrix sizes. Small sizes fit in cache
+ * and show raw FP throughput; the gap at large sizes is the cost of the memory hierarchy.
+ */
+public class MatrixSweepBenchmark implements BenchmarkTest {
+    private static final int WARMUP_SIZE = 128;
+
+    private double[][] warmupA;
+    private double[][] warmupB;
+    private double[][] warmupC;
+    private double[] warmupFlatA;
+    private double[] warmupFlatB;
+    private double[] warmupFlatC;
+
+    public static String naiveGflopsMetric(int size) {
+        return "naive_gflops_n" + size;
+    }
+
+    public static String blockedGflopsMetric(int size) {
+        return "blocked_gflops_n" + size;
+    }
+
+    @Override
+    public String getId() { return PerformanceMetrics.TEST_MATRIX_SWEEP; }
+
+    @Override
+    public String getName() { return "Matrix GFLOPS Sweep"; }
+
+    @Override
+    public void setup() {
+        warmupA = new double[WARMUP_SIZE][WARMUP_SIZE];
+        warmupB = new double[WARMUP_SIZE][WARMUP_SIZE];
+        warmupC = new double[WARMUP_SIZE][WARMUP_SIZE];
+        MatrixKernels.fillRandom(MatrixMultiplicationBenchmark.SEED, warmupA, warmupB);
+        warmupFlatA = MatrixKernels.flatten(warmupA);
+        warmupFlatB = MatrixKernels.flatten(warmupB);
+        warmupFlatC = new double[WARMUP_SIZE * WARMUP_SIZE];
+    }
+
+    @Override
+    public void run(TestResult result) {
+        Blackhole blackhole = result.getBlackhole();
+        int largest = PerformanceMetrics.MATRIX_SWEEP_SIZES[PerformanceMetrics.MATRIX_SWEEP_SIZES.length - 1];
+
+        for (int size : PerformanceMetrics.MATRIX_SWEEP_SIZES) {
+            double[][] a = new double[size][size];
+            double[][] b = new double[size][size];
+            double[][] c = new double[size][size];
+            MatrixKernels.fillRandom(MatrixMultiplicationBenchmark.SEED, a, b);
+            double[] flatA = MatrixKernels.flatten(a);
+            double[] flatB = MatrixKernels.flatten(b);
+            double[] flatC = new double[size * size];
+
+            // Smaller sizes repeat so every size performs the same number of FLOPs
+            int ratio = largest / size;
+            int repetitions = Math.max(1, ratio * ratio * ratio);
+            double flops = MatrixKernels.flops(size) * repetitions;
+
+            long startTime = System.nanoTime();
+            for (int r = 0; r < repetitions; r++) {
+                multiplyNaive(result, a, b, c);
+            }
+            long naiveTime = System.nanoTime() - startTime;
+            result.putMetric(naiveGflopsMetric(size), flops / naiveTime);
+
+            startTime = System.nanoTime();
+            for (int r = 0; r < repetitions; r++) {
+                multiplyBlocked(result, flatA, flatB, flatC, size);
+            }
+            long blockedTime = System.nanoTime() - startTime;
+            result.putMetric(blockedGflopsMetric(size), flops / blockedTime);
+
+            // Both variants must agree, so fold the same cells from each
+            blackhole.consume(c[0][0]);
+            blackhole.consume(c[size - 1][size - 1]);
+            blackhole.consume(flatC[0]);
+            blackhole.consume(flatC[size * size - 1]);
+        }
+    }
+
+    @Override
+    public int runWarmupBatch(TestResult result) {
+        MatrixKernels.multiplyNaive(warmupA, warmupB, warmupC, 0, WARMUP_SIZE);
+        MatrixKernels.multiplyBlocked(warmupFlatA, warmupFlatB, warmupFlatC, WARMUP_SIZE, 0, WARMUP_SIZE);
+        result.getBlackhole().consume(warmupC[0][0]);
+        result.getBlackhole().consume(warmupFlatC[0]);
+        return 2 * WARMUP_SIZE * WARMUP_SIZE * WARMUP_SIZE;
+    }
+
+    private void multiplyNaive(TestResult result, double[][] a, double[][] b, double[][] c) {
+        int n = a.length;
+        for (int row = 0; row < n; row += MatrixKernels.BLOCK_SIZE) {
+            result.checkCancelled();
+            MatrixKernels.multiplyNaive(a, b, c, row, Math.min(n, row + MatrixKernels.BLOCK_SIZE));
+        }
+    }
+
+    private void multiplyBlocked(TestResult result, double[] a, double[] b, double[] c, int n) {
+        for (int row = 0; row < n; row += MatrixKernels.BLOCK_SIZE) {
+            result.checkCancelled();
+            MatrixKernels.multiplyBlocked(a, b, c, n, row, Math.min(n, row + MatrixKernels.BLOCK_SIZE));
+        }
+    }
+
+    @Override
+    public void teardown() {
+        warmupA = null;
+        warmupB = null;
+        warmupC = null;
+        warmupFlatA = null;
+        warmupFlatB = null;
+        warmupFlatC = null;
+    }
+
+    @Override
+    public void appendDetails(TestResult result, StringBuilder out) {
+        out.append("🧮 MATRIX GFLOPS SWEEP\n");
+        for (int size : PerformanceMetrics.MATRIX_SWEEP_SIZES) {
+            double naive = result.getMetric(naiveGflopsMetric(size));
+            double blocked = result.getMetric(blockedGflopsMetric(size));
+            if (Double.isNaN(naive) || Double.isNaN(blocked)) continue;
+            out.append(String.format(Locale.US, "%dx%d: naive %.2f, blocked %.2f GFLOPS (%.1fx)\n",
+                    size, size, naive, blocked, blocked / naive));
+        }
+        out.append("\n");
+    }
+}
@@ -0,0 +1,102 @@
+package net.dotevolve.benchmark.core.kernels;
+
+import net.dotevolve.benchmark.core.BenchmarkTest;
+import net.dotevolve.benchmark.core.PerformanceMetrics;
+import net.dotevolve.benchmark.core.ResultFormat;
+import net.dotevolve.benchmark.core.TestResult;
+
+import java.util.Random;
+
+/**
+ * Sequential copy, in-place reverse and sum over two large int arrays
+ */
+public class MemoryBandwidthBenchmark implements BenchmarkTest {
+    private static final long SEED = 50;
+    // Elements per chunk between cancellation checks (1 MB of ints)
+    private static final int CHUNK_SIZE = 256 * 1024;
+
+    private int[] array1;
+    private int[] array2;
+
+    @Override
+    public String getId() { return PerformanceMetrics.TEST_MEMORY; }
+
+    @Override
+    public String getName() { return "Memory Bandwidth"; }
+
+    @Override
+    public void setup() {
+        // Fixed seed keeps inputs, and so result checksums, identical across runs
+        Random random = new Random(SEED);
+        int size = PerformanceMetrics.MEMORY_TEST_SIZE / 4; // int array size
+        array1 = new int[size];
+        array2 = new int[size];
+
+        // Initialize arrays
+        for (int i = 0; i < size; i++) {
+            array1[i] = random.nextInt();
+            array2[i] = random.nextInt();
+        }
+    }
+
+    @Override
+    public void run(TestResult result) {
+        result.getBlackhole().consume(copyReverseSum(result, array1.length));
+    }
+
+    @Override
+    public int runWarmupBatch(TestResult result) {
+        // Same access patterns over a prefix of the arrays
+        int size = array1.length / 64;
+        result.getBlackhole().consume(copyReverseSum(result, size));
+        return size;
+    }
+
+    private long copyReverseSum(TestResult result, int size) {
+        // Perform memory-intensive operations: copy, reverse, sum
+        // Each pass runs in chunks so a cancellation is seen within a few milliseconds
+        // Sequential memory access pattern
+        for (int start = 0; start < size; start += CHUNK_SIZE) {
+            result.checkCancelled();
+            int end = Math.min(size, start + CHUNK_SIZE);
+            for (int i = start; i < end; i++) {
+                array2[i] = array1[i];
+            }
+        }
+
+        // Reverse copy
+        int half = size / 2;
+        for (int start = 0; start < half; start += CHUNK_SIZE) {
+            result.checkCancelled();
+            int end = Math.min(half, start + CHUNK_SIZE);
+            for (int i = start; i < end; i++) {
+                int temp = array1[i];
+                array1[i] = array1[size - 1 - i];
+                array1[size - 1 - i] = temp;
+            }
+        }
+
+        // Sum operation
+        long sum = 0;
+        for (int start = 0; start < size; start += CHUNK_SIZE) {
+            result.checkCancelled();
+            int end = Math.min(size, start + CHUNK_SIZE);
+            for (int i = start; i < end; i++) {
+                sum += (long) array1[i] + array2[i]; // Widen first so the sum is order-independent
+            }
+        }
+        return sum;
+    }
+
+    @Override
+    public void teardown() {
+        array1 = null;
+        array2 = null;
+    }
+
+    @Override
+    public void appendSummary(TestResult result, StringBuilder out) {
+        out.append("Memory Bandwidth (").append(ResultFormat.formatBytes(PerformanceMetrics.MEMORY_TEST_SIZE)).append("):\n");
+        out.append("  Total Time: ").append(ResultFormat.formatNanoTime(result.getTotalTime())).append("\n\n");
+    }
+}
@@ -0,0 +1,152 @@
+package net.dotevolve.benchmark.core.kernels;
+
+import net.dotevolve.benchmark.core.BenchmarkTest;
+import net.dotevolve.benchmark.core.Blackhole;
+import net.dotevolve.benchmark.core.PerformanceMetrics;
+import net.dotevolve.benchmark.core.ResultFormat;
+import net.dotevolve.benchmark.core.TestResult;
+
+import java.util.Locale;
+import java.util.Random;
+
+/**
+ * Load-to-use latency by working set, measured by chasing a random single-cycle permutation
+ * through an {@code int[]}. Every load depends on the previous one and the order defeats
+ * the prefetchers, so the time per load is the latency of whichever level holds the set.
+ */
+public class MemoryLatencyBenchmark implements BenchmarkTest {
+    public static final String METRIC_L1_LATENCY_NS = "l1_latency_ns";
+    public static final String METRIC_DRAM_LATENCY_NS = "dram_latency_ns";
+    public static final String METRIC_MAX_WORKING_SET_KB = "max_working_set_kb";
+
+    private static final long SEED = 4096;
+    // Timed loads per working set, enough to average out the odd page walk
+    private static final int LOADS_PER_POINT = 4 * 1024 * 1024;
+    // Loads between cancellation checks
+    private static final int CHUNK_LOADS = 64 * 1024;
+    // Sets from here up are past any last-level cache, so this one is scored
+    private static final int DRAM_WORKING_SET_KB = 64 * 1024;
+    private static final int WARMUP_WORKING_SET_KB = 64;
+
+    private int[] warmupChain;
+
+    public static String latencyMetric(int workingSetKb) {
+        return "ns_per_load_kb" + workingSetKb;
+    }
+
+    @Override
+    public String getId() { return PerformanceMetrics.TEST_MEMORY_LATENCY; }
+
+    @Override
+    public String getName() { return "Memory Latency"; }
+
+    @Override
+    public void setup() {
+        warmupChain = buildChain(WARMUP_WORKING_SET_KB * 1024 / Integer.BYTES);
+    }
+
+    @Override
+    public void run(TestResult result) {
+        Blackhole blackhole = result.getBlackhole();
+        double dramLatency = Double.NaN;
+        double lastLatency = Double.NaN;
+        int maxWorkingSetKb = 0;
+
+        for (int workingSetKb : PerformanceMetrics.LATENCY_WORKING_SET_KB) {
+            long bytes = workingSetKb * 1024L;
+            if (!HeapBudget.fits(bytes)) {
+                break;
+            }
+            int[] chain = buildChain((int) (bytes / Integer.BYTES));
+
+            // Untimed pass pulls the set into whatever level it fits and the TLB
+            int position = chase(result, chain, 0, Math.min(chain.length, LOADS_PER_POINT));
+
+            long totalTime = 0;
+            for (int done = 0; done < LOADS_PER_POINT; done += CHUNK_LOADS) {
+                result.checkCancelled();
+                long startTime = System.nanoTime();
+                position = chaseChunk(chain, position, CHUNK_LOADS);
+                totalTime += System.nanoTime() - startTime;
+            }
+            blackhole.consume(position);
+
+            lastLatency = (double) totalTime / LOADS_PER_POINT;
+            result.putMetric(latencyMetric(workingSetKb), lastLatency);
+            if (maxWorkingSetKb == 0) {
+                result.putMetric(METRIC_L1_LATENCY_NS, lastLatency);
+            }
+            if (workingSetKb == DRAM_WORKING_SET_KB) {
+                dramLatency = lastLatency;
+            }
+            maxWorkingSetKb = workingSetKb;
+        }
+
+        // Small heaps may stop short of the DRAM point; the largest set is the next best
+        result.putMetric(METRIC_DRAM_LATENCY_NS, Double.isNaN(dramLatency) ? lastLatency : dramLatency);
+        result.putMetric(METRIC_MAX_WORKING_SET_KB, maxWorkingSetKb);
+    }
+
+    @Override
+    public int runWarmupBatch(TestResult result) {
+        result.getBlackhole().consume(chaseChunk(warmupChain, 0, CHUNK_LOADS));
+        return CHUNK_LOADS;
+    }
+
+    @Override
+    public void teardown() {
+        warmupChain = null;
+    }
+
+    @Override
+    public void appendSummary(TestResult result, StringBuilder out) {
+        out.append("Memory Latency:\n");
+        out.append(String.format(Locale.US, "  L1: %.1f ns, DRAM: %.1f ns\n\n",
+                result.getMetric(METRIC_L1_LATENCY_NS), result.getMetric(METRIC_DRAM_LATENCY_NS)));
+    }
+
+    @Override
+    public void appendDetails(TestResult result, StringBuilder out) {
+        out.append("⏱️ MEMORY LATENCY (ns per load)\n");
+        for (int workingSetKb : PerformanceMetrics.LATENCY_WORKING_SET_KB) {
+            double latency = result.getMetric(latencyMetric(workingSetKb));
+            if (Double.isNaN(latency)) continue;
+            out.append(String.format(Locale.US, "%s: %.1f ns\n", ResultFormat.formatBytes(workingSetKb * 1024L), latency));
+        }
+        out.append("\n");
+    }
+
+    private static int chase(TestResult result, int[] chain, int position, int loads) {
+        for (int done = 0; done < loads; done += CHUNK_LOADS) {
+            result.checkCancelled();
+            position = chaseChunk(chain, position, Math.min(CHUNK_LOADS, loads - done));
+        }
+        return position;
+    }
+
+    private static int chaseChunk(int[] chain, int position, int loads) {
+        for (int i = 0; i < loads; i++) {
+            position = chain[position];
+        }
+        return position;
+    }
+
+    /**
+     * Sattolo's shuffle, which yields a permutation with one cycle through every slot,
+     * so the chase never settles into a short loop that fits in cache
+     */
+    private static int[] buildChain(int length) {
+        int[] chain = new int[length];
+        for (int i = 0; i < length; i++) {
+            chain[i] = i;
+        }
+        Random random = new Random(SEED);
+        for (int i = length - 1; i > 0; i--) {
+            int j = random.nextInt(i);
+            int temp = chain[i];
+            chain[i] = chain[j];
+            chain[j] = temp;
+        }
+        return chain;
+    }
+}
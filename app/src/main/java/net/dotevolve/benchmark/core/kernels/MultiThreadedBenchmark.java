@@ -0,0 +1,107 @@
+package net.dotevolve.benchmark.core.kernels;
+
+import net.dotevolve.benchmark.core.BenchmarkTest;
+import net.dotevolve.benchmark.core.Blackhole;
+import net.dotevolve.benchmark.core.CancellationToken;
+import net.dotevolve.benchmark.core.PerformanceMetrics;
+import net.dotevolve.benchmark.core.ResultFormat;
+import net.dotevolve.benchmark.core.TestResult;
+
+import java.security.NoSuchAlgorithmException;
+import java.util.Locale;
+
+/**
+ * Runs one fixed SHA-512 workload on a single thread and then across the pool, so the
+ * speedup compares identical work measured in the same session
+ */
+public class MultiThreadedBenchmark implements BenchmarkTest {
+    // Rounds alternate single-threaded and pooled runs so thermal drift hits both alike
+    private static final int ROUNDS = 3;
+
+    public static final String METRIC_THREADS = "threads";
+    public static final String METRIC_SINGLE_THREAD_TIME = "single_thread_time_ns";
+    public static final String METRIC_PARALLEL_TIME = "parallel_time_ns";
+    public static final String METRIC_SPEEDUP = "speedup";
+    public static final String METRIC_EFFICIENCY = "efficiency";
+
+    private final String testString;
+    private final int numThreads;
+
+    private ParallelHashWorkload workload;
+
+    public MultiThreadedBenchmark(String testString, int cpuCores) {
+        this.testString = testString;
+        this.numThreads = Math.min(cpuCores, 8); // Use up to 8 threads
+    }
+
+    @Override
+    public String getId() { return PerformanceMetrics.TEST_MULTI_THREADED; }
+
+    @Override
+    public String getName() { return "Multi-threaded"; }
+
+    @Override
+    public void setup() throws NoSuchAlgorithmException {
+        workload = new ParallelHashWorkload(testString, numThreads);
+    }
+
+    @Override
+    public void run(TestResult result) throws InterruptedException {
+        Blackhole blackhole = result.getBlackhole();
+        CancellationToken token = result.getCancellationToken();
+        int operations = PerformanceMetrics.SHA1_ITERATIONS;
+        long bestSingle = Long.MAX_VALUE;
+        long bestParallel = Long.MAX_VALUE;
+
+        for (int round = 0; round < ROUNDS; round++) {
+            long startTime = System.nanoTime();
+            blackhole.consume(workload.run(1, operations, token));
+            long endTime = System.nanoTime();
+            bestSingle = Math.min(bestSingle, endTime - startTime);
+
+            startTime = System.nanoTime();
+            blackhole.consume(workload.run(numThreads, operations, token));
+            endTime = System.nanoTime();
+            bestParallel = Math.min(bestParallel, endTime - startTime);
+        }
+
+        double speedup = (double) bestSingle / Math.max(1, bestParallel);
+        result.putMetric(METRIC_THREADS, numThreads);
+        result.putMetric(METRIC_SINGLE_THREAD_TIME, bestSingle);
+        result.putMetric(METRIC_PARALLEL_TIME, bestParallel);
+        result.putMetric(METRIC_SPEEDUP, speedup);
+        result.putMetric(METRIC_EFFICIENCY, speedup / numThreads);
+    }
+
+    @Override
+    public int runWarmupBatch(TestResult result) throws InterruptedException {
+        int operations = PerformanceMetrics.SHA1_ITERATIONS / 100;
+        result.getBlackhole().consume(workload.run(numThreads, operations, result.getCancellationToken()));
+        return operations;
+    }
+
+    @Override
+    public void teardown() {
+        if (workload != null) {
+            workload.shutdown();
+            workload = null;
+        }
+    }
+
+    @Override
+    public void appendSummary(TestResult result, StringBuilder out) {
+        out.append("Multi-threaded Performance:\n");
+        out.append("  Total Time: ").append(ResultFormat.formatNanoTime(result.getTotalTime())).append("\n");
+        double speedup = result.getMetric(METRIC_SPEEDUP);
+        if (!Double.isNaN(speedup)) {
+            out.append("  1 thread: ")
+               .append(ResultFormat.formatNanoTime((long) result.getMetric(METRIC_SINGLE_THREAD_TIME)))
+               .append(", ").append((int) result.getMetric(METRIC_THREADS)).append(" threads: ")
+               .append(ResultFormat.formatNanoTime((long) result.getMetric(METRIC_PARALLEL_TIME))).append("\n");
+            out.append("  Speedup: ").append(String.format(Locale.US, "%.2fx", speedup))
+               .append(String.format(Locale.US, " (%.0f%% efficiency)", result.getMetric(METRIC_EFFICIENCY) * 100))
+               .append("\n");
+        }
+        out.append("\n");
+    }
+}
@@ -0,0 +1,87 @@
+package net.dotevolve.benchmark.core.kernels;
+
+import net.dotevolve.benchmark.core.Blackhole;
+import net.dotevolve.benchmark.core.CancellationToken;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Fixed SHA-512 workload split across a thread pool, shared by the multi-threaded kernels.
+ *
+ * Each worker slot owns its digest and input, so any number of threads up to the pool
+ * size can run the same total work without sharing state.
+ */
+class ParallelHashWorkload {
+    // Workers poll the cancellation token once per this many hashes
+    private static final int CANCEL_CHECK_INTERVAL = 256;
+
+    private final int maxThreads;
+    private final MessageDigest[] digests;
+    private final byte[][] inputs;
+    private final ExecutorService executor;
+
+    ParallelHashWorkload(String testString, int maxThreads) throws NoSuchAlgorithmException {
+        this.maxThreads = Math.max(1, maxThreads);
+        digests = new MessageDigest[this.maxThreads];
+        inputs = new byte[this.maxThreads][];
+        for (int t = 0; t < this.maxThreads; t++) {
+            digests[t] = MessageDigest.getInstance("SHA-512");
+            inputs[t] = (testString + t).getBytes(StandardCharsets.UTF_8);
+        }
+        executor = Executors.newFixedThreadPool(this.maxThreads);
+    }
+
+    int getMaxThreads() {
+        return maxThreads;
+    }
+
+    /**
+     * Hashes {@code totalOperations} inputs split as evenly as possible over {@code threads}
+     * workers and returns the combined checksum of all digests. Each worker folds into a
+     * local sink and publishes it once, so threads never share a hot counter.
+     * Workers stop early once {@code token} is stopped, and the stop is then rethrown here.
+     */
+    long run(int threads, int totalOperations, CancellationToken token) throws InterruptedException {
+        int workers = Math.max(1, Math.min(threads, maxThreads));
+        CountDownLatch latch = new CountDownLatch(workers);
+        AtomicLong checksum = new AtomicLong();
+
+        for (int t = 0; t < workers; t++) {
+            final int slot = t;
+            final int operations = totalOperations / workers + (t < totalOperations % workers ? 1 : 0);
+            executor.submit(() -> {
+                try {
+                    MessageDigest digest = digests[slot];
+                    byte[] input = inputs[slot];
+                    Blackhole sink = new Blackhole();
+
+                    for (int i = 0; i < operations; i++) {
+                        if (i % CANCEL_CHECK_INTERVAL == 0 && token.isStopped()) {
+                            break;
+                        }
+                        digest.update(input);
+                        sink.consume(digest.digest());
+                    }
+                    // Addition is order-independent, so the total does not depend on scheduling
+                    checksum.addAndGet(sink.getChecksum());
+                } finally {
+                    latch.countDown();
+                }
+            });
+        }
+
+        latch.await();
+        token.throwIfStopped();
+        return checksum.get();
+    }
+
+    void shutdown() {
+        executor.shutdownNow();
+    }
+}
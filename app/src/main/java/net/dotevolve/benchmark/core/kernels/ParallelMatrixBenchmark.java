@@ -0,0 +1,167 @@
+package net.dotevolve.benchmark.core.kernels;
+
+import net.dotevolve.benchmark.core.BenchmarkTest;
+import net.dotevolve.benchmark.core.Blackhole;
+import net.dotevolve.benchmark.core.CancellationToken;
+import net.dotevolve.benchmark.core.PerformanceMetrics;
+import net.dotevolve.benchmark.core.TestResult;
+
+import java.util.Locale;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Cache-blocked matrix multiply split recursively over row blocks on a {@link ForkJoinPool},
+ * timed against the same kernel on one thread over the same inputs as the matrix test
+ */
+public class ParallelMatrixBenchmark implements BenchmarkTest {
+    // Rounds alternate serial and parallel runs so thermal drift hits both alike
+    private static final int ROUNDS = 3;
+
+    public static final String METRIC_THREADS = "threads";
+    public static final String METRIC_GFLOPS = "gflops";
+    public static final String METRIC_SERIAL_GFLOPS = "serial_gflops";
+    public static final String METRIC_SPEEDUP = "speedup";
+    public static final String METRIC_EFFICIENCY = "efficiency";
+
+    private final int numThreads;
+
+    private ForkJoinPool pool;
+    private double[] matrixA;
+    private double[] matrixB;
+    private double[] matrixC;
+
+    public ParallelMatrixBenchmark(int cpuCores) {
+        this.numThreads = Math.max(1, cpuCores);
+    }
+
+    @Override
+    public String getId() { return PerformanceMetrics.TEST_PARALLEL_MATRIX; }
+
+    @Override
+    public String getName() { return "Parallel Matrix"; }
+
+    @Override
+    public void setup() {
+        int n = PerformanceMetrics.MATRIX_SIZE;
+        double[][] a = new double[n][n];
+        double[][] b = new double[n][n];
+        MatrixKernels.fillRandom(MatrixMultiplicationBenchmark.SEED, a, b);
+        matrixA = MatrixKernels.flatten(a);
+        matrixB = MatrixKernels.flatten(b);
+        matrixC = new double[n * n];
+        pool = new ForkJoinPool(numThreads);
+    }
+
+    @Override
+    public void run(TestResult result) {
+        Blackhole blackhole = result.getBlackhole();
+        int n = PerformanceMetrics.MATRIX_SIZE;
+        long bestSerial = Long.MAX_VALUE;
+        long bestParallel = Long.MAX_VALUE;
+
+        for (int round = 0; round < ROUNDS; round++) {
+            long startTime = System.nanoTime();
+            multiplySerial(result, n);
+            long endTime = System.nanoTime();
+            bestSerial = Math.min(bestSerial, endTime - startTime);
+            blackhole.consume(matrixC[n * n - 1]);
+
+            startTime = System.nanoTime();
+            multiplyParallel(result.getCancellationToken(), 0, n);
+            endTime = System.nanoTime();
+            bestParallel = Math.min(bestParallel, endTime - startTime);
+            blackhole.consume(matrixC[n * n - 1]);
+        }
+
+        double flops = MatrixKernels.flops(n);
+        double speedup = (double) bestSerial / Math.max(1, bestParallel);
+        result.putMetric(METRIC_THREADS, numThreads);
+        result.putMetric(METRIC_GFLOPS, flops / Math.max(1, bestParallel));
+        result.putMetric(METRIC_SERIAL_GFLOPS, flops / Math.max(1, bestSerial));
+        result.putMetric(METRIC_SPEEDUP, speedup);
+        result.putMetric(METRIC_EFFICIENCY, speedup / numThreads);
+    }
+
+    @Override
+    public int runWarmupBatch(TestResult result) {
+        // One row block per thread keeps batches short while still touching every worker
+        int n = PerformanceMetrics.MATRIX_SIZE;
+        int rows = Math.min(n, numThreads * MatrixKernels.BLOCK_SIZE);
+        multiplyParallel(result.getCancellationToken(), 0, rows);
+        result.getBlackhole().consume(matrixC[0]);
+        return 2 * rows * n * n;
+    }
+
+    private void multiplySerial(TestResult result, int n) {
+        for (int row = 0; row < n; row += MatrixKernels.BLOCK_SIZE) {
+            result.checkCancelled();
+            MatrixKernels.multiplyBlocked(matrixA, matrixB, matrixC, n, row, Math.min(n, row + MatrixKernels.BLOCK_SIZE));
+        }
+    }
+
+    private void multiplyParallel(CancellationToken token, int rowStart, int rowEnd) {
+        pool.invoke(new MultiplyTask(token, rowStart, rowEnd));
+        token.throwIfStopped();
+    }
+
+    /**
+     * Halves its row range until one block is left, so idle workers steal large halves first
+     */
+    private class MultiplyTask extends RecursiveAction {
+        private final CancellationToken token;
+        private final int rowStart;
+        private final int rowEnd;
+
+        MultiplyTask(CancellationToken token, int rowStart, int rowEnd) {
+            this.token = token;
+            this.rowStart = rowStart;
+            this.rowEnd = rowEnd;
+        }
+
+        @Override
+        protected void compute() {
+            if (token.isStopped()) {
+                return;
+            }
+            int rows = rowEnd - rowStart;
+            if (rows <= MatrixKernels.BLOCK_SIZE) {
+                MatrixKernels.multiplyBlocked(matrixA, matrixB, matrixC, PerformanceMetrics.MATRIX_SIZE, rowStart, rowEnd);
+                return;
+            }
+            // Split on a block boundary so leaves line up with the serial kernel's tiles
+            int middle = rowStart + (rows / 2 + MatrixKernels.BLOCK_SIZE - 1) / MatrixKernels.BLOCK_SIZE * MatrixKernels.BLOCK_SIZE;
+            invokeAll(new MultiplyTask(token, rowStart, middle), new MultiplyTask(token, middle, rowEnd));
+        }
+    }
+
+    @Override
+    public void teardown() {
+        if (pool != null) {
+            pool.shutdownNow();
+            pool = null;
+        }
+        matrixA = null;
+        matrixB = null;
+        matrixC = null;
+    }
+
+    @Override
+    public void appendSummary(TestResult result, StringBuilder out) {
+        out.append("Parallel Matrix Multiplication:\n");
+        out.append(String.format(Locale.US, "  GFLOPS: %.2f (%.2fx over serial)\n\n",
+                result.getMetric(METRIC_GFLOPS), result.getMetric(METRIC_SPEEDUP)));
+    }
+
+    @Override
+    public void appendDetails(TestResult result, StringBuilder out) {
+        out.append("🧩 PARALLEL MATRIX MULTIPLICATION\n");
+        out.append("Matrix Size: ").append(PerformanceMetrics.MATRIX_SIZE).append("x")
+           .append(PerformanceMetrics.MATRIX_SIZE).append("\n");
+        out.append("Threads: ").append((int) result.getMetric(METRIC_THREADS)).append("\n");
+        out.append(String.format(Locale.US, "Serial: %.2f GFLOPS\n", result.getMetric(METRIC_SERIAL_GFLOPS)));
+        out.append(String.format(Locale.US, "Parallel: %.2f GFLOPS\n", result.getMetric(METRIC_GFLOPS)));
+        out.append(String.format(Locale.US, "Speedup: %.2fx (%.0f%% efficiency)\n\n",
+                result.getMetric(METRIC_SPEEDUP), result.getMetric(METRIC_EFFICIENCY) * 100));
+    }
+}
@@ -0,0 +1,247 @@
+package net.dotevolve.benchmark.core.kernels;
+
+import net.dotevolve.benchmark.core.BenchmarkTest;
+import net.dotevolve.benchmark.core.Blackhole;
+import net.dotevolve.benchmark.core.PerformanceMetrics;
+import net.dotevolve.benchmark.core.ResultFormat;
+import net.dotevolve.benchmark.core.TestResult;
+
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.Signature;
+import java.security.spec.ECGenParameterSpec;
+import java.util.Locale;
+
+import javax.crypto.KeyAgreement;
+
+/**
+ * The public-key operations of a TLS handshake: RSA-2048/4096 and ECDSA P-256 sign and
+ * verify, ECDH P-256 key agreement, and EC and RSA key generation, in ops/sec.
+ *
+ * Each operation runs until it reaches its op count or its time budget, whichever comes
+ * first, so slow devices still finish quickly. Every RSA-2048 signature is also recorded
+ * as a latency sample, and the time spent in RSA-2048 sign and verify is reported on its
+ * own so it stays comparable with the RSA-only test this stage replaced.
+ */
+public class PublicKeyBenchmark implements BenchmarkTest {
+    public static final String OP_RSA2048_SIGN = "rsa2048_sign";
+    public static final String OP_RSA2048_VERIFY = "rsa2048_verify";
+    public static final String OP_RSA4096_SIGN = "rsa4096_sign";
+    public static final String OP_RSA4096_VERIFY = "rsa4096_verify";
+    public static final String OP_ECDSA_P256_SIGN = "ecdsa_p256_sign";
+    public static final String OP_ECDSA_P256_VERIFY = "ecdsa_p256_verify";
+    public static final String OP_ECDH_P256 = "ecdh_p256";
+    public static final String OP_EC_P256_KEYGEN = "ec_p256_keygen";
+    public static final String OP_RSA2048_KEYGEN = "rsa2048_keygen";
+    public static final String[] OPERATIONS = {OP_RSA2048_SIGN, OP_RSA2048_VERIFY, OP_RSA4096_SIGN,
+            OP_RSA4096_VERIFY, OP_ECDSA_P256_SIGN, OP_ECDSA_P256_VERIFY, OP_ECDH_P256,
+            OP_EC_P256_KEYGEN, OP_RSA2048_KEYGEN};
+
+    public static final String METRIC_RSA2048_TIME_NS = "rsa2048_time_ns";
+
+    private static final String RSA_SIGNATURE = "SHA256withRSA";
+    private static final String ECDSA_SIGNATURE = "SHA256withECDSA";
+    private static final String CURVE = "secp256r1";
+    // Per-operation limits: stop at MAX_OPS or once the budget is spent, but not before MIN_OPS
+    private static final int MIN_OPS = 3;
+    private static final int MAX_OPS = 2000;
+    private static final long OP_TIME_BUDGET_NS = 1_000_000_000L;
+
+    private final byte[] message;
+
+    private KeyPair rsa2048;
+    private KeyPair rsa4096;
+    private KeyPair ecKeys;
+    private KeyPair ecPeer;
+    private KeyPairGenerator rsaGenerator;
+    private KeyPairGenerator ecGenerator;
+    private Signature rsa2048Signer;
+    private Signature rsa2048Verifier;
+    private Signature rsa4096Signer;
+    private Signature rsa4096Verifier;
+    private Signature ecdsaSigner;
+    private Signature ecdsaVerifier;
+    private KeyAgreement keyAgreement;
+    private byte[] rsa2048Signature;
+    private byte[] rsa4096Signature;
+    private byte[] ecdsaSignature;
+
+    public PublicKeyBenchmark(String message) {
+        // Stands in for a handshake transcript
+        this.message = message.getBytes(StandardCharsets.UTF_8);
+    }
+
+    public static String opsPerSecMetric(String operation) {
+        return "ops_per_sec_" + operation;
+    }
+
+    @Override
+    public String getId() { return PerformanceMetrics.TEST_PUBLIC_KEY; }
+
+    @Override
+    public String getName() { return "Public-Key Crypto"; }
+
+    @Override
+    public void setup() throws GeneralSecurityException {
+        // Key generation here is untimed; RSA-4096 can take seconds on slow devices
+        rsaGenerator = KeyPairGenerator.getInstance("RSA");
+        rsaGenerator.initialize(4096);
+        rsa4096 = rsaGenerator.generateKeyPair();
+        rsaGenerator.initialize(2048);
+        rsa2048 = rsaGenerator.generateKeyPair();
+
+        ecGenerator = KeyPairGenerator.getInstance("EC");
+        ecGenerator.initialize(new ECGenParameterSpec(CURVE));
+        ecKeys = ecGenerator.generateKeyPair();
+        ecPeer = ecGenerator.generateKeyPair();
+
+        rsa2048Signer = Signature.getInstance(RSA_SIGNATURE);
+        rsa2048Signer.initSign(rsa2048.getPrivate());
+        rsa2048Verifier = Signature.getInstance(RSA_SIGNATURE);
+        rsa2048Verifier.initVerify(rsa2048.getPublic());
+        rsa4096Signer = Signature.getInstance(RSA_SIGNATURE);
+        rsa4096Signer.initSign(rsa4096.getPrivate());
+        rsa4096Verifier = Signature.getInstance(RSA_SIGNATURE);
+        rsa4096Verifier.initVerify(rsa4096.getPublic());
+        ecdsaSigner = Signature.getInstance(ECDSA_SIGNATURE);
+        ecdsaSigner.initSign(ecKeys.getPrivate());
+        ecdsaVerifier = Signature.getInstance(ECDSA_SIGNATURE);
+        ecdsaVerifier.initVerify(ecKeys.getPublic());
+
+        keyAgreement = KeyAgreement.getInstance("ECDH");
+        keyAgreement.init(ecKeys.getPrivate());
+
+        // Signatures for the verify operations
+        rsa2048Signature = sign(rsa2048Signer);
+        rsa4096Signature = sign(rsa4096Signer);
+        ecdsaSignature = sign(ecdsaSigner);
+    }
+
+    @Override
+    public void run(TestResult result) throws GeneralSecurityException {
+        Blackhole blackhole = result.getBlackhole();
+        long rsa2048Time = 0;
+        for (String operation : OPERATIONS) {
+            int maxOps = operation.equals(OP_RSA2048_SIGN) ? PerformanceMetrics.RSA_ITERATIONS : MAX_OPS;
+            boolean recordSamples = operation.equals(OP_RSA2048_SIGN);
+
+            int done = 0;
+            int output = 0;
+            long totalTime = 0;
+            while (done < maxOps && (done < MIN_OPS || totalTime < OP_TIME_BUDGET_NS)) {
+                result.checkCancelled();
+                long startTime = System.nanoTime();
+                output = runOperation(operation);
+                long elapsed = System.nanoTime() - startTime;
+                totalTime += elapsed;
+                done++;
+                if (recordSamples) {
+                    result.addSample(elapsed);
+                }
+            }
+            // Op counts depend on the time budget, so only the last output keeps the checksum stable
+            blackhole.consume(output);
+            result.putMetric(opsPerSecMetric(operation), done * 1_000_000_000.0 / Math.max(1, totalTime));
+            if (operation.equals(OP_RSA2048_SIGN) || operation.equals(OP_RSA2048_VERIFY)) {
+                rsa2048Time += totalTime;
+            }
+        }
+        result.putMetric(METRIC_RSA2048_TIME_NS, rsa2048Time);
+    }
+
+    @Override
+    public int getExpectedSampleCount() {
+        return PerformanceMetrics.RSA_ITERATIONS;
+    }
+
+    @Override
+    public int runWarmupBatch(TestResult result) throws GeneralSecurityException {
+        // Key generation is left out, it is too slow to repeat and has no steady state
+        Blackhole blackhole = result.getBlackhole();
+        blackhole.consume(runOperation(OP_RSA2048_SIGN));
+        blackhole.consume(runOperation(OP_RSA2048_VERIFY));
+        blackhole.consume(runOperation(OP_ECDSA_P256_SIGN));
+        blackhole.consume(runOperation(OP_ECDSA_P256_VERIFY));
+        blackhole.consume(runOperation(OP_ECDH_P256));
+        return 5;
+    }
+
+    @Override
+    public void teardown() {
+        rsa2048 = null;
+        rsa4096 = null;
+        ecKeys = null;
+        ecPeer = null;
+        rsaGenerator = null;
+        ecGenerator = null;
+        rsa2048Signer = null;
+        rsa2048Verifier = null;
+        rsa4096Signer = null;
+        rsa4096Verifier = null;
+        ecdsaSigner = null;
+        ecdsaVerifier = null;
+        keyAgreement = null;
+        rsa2048Signature = null;
+        rsa4096Signature = null;
+        ecdsaSignature = null;
+    }
+
+    @Override
+    public void appendDetails(TestResult result, StringBuilder out) {
+        out.append("🔑 PUBLIC-KEY CRYPTO PERFORMANCE\n");
+        for (String operation : OPERATIONS) {
+            double opsPerSec = result.getMetric(opsPerSecMetric(operation));
+            if (Double.isNaN(opsPerSec)) continue;
+            out.append(String.format(Locale.US, "%s: %.1f ops/sec\n", operation, opsPerSec));
+        }
+        out.append("RSA-2048 signature latency:\n");
+        ResultFormat.appendLatencyPercentiles(out, result);
+        out.append("\n");
+    }
+
+    /**
+     * Runs one operation and returns a value derived from its output for the blackhole.
+     * ECDSA signatures are randomised, so only deterministic properties are returned.
+     */
+    private int runOperation(String operation) throws GeneralSecurityException {
+        switch (operation) {
+            case OP_RSA2048_SIGN:
+                return sign(rsa2048Signer).length;
+            case OP_RSA2048_VERIFY:
+                return verify(rsa2048Verifier, rsa2048Signature);
+            case OP_RSA4096_SIGN:
+                return sign(rsa4096Signer).length;
+            case OP_RSA4096_VERIFY:
+                return verify(rsa4096Verifier, rsa4096Signature);
+            case OP_ECDSA_P256_SIGN:
+                return sign(ecdsaSigner).length > 0 ? 1 : 0;
+            case OP_ECDSA_P256_VERIFY:
+                return verify(ecdsaVerifier, ecdsaSignature);
+            case OP_ECDH_P256:
+                // generateSecret() resets the agreement to its initialised state
+                keyAgreement.doPhase(ecPeer.getPublic(), true);
+                return keyAgreement.generateSecret().length;
+            case OP_EC_P256_KEYGEN:
+                // Public key encodings have a fixed length per curve and modulus size
+                return ecGenerator.generateKeyPair().getPublic().getEncoded().length;
+            default:
+                return rsaGenerator.generateKeyPair().getPublic().getEncoded().length;
+        }
+    }
+
+    private byte[] sign(Signature signer) throws GeneralSecurityException {
+        // sign() resets the signer for the next message
+        signer.update(message);
+        return signer.sign();
+    }
+
+    private int verify(Signature verifier, byte[] signature) throws GeneralSecurityException {
+        verifier.update(message);
+        if (!verifier.verify(signature)) {
+            throw new GeneralSecurityException("Signature did not verify");
+        }
+        return 1;
+    }
+}
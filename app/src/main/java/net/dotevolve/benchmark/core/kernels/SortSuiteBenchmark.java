@@ -0,0 +1,260 @@
+package net.dotevolve.benchmark.core.kernels;
+
+import net.dotevolve.benchmark.core.BenchmarkTest;
+import net.dotevolve.benchmark.core.Blackhole;
+import net.dotevolve.benchmark.core.PerformanceMetrics;
+import net.dotevolve.benchmark.core.TestResult;
+
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.Random;
+
+/**
+ * Library and radix sorts over int, long and boxed keys in several input orders and sizes,
+ * reported as millions of elements sorted per second.
+ *
+ * Each sort runs on a fresh copy of the same seeded input; copies are made outside the
+ * timed region. Sizes whose working set would crowd the heap are skipped.
+ */
+public class SortSuiteBenchmark implements BenchmarkTest {
+    public static final String ALGORITHM_ARRAYS_SORT = "arrays_sort";
+    public static final String ALGORITHM_PARALLEL_SORT = "parallel_sort";
+    public static final String ALGORITHM_RADIX_SORT = "radix_sort";
+    public static final String ALGORITHM_LONG_SORT = "long_sort";
+    public static final String ALGORITHM_OBJECT_SORT = "object_sort";
+    public static final String[] ALGORITHMS = {ALGORITHM_ARRAYS_SORT, ALGORITHM_PARALLEL_SORT,
+            ALGORITHM_RADIX_SORT, ALGORITHM_LONG_SORT, ALGORITHM_OBJECT_SORT};
+
+    public static final String DISTRIBUTION_RANDOM = "random";
+    public static final String DISTRIBUTION_SORTED = "sorted";
+    public static final String DISTRIBUTION_REVERSED = "reversed";
+    public static final String DISTRIBUTION_FEW_UNIQUE = "few_unique";
+    public static final String DISTRIBUTION_SAWTOOTH = "sawtooth";
+    public static final String[] DISTRIBUTIONS = {DISTRIBUTION_RANDOM, DISTRIBUTION_SORTED,
+            DISTRIBUTION_REVERSED, DISTRIBUTION_FEW_UNIQUE, DISTRIBUTION_SAWTOOTH};
+
+    public static final String METRIC_MAX_SIZE = "max_size";
+
+    private static final long SEED = 100000;
+    private static final int FEW_UNIQUE_VALUES = 16;
+    private static final int SAWTOOTH_PERIOD = 1024;
+    // Smaller sizes repeat until at least this many elements are sorted per cell
+    private static final int MIN_ELEMENTS_PER_CELL = 1_000_000;
+    // long and boxed keys cost 2-6x the memory of int, so they stop at a smaller size
+    private static final int MAX_WIDE_KEY_SIZE = 1_000_000;
+    private static final int WARMUP_ARRAY_SIZE = 10000;
+
+    private int[] warmupSource;
+    private int[] warmupArray;
+    private int[] warmupAux;
+
+    public static String throughputMetric(String algorithm, String distribution, int size) {
+        return algorithm + "_" + distribution + "_n" + size;
+    }
+
+    @Override
+    public String getId() { return PerformanceMetrics.TEST_SORT_SUITE; }
+
+    @Override
+    public String getName() { return "Sorting Suite"; }
+
+    @Override
+    public void setup() {
+        warmupSource = new int[WARMUP_ARRAY_SIZE];
+        fill(warmupSource, DISTRIBUTION_RANDOM, new Random(SEED));
+        warmupArray = new int[WARMUP_ARRAY_SIZE];
+        warmupAux = new int[WARMUP_ARRAY_SIZE];
+    }
+
+    @Override
+    public void run(TestResult result) {
+        int maxSize = 0;
+        for (int size : PerformanceMetrics.SORT_SUITE_SIZES) {
+            boolean wideKeys = size <= MAX_WIDE_KEY_SIZE;
+            // int source, copy and radix buffer, plus long pair and boxed keys when run
+            long workingSet = 12L * size + (wideKeys ? 40L * size : 0);
+            if (!HeapBudget.fits(workingSet)) {
+                break;
+            }
+            runSize(result, size, wideKeys);
+            maxSize = size;
+        }
+        result.putMetric(METRIC_MAX_SIZE, maxSize);
+    }
+
+    private void runSize(TestResult result, int size, boolean wideKeys) {
+        Blackhole blackhole = result.getBlackhole();
+        int repetitions = Math.max(1, MIN_ELEMENTS_PER_CELL / size);
+        int[] source = new int[size];
+        int[] ints = new int[size];
+        int[] aux = new int[size];
+        long[] longSource = wideKeys ? new long[size] : null;
+        long[] longs = wideKeys ? new long[size] : null;
+        Integer[] boxedSource = wideKeys ? new Integer[size] : null;
+        Integer[] boxed = wideKeys ? new Integer[size] : null;
+
+        for (String distribution : DISTRIBUTIONS) {
+            fill(source, distribution, new Random(SEED));
+            if (wideKeys) {
+                for (int i = 0; i < size; i++) {
+                    // Shifting keeps the order and duplicates of the int input
+                    longSource[i] = (long) source[i] << 32;
+                    boxedSource[i] = source[i];
+                }
+            }
+
+            for (String algorithm : ALGORITHMS) {
+                boolean intKeys = !algorithm.equals(ALGORITHM_LONG_SORT) && !algorithm.equals(ALGORITHM_OBJECT_SORT);
+                if (!intKeys && !wideKeys) continue;
+
+                long totalTime = 0;
+                for (int r = 0; r < repetitions; r++) {
+                    result.checkCancelled();
+                    if (algorithm.equals(ALGORITHM_LONG_SORT)) {
+                        System.arraycopy(longSource, 0, longs, 0, size);
+                    } else if (algorithm.equals(ALGORITHM_OBJECT_SORT)) {
+                        System.arraycopy(boxedSource, 0, boxed, 0, size);
+                    } else {
+                        System.arraycopy(source, 0, ints, 0, size);
+                    }
+
+                    long startTime = System.nanoTime();
+                    switch (algorithm) {
+                        case ALGORITHM_ARRAYS_SORT:
+                            Arrays.sort(ints);
+                            break;
+                        case ALGORITHM_PARALLEL_SORT:
+                            Arrays.parallelSort(ints);
+                            break;
+                        case ALGORITHM_RADIX_SORT:
+                            radixSort(ints, aux);
+                            break;
+                        case ALGORITHM_LONG_SORT:
+                            Arrays.sort(longs);
+                            break;
+                        default:
+                            Arrays.sort(boxed);
+                            break;
+                    }
+                    totalTime += System.nanoTime() - startTime;
+                }
+
+                double elementsPerSec = (double) size * repetitions * 1_000_000_000.0 / Math.max(1, totalTime);
+                result.putMetric(throughputMetric(algorithm, distribution, size), elementsPerSec / 1_000_000.0);
+
+                if (algorithm.equals(ALGORITHM_LONG_SORT)) {
+                    blackhole.consume(longs[0]);
+                    blackhole.consume(longs[size - 1]);
+                } else if (algorithm.equals(ALGORITHM_OBJECT_SORT)) {
+                    blackhole.consume(boxed[0].intValue());
+                    blackhole.consume(boxed[size - 1].intValue());
+                } else {
+                    blackhole.consume(ints[0]);
+                    blackhole.consume(ints[size / 2]);
+                    blackhole.consume(ints[size - 1]);
+                }
+            }
+        }
+    }
+
+    @Override
+    public int runWarmupBatch(TestResult result) {
+        System.arraycopy(warmupSource, 0, warmupArray, 0, WARMUP_ARRAY_SIZE);
+        Arrays.sort(warmupArray);
+        result.getBlackhole().consume(warmupArray[WARMUP_ARRAY_SIZE / 2]);
+        System.arraycopy(warmupSource, 0, warmupArray, 0, WARMUP_ARRAY_SIZE);
+        radixSort(warmupArray, warmupAux);
+        result.getBlackhole().consume(warmupArray[WARMUP_ARRAY_SIZE / 2]);
+        return 2 * WARMUP_ARRAY_SIZE;
+    }
+
+    @Override
+    public void teardown() {
+        warmupSource = null;
+        warmupArray = null;
+        warmupAux = null;
+    }
+
+    @Override
+    public void appendDetails(TestResult result, StringBuilder out) {
+        out.append("🗂️ SORTING SUITE (M elements/sec)\n");
+        for (int size : PerformanceMetrics.SORT_SUITE_SIZES) {
+            StringBuilder rows = new StringBuilder();
+            for (String algorithm : ALGORITHMS) {
+                StringBuilder row = new StringBuilder();
+                for (String distribution : DISTRIBUTIONS) {
+                    double throughput = result.getMetric(throughputMetric(algorithm, distribution, size));
+                    if (Double.isNaN(throughput)) continue;
+                    row.append(row.length() == 0 ? "" : ", ")
+                       .append(distribution).append(String.format(Locale.US, " %.1f", throughput));
+                }
+                if (row.length() > 0) {
+                    rows.append("  ").append(algorithm).append(": ").append(row).append("\n");
+                }
+            }
+            if (rows.length() > 0) {
+                out.append(size).append(" elements:\n").append(rows);
+            }
+        }
+        out.append("\n");
+    }
+
+    private static void fill(int[] array, String distribution, Random random) {
+        int n = array.length;
+        for (int i = 0; i < n; i++) {
+            switch (distribution) {
+                case DISTRIBUTION_SORTED:
+                    array[i] = i;
+                    break;
+                case DISTRIBUTION_REVERSED:
+                    array[i] = n - i;
+                    break;
+                case DISTRIBUTION_FEW_UNIQUE:
+                    array[i] = random.nextInt(FEW_UNIQUE_VALUES);
+                    break;
+                case DISTRIBUTION_SAWTOOTH:
+                    array[i] = i % SAWTOOTH_PERIOD;
+                    break;
+                default:
+                    array[i] = random.nextInt();
+                    break;
+            }
+        }
+    }
+
+    /**
+     * LSD radix sort, one byte per pass. The top byte has its sign bit flipped so negative
+     * keys order first, and passes where every key shares the same byte are skipped.
+     */
+    static void radixSort(int[] array, int[] aux) {
+        int n = array.length;
+        int[] from = array;
+        int[] to = aux;
+        int[] counts = new int[257];
+
+        for (int shift = 0; shift < 32; shift += 8) {
+            int flip = shift == 24 ? 0x80 : 0;
+            Arrays.fill(counts, 0);
+            for (int i = 0; i < n; i++) {
+                counts[(((from[i] >>> shift) & 0xFF) ^ flip) + 1]++;
+            }
+            if (counts[(((from[0] >>> shift) & 0xFF) ^ flip) + 1] == n) {
+                continue;
+            }
+            for (int b = 0; b < 256; b++) {
+                counts[b + 1] += counts[b];
+            }
+            for (int i = 0; i < n; i++) {
+                int value = from[i];
+                to[counts[((value >>> shift) & 0xFF) ^ flip]++] = value;
+            }
+            int[] swap = from;
+            from = to;
+            to = swap;
+        }
+
+        if (from != array) {
+            System.arraycopy(from, 0, array, 0, n);
+        }
+    }
+}
@@ -0,0 +1,127 @@
+package net.dotevolve.benchmark.core.kernels;
+
+import net.dotevolve.benchmark.core.BenchmarkTest;
+import net.dotevolve.benchmark.core.Blackhole;
+import net.dotevolve.benchmark.core.PerformanceMetrics;
+import net.dotevolve.benchmark.core.ResultFormat;
+import net.dotevolve.benchmark.core.TestResult;
+
+import java.util.Random;
+
+/**
+ * Quicksort over a uniformly random int array
+ */
+public class SortingBenchmark implements BenchmarkTest {
+    private static final int WARMUP_ARRAY_SIZE = 10000;
+    private static final long SEED = 100000;
+
+    private int[] array;
+    private int[] warmupSource;
+    private int[] warmupArray;
+
+    @Override
+    public String getId() { return PerformanceMetrics.TEST_SORT; }
+
+    @Override
+    public String getName() { return "Sorting"; }
+
+    @Override
+    public void setup() {
+        // Fixed seed keeps inputs, and so result checksums, identical across runs
+        Random random = new Random(SEED);
+        int size = PerformanceMetrics.SORT_ARRAY_SIZE;
+        array = new int[size];
+
+        // Initialize array with random values
+        for (int i = 0; i < size; i++) {
+            array[i] = random.nextInt();
+        }
+
+        warmupSource = new int[WARMUP_ARRAY_SIZE];
+        warmupArray = new int[WARMUP_ARRAY_SIZE];
+        for (int i = 0; i < WARMUP_ARRAY_SIZE; i++) {
+            warmupSource[i] = random.nextInt();
+        }
+    }
+
+    @Override
+    public void run(TestResult result) {
+        // Perform quicksort
+        long startTime = System.nanoTime();
+        quickSort(array, 0, array.length - 1);
+        long endTime = System.nanoTime();
+
+        result.addSample(endTime - startTime);
+        consumeSorted(result.getBlackhole(), array);
+    }
+
+    @Override
+    public int getExpectedSampleCount() {
+        return 1;
+    }
+
+    @Override
+    public int runWarmupBatch(TestResult result) {
+        // Sort a fresh copy of a smaller random array each batch
+        System.arraycopy(warmupSource, 0, warmupArray, 0, WARMUP_ARRAY_SIZE);
+        quickSort(warmupArray, 0, WARMUP_ARRAY_SIZE - 1);
+        consumeSorted(result.getBlackhole(), warmupArray);
+        return WARMUP_ARRAY_SIZE;
+    }
+
+    private void consumeSorted(Blackhole blackhole, int[] sorted) {
+        blackhole.consume(sorted[0]);
+        blackhole.consume(sorted[sorted.length / 2]);
+        blackhole.consume(sorted[sorted.length - 1]);
+    }
+
+    @Override
+    public void teardown() {
+        array = null;
+        warmupSource = null;
+        warmupArray = null;
+    }
+
+    @Override
+    public void appendSummary(TestResult result, StringBuilder out) {
+        out.append("Sorting (").append(PerformanceMetrics.SORT_ARRAY_SIZE).append(" elements):\n");
+        out.append("  Total Time: ").append(ResultFormat.formatNanoTime(result.getTotalTime())).append("\n\n");
+    }
+
+    @Override
+    public void appendDetails(TestResult result, StringBuilder out) {
+        int size = PerformanceMetrics.SORT_ARRAY_SIZE;
+        out.append("📊 SORTING PERFORMANCE\n");
+        out.append("Array Size: ").append(size).append(" elements\n");
+        out.append("Total Time: ").append(ResultFormat.formatNanoTime(result.getTotalTime())).append("\n");
+        out.append("Time per Element: ").append(ResultFormat.formatNanoTime(result.getTotalTime() / size)).append("\n\n");
+    }
+
+    private void quickSort(int[] arr, int low, int high) {
+        if (low < high) {
+            int pi = partition(arr, low, high);
+            quickSort(arr, low, pi - 1);
+            quickSort(arr, pi + 1, high);
+        }
+    }
+
+    private int partition(int[] arr, int low, int high) {
+        int pivot = arr[high];
+        int i = (low - 1);
+
+        for (int j = low; j < high; j++) {
+            if (arr[j] < pivot) {
+                i++;
+                int temp = arr[i];
+                arr[i] = arr[j];
+                arr[j] = temp;
+            }
+        }
+
+        int temp = arr[i + 1];
+        arr[i + 1] = arr[high];
+        arr[high] = temp;
+
+        return i + 1;
+    }
+}
@@ -0,0 +1,297 @@
+package net.dotevolve.benchmark.core.kernels;
+
+import android.content.ContentValues;
+import android.database.Cursor;
+import android.database.sqlite.SQLiteDatabase;
+import android.database.sqlite.SQLiteStatement;
+import android.util.Log;
+
+import net.dotevolve.benchmark.core.BenchmarkTest;
+import net.dotevolve.benchmark.core.Blackhole;
+import net.dotevolve.benchmark.core.PerformanceMetrics;
+import net.dotevolve.benchmark.core.TestResult;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Locale;
+import java.util.Random;
+
+/**
+ * SQLite throughput in rows/sec on a scratch database, through the same framework
+ * {@link SQLiteDatabase} stack the app stores its results with. Under both WAL and the
+ * rollback journal it measures:
+ * <ul>
+ *   <li>single-row inserts, each its own transaction and so its own sync</li>
+ *   <li>batched inserts in one transaction through a reused {@link SQLiteStatement}</li>
+ *   <li>the same batch through {@link SQLiteDatabase#insert} and {@link ContentValues}</li>
+ *   <li>point lookups on an indexed column and range scans over it</li>
+ * </ul>
+ * The database and its journal files are deleted before each journal mode and in teardown.
+ */
+public class SqliteBenchmark implements BenchmarkTest {
+    private static final String TAG = "SqliteBenchmark";
+
+    public static final String JOURNAL_WAL = "wal";
+    public static final String JOURNAL_ROLLBACK = "rollback";
+    public static final String[] JOURNAL_MODES = {JOURNAL_WAL, JOURNAL_ROLLBACK};
+
+    public static final String WORKLOAD_INSERT_SINGLE = "insert_single";
+    public static final String WORKLOAD_INSERT_BATCHED_STATEMENT = "insert_batched_statement";
+    public static final String WORKLOAD_INSERT_BATCHED_CONTENT_VALUES = "insert_batched_content_values";
+    public static final String WORKLOAD_POINT_LOOKUP = "point_lookup";
+    public static final String WORKLOAD_RANGE_SCAN = "range_scan";
+    public static final String[] WORKLOADS = {WORKLOAD_INSERT_SINGLE, WORKLOAD_INSERT_BATCHED_STATEMENT,
+            WORKLOAD_INSERT_BATCHED_CONTENT_VALUES, WORKLOAD_POINT_LOOKUP, WORKLOAD_RANGE_SCAN};
+
+    private static final String DATABASE_NAME = "sqlite_benchmark.db";
+    private static final String TABLE = "rows";
+    private static final String COLUMN_ID = "id";
+    private static final String COLUMN_KEY = "row_key";
+    private static final String COLUMN_NAME = "name";
+    private static final String COLUMN_VALUE = "value";
+    private static final String INSERT_SQL = "INSERT INTO " + TABLE + " (" + COLUMN_KEY + ", " +
+            COLUMN_NAME + ", " + COLUMN_VALUE + ") VALUES (?, ?, ?)";
+
+    private static final long SEED = 3;
+    private static final int BATCH_ROWS = 50_000;
+    // Prime, so key = i * KEY_STRIDE % BATCH_ROWS visits every key once in scattered order
+    private static final int KEY_STRIDE = 7919;
+    // Single-row inserts stop at MAX_SINGLE_INSERTS or once the budget is spent, but not
+    // before MIN_SINGLE_INSERTS
+    private static final int MIN_SINGLE_INSERTS = 20;
+    private static final int MAX_SINGLE_INSERTS = 500;
+    private static final long SINGLE_INSERT_TIME_BUDGET_NS = 3_000_000_000L;
+    private static final int POINT_LOOKUPS = 20_000;
+    private static final int RANGE_SCANS = 200;
+    private static final int RANGE_ROWS = 1000;
+    // Rows between cancellation checks
+    private static final int CHUNK_ROWS = 1000;
+
+    private final File directory;
+
+    private File databaseFile;
+
+    public SqliteBenchmark(File directory) {
+        this.directory = directory;
+    }
+
+    public static String rowsPerSecMetric(String workload, String journalMode) {
+        return "rows_per_sec_" + workload + "_" + journalMode;
+    }
+
+    @Override
+    public String getId() { return PerformanceMetrics.TEST_SQLITE; }
+
+    @Override
+    public String getName() { return "SQLite"; }
+
+    @Override
+    public void setup() throws IOException {
+        if (!directory.isDirectory() && !directory.mkdirs()) {
+            throw new IOException("Cannot create " + directory);
+        }
+        databaseFile = new File(directory, DATABASE_NAME);
+        SQLiteDatabase.deleteDatabase(databaseFile);
+    }
+
+    @Override
+    public void run(TestResult result) {
+        Blackhole blackhole = result.getBlackhole();
+        for (String journalMode : JOURNAL_MODES) {
+            // A fresh file per mode, so neither inherits the other's pages or journal
+            SQLiteDatabase.deleteDatabase(databaseFile);
+            SQLiteDatabase db = SQLiteDatabase.openOrCreateDatabase(databaseFile, null);
+            try {
+                if (journalMode.equals(JOURNAL_WAL)) {
+                    if (!db.enableWriteAheadLogging()) {
+                        Log.w(TAG, "WAL not enabled, the wal figures use the rollback journal");
+                    }
+                } else {
+                    db.disableWriteAheadLogging();
+                }
+                createTable(db);
+                runJournalMode(result, db, journalMode, blackhole);
+            } finally {
+                db.close();
+            }
+        }
+    }
+
+    @Override
+    public void teardown() {
+        if (databaseFile != null) {
+            SQLiteDatabase.deleteDatabase(databaseFile);
+            databaseFile = null;
+        }
+    }
+
+    @Override
+    public void appendSummary(TestResult result, StringBuilder out) {
+        out.append("SQLite (WAL):\n");
+        out.append(String.format(Locale.US, "  Inserts: %.0f rows/sec single, %.0f rows/sec batched\n\n",
+                result.getMetric(rowsPerSecMetric(WORKLOAD_INSERT_SINGLE, JOURNAL_WAL)),
+                result.getMetric(rowsPerSecMetric(WORKLOAD_INSERT_BATCHED_STATEMENT, JOURNAL_WAL))));
+    }
+
+    @Override
+    public void appendDetails(TestResult result, StringBuilder out) {
+        out.append("🗄️ SQLITE (rows/sec)\n");
+        for (String workload : WORKLOADS) {
+            StringBuilder row = new StringBuilder();
+            for (String journalMode : JOURNAL_MODES) {
+                double rowsPerSec = result.getMetric(rowsPerSecMetric(workload, journalMode));
+                if (Double.isNaN(rowsPerSec)) continue;
+                row.append(row.length() == 0 ? "" : ", ")
+                   .append(journalMode).append(String.format(Locale.US, " %.0f", rowsPerSec));
+            }
+            if (row.length() > 0) {
+                out.append(workload).append(": ").append(row).append("\n");
+            }
+        }
+        out.append("\n");
+    }
+
+    private void runJournalMode(TestResult result, SQLiteDatabase db, String journalMode, Blackhole blackhole) {
+        Random random = new Random(SEED);
+
+        // Each insert commits on its own, so this is bounded by the sync path
+        SQLiteStatement insert = db.compileStatement(INSERT_SQL);
+        try {
+            int done = 0;
+            long totalTime = 0;
+            while (done < MAX_SINGLE_INSERTS && (done < MIN_SINGLE_INSERTS || totalTime < SINGLE_INSERT_TIME_BUDGET_NS)) {
+                result.checkCancelled();
+                long startTime = System.nanoTime();
+                bindRow(insert, done);
+                blackhole.consume(insert.executeInsert());
+                totalTime += System.nanoTime() - startTime;
+                done++;
+            }
+            putRowsPerSec(result, WORKLOAD_INSERT_SINGLE, journalMode, done, totalTime);
+            clearTable(db);
+
+            long statementTime = insertBatch(result, db, insert, null);
+            putRowsPerSec(result, WORKLOAD_INSERT_BATCHED_STATEMENT, journalMode, BATCH_ROWS, statementTime);
+            clearTable(db);
+        } finally {
+            insert.close();
+        }
+
+        // Left in place for the reads below
+        long contentValuesTime = insertBatch(result, db, null, new ContentValues());
+        putRowsPerSec(result, WORKLOAD_INSERT_BATCHED_CONTENT_VALUES, journalMode, BATCH_ROWS, contentValuesTime);
+
+        SQLiteStatement lookup = db.compileStatement("SELECT " + COLUMN_ID + " FROM " + TABLE +
+                " WHERE " + COLUMN_KEY + " = ?");
+        try {
+            long sum = 0;
+            long totalTime = 0;
+            for (int done = 0; done < POINT_LOOKUPS; done += CHUNK_ROWS) {
+                result.checkCancelled();
+                long startTime = System.nanoTime();
+                for (int i = 0; i < CHUNK_ROWS; i++) {
+                    lookup.bindLong(1, random.nextInt(BATCH_ROWS));
+                    sum += lookup.simpleQueryForLong();
+                }
+                totalTime += System.nanoTime() - startTime;
+            }
+            blackhole.consume(sum);
+            putRowsPerSec(result, WORKLOAD_POINT_LOOKUP, journalMode, POINT_LOOKUPS, totalTime);
+        } finally {
+            lookup.close();
+        }
+
+        String scanSql = "SELECT " + COLUMN_ID + ", " + COLUMN_KEY + ", " + COLUMN_NAME + ", " + COLUMN_VALUE +
+                " FROM " + TABLE + " WHERE " + COLUMN_KEY + " BETWEEN ? AND ?";
+        long rows = 0;
+        long totalTime = 0;
+        for (int scan = 0; scan < RANGE_SCANS; scan++) {
+            result.checkCancelled();
+            int from = random.nextInt(BATCH_ROWS - RANGE_ROWS);
+            String[] args = {String.valueOf(from), String.valueOf(from + RANGE_ROWS - 1)};
+            long startTime = System.nanoTime();
+            Cursor cursor = db.rawQuery(scanSql, args);
+            try {
+                long sum = 0;
+                while (cursor.moveToNext()) {
+                    sum += cursor.getLong(0) + cursor.getLong(1) + cursor.getString(2).length()
+                            + (long) cursor.getDouble(3);
+                    rows++;
+                }
+                blackhole.consume(sum);
+            } finally {
+                cursor.close();
+            }
+            totalTime += System.nanoTime() - startTime;
+        }
+        putRowsPerSec(result, WORKLOAD_RANGE_SCAN, journalMode, rows, totalTime);
+    }
+
+    /**
+     * Inserts {@link #BATCH_ROWS} rows in one transaction, through {@code statement} if
+     * given and otherwise through {@code values}, and returns the time including the commit
+     */
+    private long insertBatch(TestResult result, SQLiteDatabase db, SQLiteStatement statement, ContentValues values) {
+        long totalTime = 0;
+        long startTime = System.nanoTime();
+        db.beginTransaction();
+        try {
+            for (int done = 0; done < BATCH_ROWS; done += CHUNK_ROWS) {
+                totalTime += System.nanoTime() - startTime;
+                result.checkCancelled();
+                startTime = System.nanoTime();
+                for (int i = done; i < done + CHUNK_ROWS; i++) {
+                    if (statement != null) {
+                        bindRow(statement, i);
+                        statement.executeInsert();
+                    } else {
+                        values.clear();
+                        values.put(COLUMN_KEY, key(i));
+                        values.put(COLUMN_NAME, name(i));
+                        values.put(COLUMN_VALUE, value(i));
+                        db.insert(TABLE, null, values);
+                    }
+                }
+            }
+            db.setTransactionSuccessful();
+        } finally {
+            db.endTransaction();
+        }
+        return totalTime + System.nanoTime() - startTime;
+    }
+
+    private static void createTable(SQLiteDatabase db) {
+        db.execSQL("CREATE TABLE " + TABLE + " (" +
+                COLUMN_ID + " INTEGER PRIMARY KEY AUTOINCREMENT, " +
+                COLUMN_KEY + " INTEGER NOT NULL, " +
+                COLUMN_NAME + " TEXT NOT NULL, " +
+                COLUMN_VALUE + " REAL NOT NULL)");
+        db.execSQL("CREATE INDEX idx_" + TABLE + "_" + COLUMN_KEY + " ON " + TABLE + " (" + COLUMN_KEY + ")");
+    }
+
+    private static void clearTable(SQLiteDatabase db) {
+        db.execSQL("DELETE FROM " + TABLE);
+    }
+
+    private static void bindRow(SQLiteStatement statement, int i) {
+        statement.bindLong(1, key(i));
+        statement.bindString(2, name(i));
+        statement.bindDouble(3, value(i));
+    }
+
+    private static int key(int i) {
+        return (int) ((long) i * KEY_STRIDE % BATCH_ROWS);
+    }
+
+    private static String name(int i) {
+        return "row-" + i;
+    }
+
+    private static double value(int i) {
+        return i * 0.5;
+    }
+
+    private static void putRowsPerSec(TestResult result, String workload, String journalMode, long rows, long time) {
+        result.putMetric(rowsPerSecMetric(workload, journalMode), rows * 1_000_000_000.0 / Math.max(1, time));
+    }
+}
@@ -0,0 +1,317 @@
+package net.dotevolve.benchmark.core.kernels;
+
+import android.util.Log;
+
+import net.dotevolve.benchmark.core.BenchmarkTest;
+import net.dotevolve.benchmark.core.Blackhole;
+import net.dotevolve.benchmark.core.PerformanceMetrics;
+import net.dotevolve.benchmark.core.ResultFormat;
+import net.dotevolve.benchmark.core.TestResult;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.Random;
+
+/**
+ * Storage throughput in app-private storage: sequential write and read through a
+ * {@link FileChannel} with direct buffers, random 4 KB reads and writes, reads through a
+ * {@link MappedByteBuffer}, and the latency of {@code fsync}.
+ *
+ * Writes are timed up to and including {@link FileChannel#force(boolean)}, so they
+ * measure the device rather than the page cache. Apps cannot drop the page cache, so reads
+ * of the just-written file are largely served from RAM. The scratch file is deleted in
+ * teardown, and any leftover from an interrupted run is deleted in setup.
+ */
+public class StorageBenchmark implements BenchmarkTest {
+    private static final String TAG = "StorageBenchmark";
+
+    public static final String PHASE_SEQUENTIAL_WRITE = "sequential_write";
+    public static final String PHASE_SEQUENTIAL_READ = "sequential_read";
+    public static final String PHASE_RANDOM_WRITE = "random_write";
+    public static final String PHASE_RANDOM_READ = "random_read";
+    public static final String PHASE_MMAP_READ = "mmap_read";
+    public static final String[] PHASES = {PHASE_SEQUENTIAL_WRITE, PHASE_SEQUENTIAL_READ,
+            PHASE_RANDOM_WRITE, PHASE_RANDOM_READ, PHASE_MMAP_READ};
+
+    public static final String METRIC_FILE_SIZE_MB = "file_size_mb";
+    public static final String METRIC_FSYNC_P50_NS = "fsync_p50_ns";
+    public static final String METRIC_FSYNC_P99_NS = "fsync_p99_ns";
+    public static final String METRIC_FSYNC_MAX_NS = "fsync_max_ns";
+
+    private static final String FILE_NAME = "storage_benchmark.tmp";
+    private static final long SEED = 4096;
+    private static final int FILE_SIZE = 64 * 1024 * 1024;
+    private static final int MIN_FILE_SIZE = 8 * 1024 * 1024;
+    // Free space needed per byte of scratch file, so the test never fills the disk
+    private static final int FREE_SPACE_FACTOR = 4;
+    private static final int SEQUENTIAL_BLOCK = 1024 * 1024;
+    private static final int RANDOM_BLOCK = 4096;
+    private static final int RANDOM_OPS = 2048;
+    // Random operations between cancellation checks
+    private static final int CHUNK_OPS = 256;
+    // fsync stops at MAX_FSYNC_OPS or once the budget is spent, but not before MIN_FSYNC_OPS
+    private static final int MIN_FSYNC_OPS = 10;
+    private static final int MAX_FSYNC_OPS = 200;
+    private static final long FSYNC_TIME_BUDGET_NS = 2_000_000_000L;
+
+    private final File directory;
+
+    private File file;
+    private int fileSize;
+    private ByteBuffer sequentialBuffer;
+    private ByteBuffer randomBuffer;
+    private byte[] mappedChunk;
+
+    public StorageBenchmark(File directory) {
+        this.directory = directory;
+    }
+
+    public static String throughputMetric(String phase) {
+        return "mbps_" + phase;
+    }
+
+    public static String iopsMetric(String phase) {
+        return "iops_" + phase;
+    }
+
+    @Override
+    public String getId() { return PerformanceMetrics.TEST_STORAGE; }
+
+    @Override
+    public String getName() { return "Storage I/O"; }
+
+    @Override
+    public void setup() throws IOException {
+        if (!directory.isDirectory() && !directory.mkdirs()) {
+            throw new IOException("Cannot create " + directory);
+        }
+        file = new File(directory, FILE_NAME);
+        deleteFile();
+
+        long usable = directory.getUsableSpace();
+        fileSize = FILE_SIZE;
+        while (fileSize > MIN_FILE_SIZE && (long) fileSize * FREE_SPACE_FACTOR > usable) {
+            fileSize /= 2;
+        }
+        if ((long) fileSize * FREE_SPACE_FACTOR > usable) {
+            throw new IOException("Not enough free space: " + usable + " bytes");
+        }
+
+        // Random content, so compressing file systems store every byte
+        Random random = new Random(SEED);
+        byte[] content = new byte[SEQUENTIAL_BLOCK];
+        random.nextBytes(content);
+        sequentialBuffer = ByteBuffer.allocateDirect(SEQUENTIAL_BLOCK);
+        sequentialBuffer.put(content).flip();
+        randomBuffer = ByteBuffer.allocateDirect(RANDOM_BLOCK);
+        randomBuffer.put(content, 0, RANDOM_BLOCK).flip();
+        mappedChunk = new byte[SEQUENTIAL_BLOCK];
+    }
+
+    @Override
+    public void run(TestResult result) throws IOException {
+        Blackhole blackhole = result.getBlackhole();
+        result.putMetric(METRIC_FILE_SIZE_MB, fileSize / (1024.0 * 1024));
+
+        try (RandomAccessFile raf = new RandomAccessFile(file, "rw")) {
+            FileChannel channel = raf.getChannel();
+            double megabytes = fileSize / (1024.0 * 1024);
+            putThroughput(result, PHASE_SEQUENTIAL_WRITE, megabytes, sequentialWrite(result, channel));
+            putThroughput(result, PHASE_SEQUENTIAL_READ, megabytes, sequentialRead(result, channel, blackhole));
+
+            double randomMegabytes = (double) RANDOM_OPS * RANDOM_BLOCK / (1024 * 1024);
+            long randomWriteTime = randomAccess(result, channel, true, blackhole);
+            putThroughput(result, PHASE_RANDOM_WRITE, randomMegabytes, randomWriteTime);
+            result.putMetric(iopsMetric(PHASE_RANDOM_WRITE), RANDOM_OPS * 1_000_000_000.0 / Math.max(1, randomWriteTime));
+            long randomReadTime = randomAccess(result, channel, false, blackhole);
+            putThroughput(result, PHASE_RANDOM_READ, randomMegabytes, randomReadTime);
+            result.putMetric(iopsMetric(PHASE_RANDOM_READ), RANDOM_OPS * 1_000_000_000.0 / Math.max(1, randomReadTime));
+
+            putThroughput(result, PHASE_MMAP_READ, megabytes, mappedRead(result, channel, blackhole));
+
+            fsyncLatency(result, raf, channel);
+        }
+    }
+
+    @Override
+    public int getExpectedSampleCount() {
+        return MAX_FSYNC_OPS;
+    }
+
+    @Override
+    public void teardown() {
+        if (file != null) {
+            deleteFile();
+            file = null;
+        }
+        sequentialBuffer = null;
+        randomBuffer = null;
+        mappedChunk = null;
+    }
+
+    @Override
+    public void appendSummary(TestResult result, StringBuilder out) {
+        out.append("Storage I/O:\n");
+        out.append(String.format(Locale.US, "  Sequential: write %.0f MB/s, read %.0f MB/s\n",
+                result.getMetric(throughputMetric(PHASE_SEQUENTIAL_WRITE)),
+                result.getMetric(throughputMetric(PHASE_SEQUENTIAL_READ))));
+        out.append("  fsync p99: ")
+           .append(ResultFormat.formatNanoTime((long) result.getMetric(METRIC_FSYNC_P99_NS)))
+           .append("\n\n");
+    }
+
+    @Override
+    public void appendDetails(TestResult result, StringBuilder out) {
+        out.append("💾 STORAGE I/O\n");
+        out.append(String.format(Locale.US, "Scratch File: %.0f MB\n", result.getMetric(METRIC_FILE_SIZE_MB)));
+        for (String phase : PHASES) {
+            double mbps = result.getMetric(throughputMetric(phase));
+            if (Double.isNaN(mbps)) continue;
+            out.append(String.format(Locale.US, "%s: %.1f MB/s", phase, mbps));
+            double iops = result.getMetric(iopsMetric(phase));
+            if (!Double.isNaN(iops)) {
+                out.append(String.format(Locale.US, ", %.0f IOPS", iops));
+            }
+            out.append("\n");
+        }
+        out.append("fsync p50: ").append(ResultFormat.formatNanoTime((long) result.getMetric(METRIC_FSYNC_P50_NS)))
+           .append(", p99: ").append(ResultFormat.formatNanoTime((long) result.getMetric(METRIC_FSYNC_P99_NS)))
+           .append(", max: ").append(ResultFormat.formatNanoTime((long) result.getMetric(METRIC_FSYNC_MAX_NS)))
+           .append("\n\n");
+    }
+
+    private long sequentialWrite(TestResult result, FileChannel channel) throws IOException {
+        long totalTime = 0;
+        for (long position = 0; position < fileSize; position += SEQUENTIAL_BLOCK) {
+            result.checkCancelled();
+            sequentialBuffer.rewind();
+            long startTime = System.nanoTime();
+            while (sequentialBuffer.hasRemaining()) {
+                channel.write(sequentialBuffer, position + sequentialBuffer.position());
+            }
+            totalTime += System.nanoTime() - startTime;
+        }
+        long startTime = System.nanoTime();
+        channel.force(false);
+        return totalTime + System.nanoTime() - startTime;
+    }
+
+    private long sequentialRead(TestResult result, FileChannel channel, Blackhole blackhole) throws IOException {
+        long totalTime = 0;
+        for (long position = 0; position < fileSize; position += SEQUENTIAL_BLOCK) {
+            result.checkCancelled();
+            sequentialBuffer.clear();
+            long startTime = System.nanoTime();
+            readFully(channel, sequentialBuffer, position);
+            totalTime += System.nanoTime() - startTime;
+        }
+        blackhole.consume(sequentialBuffer.get(SEQUENTIAL_BLOCK - 1));
+        return totalTime;
+    }
+
+    /**
+     * 4 KB operations at seeded, block-aligned offsets. Writes are forced to the device
+     * inside the timed region.
+     */
+    private long randomAccess(TestResult result, FileChannel channel, boolean write, Blackhole blackhole) throws IOException {
+        Random random = new Random(SEED + (write ? 1 : 2));
+        int blocks = fileSize / RANDOM_BLOCK;
+        long totalTime = 0;
+        for (int done = 0; done < RANDOM_OPS; done += CHUNK_OPS) {
+            result.checkCancelled();
+            long startTime = System.nanoTime();
+            for (int op = 0; op < CHUNK_OPS; op++) {
+                long position = (long) random.nextInt(blocks) * RANDOM_BLOCK;
+                if (write) {
+                    randomBuffer.rewind();
+                    while (randomBuffer.hasRemaining()) {
+                        channel.write(randomBuffer, position + randomBuffer.position());
+                    }
+                } else {
+                    randomBuffer.clear();
+                    readFully(channel, randomBuffer, position);
+                }
+            }
+            totalTime += System.nanoTime() - startTime;
+        }
+        if (write) {
+            long startTime = System.nanoTime();
+            channel.force(false);
+            totalTime += System.nanoTime() - startTime;
+        }
+        blackhole.consume(randomBuffer.get(0));
+        return totalTime;
+    }
+
+    private long mappedRead(TestResult result, FileChannel channel, Blackhole blackhole) throws IOException {
+        // Mapping is part of the cost of reading this way
+        long startTime = System.nanoTime();
+        MappedByteBuffer mapped = channel.map(FileChannel.MapMode.READ_ONLY, 0, fileSize);
+        long totalTime = System.nanoTime() - startTime;
+        for (int position = 0; position < fileSize; position += SEQUENTIAL_BLOCK) {
+            result.checkCancelled();
+            startTime = System.nanoTime();
+            mapped.get(mappedChunk, 0, SEQUENTIAL_BLOCK);
+            totalTime += System.nanoTime() - startTime;
+        }
+        blackhole.consume(mappedChunk[SEQUENTIAL_BLOCK - 1]);
+        return totalTime;
+    }
+
+    /**
+     * Rewrites one block and syncs it, recording each sync as a latency sample
+     */
+    private void fsyncLatency(TestResult result, RandomAccessFile raf, FileChannel channel) throws IOException {
+        long[] latencies = new long[MAX_FSYNC_OPS];
+        int done = 0;
+        long totalTime = 0;
+        while (done < MAX_FSYNC_OPS && (done < MIN_FSYNC_OPS || totalTime < FSYNC_TIME_BUDGET_NS)) {
+            result.checkCancelled();
+            randomBuffer.rewind();
+            long position = (long) (done % (fileSize / RANDOM_BLOCK)) * RANDOM_BLOCK;
+            while (randomBuffer.hasRemaining()) {
+                channel.write(randomBuffer, position + randomBuffer.position());
+            }
+            long startTime = System.nanoTime();
+            raf.getFD().sync();
+            long elapsed = System.nanoTime() - startTime;
+            totalTime += elapsed;
+            latencies[done++] = elapsed;
+            result.addSample(elapsed);
+        }
+
+        Arrays.sort(latencies, 0, done);
+        result.putMetric(METRIC_FSYNC_P50_NS, latencies[percentileIndex(done, 0.50)]);
+        result.putMetric(METRIC_FSYNC_P99_NS, latencies[percentileIndex(done, 0.99)]);
+        result.putMetric(METRIC_FSYNC_MAX_NS, latencies[done - 1]);
+    }
+
+    private static int percentileIndex(int count, double fraction) {
+        return Math.max(0, Math.min(count - 1, (int) Math.ceil(fraction * count) - 1));
+    }
+
+    private static void putThroughput(TestResult result, String phase, double megabytes, long time) {
+        result.putMetric(throughputMetric(phase), megabytes * 1_000_000_000.0 / Math.max(1, time));
+    }
+
+    private static void readFully(FileChannel channel, ByteBuffer buffer, long position) throws IOException {
+        while (buffer.hasRemaining()) {
+            int read = channel.read(buffer, position + buffer.position());
+            if (read < 0) {
+                throw new IOException("Unexpected end of file at " + (position + buffer.position()));
+            }
+        }
+    }
+
+    private void deleteFile() {
+        if (file.exists() && !file.delete()) {
+            Log.w(TAG, "Could not delete " + file);
+        }
+    }
+}
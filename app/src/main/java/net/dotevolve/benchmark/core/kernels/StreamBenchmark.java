@@ -0,0 +1,219 @@
+package net.dotevolve.benchmark.core.kernels;
+
+import net.dotevolve.benchmark.core.BenchmarkTest;
+import net.dotevolve.benchmark.core.Blackhole;
+import net.dotevolve.benchmark.core.PerformanceMetrics;
+import net.dotevolve.benchmark.core.ResultFormat;
+import net.dotevolve.benchmark.core.TestResult;
+import net.dotevolve.benchmark.core.TimerCalibration;
+
+import java.util.Arrays;
+import java.util.Locale;
+
+/**
+ * STREAM copy, scale, add and triad kernels on {@code double[]} over working sets from
+ * L1-sized to DRAM-sized, so the bandwidth curve shows each level of the memory hierarchy.
+ *
+ * Bytes are counted as in STREAM: each element read or written once per pass. Every
+ * kernel repeats on its own before the next one starts, so repeated passes rewrite the
+ * same values, and the arrays are reset per working set to keep the checksum reproducible.
+ * Passes are timed in chunks sized by {@link TimerCalibration}, so a pass over an L1-sized
+ * set is not dwarfed by the cost of reading the clock.
+ */
+public class StreamBenchmark implements BenchmarkTest {
+    public static final String KERNEL_COPY = "copy";
+    public static final String KERNEL_SCALE = "scale";
+    public static final String KERNEL_ADD = "add";
+    public static final String KERNEL_TRIAD = "triad";
+    public static final String[] KERNELS = {KERNEL_COPY, KERNEL_SCALE, KERNEL_ADD, KERNEL_TRIAD};
+
+    public static final String METRIC_PEAK_GBPS = "peak_gbps";
+    public static final String METRIC_DRAM_TRIAD_GBPS = "dram_triad_gbps";
+    public static final String METRIC_MAX_WORKING_SET_KB = "max_working_set_kb";
+
+    private static final double SCALAR = 3.0;
+    // Each kernel moves at least this many bytes per working set, so small sets repeat
+    private static final long MIN_BYTES_PER_KERNEL = 512L * 1024 * 1024;
+    private static final int WARMUP_ELEMENTS = 1024 * 1024 / 24;
+
+    private double[] a;
+    private double[] b;
+    private double[] c;
+
+    public static String bandwidthMetric(String kernel, int workingSetKb) {
+        return kernel + "_gbps_kb" + workingSetKb;
+    }
+
+    @Override
+    public String getId() { return PerformanceMetrics.TEST_STREAM; }
+
+    @Override
+    public String getName() { return "Memory Bandwidth Sweep"; }
+
+    @Override
+    public void setup() {
+        // Three arrays sized for the largest working set the heap can spare
+        int elements = 0;
+        for (int workingSetKb : PerformanceMetrics.STREAM_WORKING_SET_KB) {
+            long bytes = workingSetKb * 1024L;
+            if (!HeapBudget.fits(bytes)) {
+                break;
+            }
+            elements = elements(workingSetKb);
+        }
+        elements = Math.max(elements, WARMUP_ELEMENTS);
+
+        a = new double[elements];
+        b = new double[elements];
+        c = new double[elements];
+    }
+
+    @Override
+    public void run(TestResult result) {
+        Blackhole blackhole = result.getBlackhole();
+        double peak = 0;
+        double dramTriad = 0;
+        int maxWorkingSetKb = 0;
+
+        for (int workingSetKb : PerformanceMetrics.STREAM_WORKING_SET_KB) {
+            int n = elements(workingSetKb);
+            if (n > a.length) {
+                break;
+            }
+            reset(n);
+            for (String kernel : KERNELS) {
+                long bytesPerPass = bytesPerPass(kernel, n);
+                int repetitions = (int) Math.max(1, MIN_BYTES_PER_KERNEL / bytesPerPass);
+
+                // The first pass on its own gives the pass time the chunk size is chosen from
+                result.checkCancelled();
+                long startTime = System.nanoTime();
+                runKernel(kernel, n);
+                long totalTime = Math.max(0, System.nanoTime() - startTime - result.getTimerOverhead());
+                int chunk = passesPerChunk(result.getTimerCalibration(), totalTime, repetitions);
+
+                for (int done = 1; done < repetitions; done += chunk) {
+                    result.checkCancelled();
+                    int passes = Math.min(chunk, repetitions - done);
+                    startTime = System.nanoTime();
+                    for (int r = 0; r < passes; r++) {
+                        runKernel(kernel, n);
+                    }
+                    totalTime += Math.max(0, System.nanoTime() - startTime - result.getTimerOverhead());
+                }
+
+                double gbps = (double) bytesPerPass * repetitions / Math.max(1, totalTime);
+                result.putMetric(bandwidthMetric(kernel, workingSetKb), gbps);
+                peak = Math.max(peak, gbps);
+                if (kernel.equals(KERNEL_TRIAD)) {
+                    // Ends as the largest working set, the one furthest past the last-level cache
+                    dramTriad = gbps;
+                }
+            }
+            blackhole.consume(a[n - 1]);
+            blackhole.consume(b[n - 1]);
+            blackhole.consume(c[n - 1]);
+            maxWorkingSetKb = workingSetKb;
+        }
+
+        result.putMetric(METRIC_PEAK_GBPS, peak);
+        result.putMetric(METRIC_DRAM_TRIAD_GBPS, dramTriad);
+        result.putMetric(METRIC_MAX_WORKING_SET_KB, maxWorkingSetKb);
+    }
+
+    @Override
+    public int runWarmupBatch(TestResult result) {
+        reset(WARMUP_ELEMENTS);
+        for (String kernel : KERNELS) {
+            runKernel(kernel, WARMUP_ELEMENTS);
+        }
+        result.getBlackhole().consume(a[WARMUP_ELEMENTS - 1]);
+        return KERNELS.length * WARMUP_ELEMENTS;
+    }
+
+    @Override
+    public void teardown() {
+        a = null;
+        b = null;
+        c = null;
+    }
+
+    @Override
+    public void appendSummary(TestResult result, StringBuilder out) {
+        out.append("Memory Bandwidth Sweep (STREAM):\n");
+        out.append(String.format(Locale.US, "  Peak: %.2f GB/s\n", result.getMetric(METRIC_PEAK_GBPS)));
+        out.append(String.format(Locale.US, "  Triad at %s: %.2f GB/s\n\n",
+                ResultFormat.formatBytes((long) result.getMetric(METRIC_MAX_WORKING_SET_KB) * 1024),
+                result.getMetric(METRIC_DRAM_TRIAD_GBPS)));
+    }
+
+    @Override
+    public void appendDetails(TestResult result, StringBuilder out) {
+        out.append("🚰 MEMORY BANDWIDTH SWEEP (GB/s)\n");
+        for (int workingSetKb : PerformanceMetrics.STREAM_WORKING_SET_KB) {
+            double copy = result.getMetric(bandwidthMetric(KERNEL_COPY, workingSetKb));
+            if (Double.isNaN(copy)) continue;
+            out.append(String.format(Locale.US, "%s: copy %.2f, scale %.2f, add %.2f, triad %.2f\n",
+                    ResultFormat.formatBytes(workingSetKb * 1024L), copy,
+                    result.getMetric(bandwidthMetric(KERNEL_SCALE, workingSetKb)),
+                    result.getMetric(bandwidthMetric(KERNEL_ADD, workingSetKb)),
+                    result.getMetric(bandwidthMetric(KERNEL_TRIAD, workingSetKb))));
+        }
+        out.append("\n");
+    }
+
+    private void reset(int n) {
+        Arrays.fill(a, 0, n, 1.0);
+        Arrays.fill(b, 0, n, 2.0);
+        Arrays.fill(c, 0, n, 0.0);
+    }
+
+    /**
+     * Elements per array so the three arrays together fill {@code workingSetKb}
+     */
+    private static int elements(int workingSetKb) {
+        return (int) (workingSetKb * 1024L / (3 * Double.BYTES));
+    }
+
+    /**
+     * Passes per timed chunk, enough for the timer to be negligible while leaving room for
+     * cancellation checks between chunks
+     */
+    private static int passesPerChunk(TimerCalibration calibration, long passTime, int repetitions) {
+        if (calibration == null) return 1;
+        return calibration.chooseBatchSize(1_000_000_000.0 / Math.max(1, passTime), repetitions);
+    }
+
+    private static long bytesPerPass(String kernel, int n) {
+        int arrays = kernel.equals(KERNEL_COPY) || kernel.equals(KERNEL_SCALE) ? 2 : 3;
+        return (long) arrays * n * Double.BYTES;
+    }
+
+    private void runKernel(String kernel, int n) {
+        double[] a = this.a;
+        double[] b = this.b;
+        double[] c = this.c;
+        switch (kernel) {
+            case KERNEL_COPY:
+                for (int i = 0; i < n; i++) {
+                    c[i] = a[i];
+                }
+                break;
+            case KERNEL_SCALE:
+                for (int i = 0; i < n; i++) {
+                    b[i] = SCALAR * c[i];
+                }
+                break;
+            case KERNEL_ADD:
+                for (int i = 0; i < n; i++) {
+                    c[i] = a[i] + b[i];
+                }
+                break;
+            default:
+                for (int i = 0; i < n; i++) {
+                    a[i] = b[i] + SCALAR * c[i];
+                }
+                break;
+        }
+    }
+}
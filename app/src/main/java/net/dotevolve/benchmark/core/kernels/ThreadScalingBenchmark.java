@@ -0,0 +1,144 @@
+package net.dotevolve.benchmark.core.kernels;
+
+import net.dotevolve.benchmark.core.BenchmarkTest;
+import net.dotevolve.benchmark.core.PerformanceMetrics;
+import net.dotevolve.benchmark.core.TestResult;
+
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Runs the same fixed SHA-512 workload at 1, 2, 4, ... threads up to every core and
+ * records throughput and parallel efficiency per point, so the knee where scaling
+ * flattens (e.g. once work spills onto little cores) is visible.
+ */
+public class ThreadScalingBenchmark implements BenchmarkTest {
+    // Best of a few rounds per point keeps one descheduled round from bending the curve
+    private static final int ROUNDS_PER_POINT = 3;
+    // A point counts towards the knee only if it adds at least this much throughput
+    private static final double KNEE_MIN_GAIN = 0.10;
+
+    public static final String METRIC_KNEE_THREADS = "knee_threads";
+
+    private final String testString;
+    private final int[] threadCounts;
+
+    private ParallelHashWorkload workload;
+
+    public ThreadScalingBenchmark(String testString, int cpuCores) {
+        this.testString = testString;
+        this.threadCounts = threadCounts(cpuCores);
+    }
+
+    /**
+     * Powers of two below {@code maxThreads}, followed by {@code maxThreads} itself
+     */
+    public static int[] threadCounts(int maxThreads) {
+        List<Integer> counts = new ArrayList<>();
+        for (int threads = 1; threads < maxThreads; threads *= 2) {
+            counts.add(threads);
+        }
+        counts.add(Math.max(1, maxThreads));
+
+        int[] result = new int[counts.size()];
+        for (int i = 0; i < result.length; i++) {
+            result[i] = counts.get(i);
+        }
+        return result;
+    }
+
+    public static String opsPerSecMetric(int threads) {
+        return "ops_per_sec_t" + threads;
+    }
+
+    public static String efficiencyMetric(int threads) {
+        return "efficiency_t" + threads;
+    }
+
+    @Override
+    public String getId() { return PerformanceMetrics.TEST_THREAD_SCALING; }
+
+    @Override
+    public String getName() { return "Thread Scaling"; }
+
+    @Override
+    public void setup() throws NoSuchAlgorithmException {
+        workload = new ParallelHashWorkload(testString, threadCounts[threadCounts.length - 1]);
+    }
+
+    @Override
+    public void run(TestResult result) throws InterruptedException {
+        int operations = PerformanceMetrics.SCALING_ITERATIONS;
+        double baseline = 0;
+        double previous = 0;
+        int knee = threadCounts[0];
+        boolean scaling = true;
+
+        for (int threads : threadCounts) {
+            long bestTime = Long.MAX_VALUE;
+            for (int round = 0; round < ROUNDS_PER_POINT; round++) {
+                long startTime = System.nanoTime();
+                long checksum = workload.run(threads, operations, result.getCancellationToken());
+                long endTime = System.nanoTime();
+
+                result.getBlackhole().consume(checksum);
+                bestTime = Math.min(bestTime, endTime - startTime);
+            }
+
+            double opsPerSec = operations * 1_000_000_000.0 / Math.max(1, bestTime);
+            if (threads == threadCounts[0]) {
+                baseline = opsPerSec / threads;
+            } else if (scaling && opsPerSec >= previous * (1 + KNEE_MIN_GAIN)) {
+                knee = threads;
+            } else {
+                scaling = false; // The knee is the last point of the unbroken run of gains
+            }
+            previous = opsPerSec;
+
+            result.putMetric(opsPerSecMetric(threads), opsPerSec);
+            result.putMetric(efficiencyMetric(threads), opsPerSec / (baseline * threads));
+        }
+        result.putMetric(METRIC_KNEE_THREADS, knee);
+    }
+
+    @Override
+    public int runWarmupBatch(TestResult result) throws InterruptedException {
+        // Full width, so every worker slot is exercised before the curve is measured
+        int operations = PerformanceMetrics.SCALING_ITERATIONS / 100;
+        result.getBlackhole().consume(
+                workload.run(workload.getMaxThreads(), operations, result.getCancellationToken()));
+        return operations;
+    }
+
+    @Override
+    public void teardown() {
+        if (workload != null) {
+            workload.shutdown();
+            workload = null;
+        }
+    }
+
+    @Override
+    public void appendSummary(TestResult result, StringBuilder out) {
+        int maxThreads = threadCounts[threadCounts.length - 1];
+        out.append("Thread Scaling (1-").append(maxThreads).append(" threads):\n");
+        out.append("  Scaling Knee: ").append((int) result.getMetric(METRIC_KNEE_THREADS)).append(" threads\n");
+        out.append("  Efficiency at ").append(maxThreads).append(" threads: ")
+           .append(String.format(Locale.US, "%.0f%%", result.getMetric(efficiencyMetric(maxThreads)) * 100)).append("\n\n");
+    }
+
+    @Override
+    public void appendDetails(TestResult result, StringBuilder out) {
+        out.append("🧵 THREAD SCALING\n");
+        out.append("Workload: ").append(PerformanceMetrics.SCALING_ITERATIONS).append(" SHA-512 hashes per point\n");
+        for (int threads : threadCounts) {
+            double opsPerSec = result.getMetric(opsPerSecMetric(threads));
+            if (Double.isNaN(opsPerSec)) continue;
+            out.append(String.format(Locale.US, "%2d threads: %.0f ops/sec, %.0f%% efficiency\n",
+                    threads, opsPerSec, result.getMetric(efficiencyMetric(threads)) * 100));
+        }
+        out.append("Scaling Knee: ").append((int) result.getMetric(METRIC_KNEE_THREADS)).append(" threads\n\n");
+    }
+}
@@ -2,8 +2,10 @@ package net.dotevolve.benchmark.data.db;
 import net.dotevolve.benchmark.data.model.BenchmarkResult;
 import net.dotevolve.benchmark.data.model.PerformanceTrend;
 import net.dotevolve.benchmark.data.model.DeviceStatistics;
+import net.dotevolve.benchmark.data.model.LatencyPercentiles;
 import net.dotevolve.benchmark.core.PerformanceMetrics;
 import net.dotevolve.benchmark.core.AdvancedMetrics;
+import net.dotevolve.benchmark.core.TestResult;
 
 import android.content.ContentValues;
 import android.content.Context;
@@ -16,6 +18,7 @@ import java.text.SimpleDateFormat;
 import java.util.ArrayList;
 import java.util.Date;
 import java.util.List;
+import java.util.Map;
 
 /**
  * Database helper for storing and retrieving historical performance data
@@ -24,12 +27,13 @@ public class PerformanceDatabaseHelper extends SQLiteOpenHelper {
     
     private static final String TAG = "PerformanceDB";
     private static final String DATABASE_NAME = "benchmark_performance.db";
-    private static final int DATABASE_VERSION = 3;
+    private static final int DATABASE_VERSION = 7;
     
     // Table names
     private static final String TABLE_BENCHMARKS = "benchmarks";
     private static final String TABLE_PERFORMANCE_TRENDS = "performance_trends";
     private static final String TABLE_DEVICE_INFO = "device_info";
+    private static final String TABLE_TEST_METRICS = "test_metrics";
     
     // Benchmarks table columns
     private static final String COLUMN_ID = "id";
@@ -49,12 +53,14 @@ public class PerformanceDatabaseHelper extends SQLiteOpenHelper {
     private static final String COLUMN_COMPUTATIONAL_SCORE = "computational_score";
     private static final String COLUMN_MEMORY_SCORE = "memory_score";
     private static final String COLUMN_MULTI_THREAD_SCORE = "multi_thread_score";
+    private static final String COLUMN_SCALING_SCORE = "scaling_score";
     
     // Timing data
     private static final String COLUMN_SHA1_TIME = "sha1_time";
     private static final String COLUMN_MD5_TIME = "md5_time";
     private static final String COLUMN_AES_TIME = "aes_time";
-    private static final String COLUMN_RSA_TIME = "rsa_time";
+    private static final String COLUMN_RSA_TIME = "rsa_time"; // RSA-2048 sign and verify only
+    private static final String COLUMN_PUBLIC_KEY_TIME = "public_key_time";
     private static final String COLUMN_LOOP_TIME = "loop_time";
     private static final String COLUMN_MATRIX_TIME = "matrix_time";
     private static final String COLUMN_SORT_TIME = "sort_time";
@@ -62,6 +68,18 @@ public class PerformanceDatabaseHelper extends SQLiteOpenHelper {
     private static final String COLUMN_MEMORY_BANDWIDTH_TIME = "memory_bandwidth_time";
     private static final String COLUMN_MULTI_THREAD_TIME = "multi_thread_time";
     
+    // Latency percentiles, one column per test and percentile, e.g. sha1_p99
+    private static final String[] LATENCY_TEST_IDS = {
+            PerformanceMetrics.TEST_SHA512, PerformanceMetrics.TEST_MD5, PerformanceMetrics.TEST_AES,
+            PerformanceMetrics.TEST_PUBLIC_KEY, PerformanceMetrics.TEST_COMPRESSION};
+    // The public-key stage samples RSA-2048 signatures, hence its "rsa" prefix
+    private static final String[] LATENCY_COLUMN_PREFIXES = {"sha1", "md5", "aes", "rsa", "compression"};
+    private static final String SUFFIX_P50 = "_p50";
+    private static final String SUFFIX_P90 = "_p90";
+    private static final String SUFFIX_P99 = "_p99";
+    private static final String SUFFIX_P999 = "_p999";
+    private static final String[] LATENCY_SUFFIXES = {SUFFIX_P50, SUFFIX_P90, SUFFIX_P99, SUFFIX_P999};
+    
     // Advanced metrics
     private static final String COLUMN_CPU_TEMPERATURE = "cpu_temperature";
     private static final String COLUMN_BATTERY_LEVEL = "battery_level";
@@ -76,6 +94,12 @@ public class PerformanceDatabaseHelper extends SQLiteOpenHelper {
     private static final String COLUMN_TEST_COUNT = "test_count";
     private static final String COLUMN_PERFORMANCE_TREND = "performance_trend"; // IMPROVING, DECLINING, STABLE
     
+    // Test metrics table columns, one row per named metric of a benchmark run
+    private static final String COLUMN_BENCHMARK_ID = "benchmark_id";
+    private static final String COLUMN_TEST_ID = "test_id";
+    private static final String COLUMN_METRIC_NAME = "metric_name";
+    private static final String COLUMN_METRIC_VALUE = "metric_value";
+    
     // Device info table columns
     private static final String COLUMN_DEVICE_ID = "device_id";
     private static final String COLUMN_FIRST_BENCHMARK = "first_benchmark";
@@ -93,19 +117,55 @@ public class PerformanceDatabaseHelper extends SQLiteOpenHelper {
         createBenchmarksTable(db);
         createPerformanceTrendsTable(db);
         createDeviceInfoTable(db);
+        createTestMetricsTable(db);
     }
     
     @Override
     public void onUpgrade(SQLiteDatabase db, int oldVersion, int newVersion) {
         Log.d(TAG, "Upgrading database from version " + oldVersion + " to " + newVersion);
-        // Handle database upgrades here
-        db.execSQL("DROP TABLE IF EXISTS " + TABLE_BENCHMARKS);
-        db.execSQL("DROP TABLE IF EXISTS " + TABLE_PERFORMANCE_TRENDS);
-        db.execSQL("DROP TABLE IF EXISTS " + TABLE_DEVICE_INFO);
-        onCreate(db);
+        if (oldVersion < 3) {
+            // Schemas before v3 are not migrated
+            db.execSQL("DROP TABLE IF EXISTS " + TABLE_BENCHMARKS);
+            db.execSQL("DROP TABLE IF EXISTS " + TABLE_PERFORMANCE_TRENDS);
+            db.execSQL("DROP TABLE IF EXISTS " + TABLE_DEVICE_INFO);
+            db.execSQL("DROP TABLE IF EXISTS " + TABLE_TEST_METRICS);
+            onCreate(db);
+            return;
+        }
+        
+        // Incremental migrations keep existing history
+        if (oldVersion < 4) {
+            for (String column : latencyColumns()) {
+                db.execSQL("ALTER TABLE " + TABLE_BENCHMARKS + " ADD COLUMN " + column + " INTEGER");
+            }
+        }
+        if (oldVersion < 5) {
+            createTestMetricsTable(db);
+        }
+        if (oldVersion < 6) {
+            db.execSQL("ALTER TABLE " + TABLE_BENCHMARKS + " ADD COLUMN " + COLUMN_SCALING_SCORE + " INTEGER");
+        }
+        if (oldVersion < 7) {
+            db.execSQL("ALTER TABLE " + TABLE_BENCHMARKS + " ADD COLUMN " + COLUMN_PUBLIC_KEY_TIME + " INTEGER");
+        }
+    }
+    
+    private static List<String> latencyColumns() {
+        List<String> columns = new ArrayList<>();
+        for (String prefix : LATENCY_COLUMN_PREFIXES) {
+            for (String suffix : LATENCY_SUFFIXES) {
+                columns.add(prefix + suffix);
+            }
+        }
+        return columns;
     }
     
     private void createBenchmarksTable(SQLiteDatabase db) {
+        StringBuilder latencyColumnDefs = new StringBuilder();
+        for (String column : latencyColumns()) {
+            latencyColumnDefs.append(", ").append(column).append(" INTEGER");
+        }
+        
         String createTable = "CREATE TABLE " + TABLE_BENCHMARKS + " (" +
                 COLUMN_ID + " INTEGER PRIMARY KEY AUTOINCREMENT, " +
                 COLUMN_TIMESTAMP + " INTEGER NOT NULL, " +
@@ -122,10 +182,12 @@ public class PerformanceDatabaseHelper extends SQLiteOpenHelper {
                 COLUMN_COMPUTATIONAL_SCORE + " INTEGER, " +
                 COLUMN_MEMORY_SCORE + " INTEGER, " +
                 COLUMN_MULTI_THREAD_SCORE + " INTEGER, " +
+                COLUMN_SCALING_SCORE + " INTEGER, " +
                 COLUMN_SHA1_TIME + " INTEGER, " +
                 COLUMN_MD5_TIME + " INTEGER, " +
                 COLUMN_AES_TIME + " INTEGER, " +
                 COLUMN_RSA_TIME + " INTEGER, " +
+                COLUMN_PUBLIC_KEY_TIME + " INTEGER, " +
                 COLUMN_LOOP_TIME + " INTEGER, " +
                 COLUMN_MATRIX_TIME + " INTEGER, " +
                 COLUMN_SORT_TIME + " INTEGER, " +
@@ -137,6 +199,7 @@ public class PerformanceDatabaseHelper extends SQLiteOpenHelper {
                 COLUMN_MEMORY_USAGE + " INTEGER, " +
                 COLUMN_THERMAL_THROTTLING + " INTEGER DEFAULT 0, " +
                 COLUMN_BACKGROUND_APPS + " INTEGER DEFAULT 0" +
+                latencyColumnDefs +
                 ")";
         db.execSQL(createTable);
         Log.d(TAG, "Created benchmarks table");
@@ -170,6 +233,20 @@ public class PerformanceDatabaseHelper extends SQLiteOpenHelper {
         Log.d(TAG, "Created device info table");
     }
     
+    private void createTestMetricsTable(SQLiteDatabase db) {
+        String createTable = "CREATE TABLE " + TABLE_TEST_METRICS + " (" +
+                COLUMN_ID + " INTEGER PRIMARY KEY AUTOINCREMENT, " +
+                COLUMN_BENCHMARK_ID + " INTEGER NOT NULL, " +
+                COLUMN_TEST_ID + " TEXT NOT NULL, " +
+                COLUMN_METRIC_NAME + " TEXT NOT NULL, " +
+                COLUMN_METRIC_VALUE + " REAL" +
+                ")";
+        db.execSQL(createTable);
+        db.execSQL("CREATE INDEX idx_" + TABLE_TEST_METRICS + "_" + COLUMN_BENCHMARK_ID +
+                " ON " + TABLE_TEST_METRICS + " (" + COLUMN_BENCHMARK_ID + ")");
+        Log.d(TAG, "Created test metrics table");
+    }
+    
     // Insert benchmark results
     public void insertBenchmarkResult(PerformanceMetrics metrics, AdvancedMetrics advancedMetrics) {
         SQLiteDatabase db = this.getWritableDatabase();
@@ -192,18 +269,31 @@ public class PerformanceDatabaseHelper extends SQLiteOpenHelper {
         values.put(COLUMN_COMPUTATIONAL_SCORE, metrics.getComputationalScore());
         values.put(COLUMN_MEMORY_SCORE, metrics.getMemoryScore());
         values.put(COLUMN_MULTI_THREAD_SCORE, metrics.getMultiThreadingScore());
+        values.put(COLUMN_SCALING_SCORE, metrics.getScalingScore());
         
         values.put(COLUMN_SHA1_TIME, metrics.getSha1TotalTime());
         values.put(COLUMN_MD5_TIME, metrics.getMd5TotalTime());
         values.put(COLUMN_AES_TIME, metrics.getAesTotalTime());
         values.put(COLUMN_RSA_TIME, metrics.getRsaTotalTime());
-        values.put(COLUMN_LOOP_TIME, metrics.getLoopOverheadTime());
+        values.put(COLUMN_PUBLIC_KEY_TIME, metrics.getPublicKeyTotalTime());
+        // No longer measured; the column stays for rows saved by older versions
+        values.putNull(COLUMN_LOOP_TIME);
         values.put(COLUMN_MATRIX_TIME, metrics.getMatrixMultiplicationTime());
         values.put(COLUMN_SORT_TIME, metrics.getSortingTime());
         values.put(COLUMN_COMPRESSION_TIME, metrics.getCompressionTime());
         values.put(COLUMN_MEMORY_BANDWIDTH_TIME, metrics.getMemoryBandwidthTime());
         values.put(COLUMN_MULTI_THREAD_TIME, metrics.getMultiThreadedTime());
         
+        for (int i = 0; i < LATENCY_TEST_IDS.length; i++) {
+            LatencyPercentiles percentiles = metrics.getLatencyPercentiles(LATENCY_TEST_IDS[i]);
+            if (percentiles.isEmpty()) continue;
+            String prefix = LATENCY_COLUMN_PREFIXES[i];
+            values.put(prefix + SUFFIX_P50, percentiles.getP50());
+            values.put(prefix + SUFFIX_P90, percentiles.getP90());
+            values.put(prefix + SUFFIX_P99, percentiles.getP99());
+            values.put(prefix + SUFFIX_P999, percentiles.getP999());
+        }
+        
         if (advancedMetrics != null) {
             values.put(COLUMN_CPU_TEMPERATURE, advancedMetrics.getCpuTemperature());
             values.put(COLUMN_BATTERY_LEVEL, advancedMetrics.getBatteryLevel());
@@ -212,7 +302,19 @@ public class PerformanceDatabaseHelper extends SQLiteOpenHelper {
             values.put(COLUMN_BACKGROUND_APPS, advancedMetrics.getBackgroundAppsCount());
         }
         
-        long result = db.insert(TABLE_BENCHMARKS, null, values);
+        // One transaction, so a run is never stored without its metrics and the metric
+        // rows share a single commit
+        long result;
+        db.beginTransaction();
+        try {
+            result = db.insert(TABLE_BENCHMARKS, null, values);
+            if (result != -1) {
+                insertTestMetrics(db, result, metrics);
+                db.setTransactionSuccessful();
+            }
+        } finally {
+            db.endTransaction();
+        }
         db.close();
         
         if (result != -1) {
@@ -221,6 +323,44 @@ public class PerformanceDatabaseHelper extends SQLiteOpenHelper {
         }
     }
     
+    private void insertTestMetrics(SQLiteDatabase db, long benchmarkId, PerformanceMetrics metrics) {
+        ContentValues values = new ContentValues();
+        for (TestResult testResult : metrics.getTestResults().values()) {
+            for (Map.Entry<String, Double> metric : testResult.getMetrics().entrySet()) {
+                values.clear();
+                values.put(COLUMN_BENCHMARK_ID, benchmarkId);
+                values.put(COLUMN_TEST_ID, testResult.getTestId());
+                values.put(COLUMN_METRIC_NAME, metric.getKey());
+                values.put(COLUMN_METRIC_VALUE, metric.getValue());
+                db.insert(TABLE_TEST_METRICS, null, values);
+            }
+        }
+    }
+    
+    /**
+     * Loads the per-test metrics of one stored run into {@code result}. History lists leave
+     * them out since each run has hundreds of metric rows; load them when a run is opened.
+     */
+    public void loadTestMetrics(BenchmarkResult result) {
+        SQLiteDatabase db = this.getReadableDatabase();
+        loadTestMetrics(db, result);
+        db.close();
+    }
+    
+    private void loadTestMetrics(SQLiteDatabase db, BenchmarkResult result) {
+        String query = "SELECT " + COLUMN_TEST_ID + ", " + COLUMN_METRIC_NAME + ", " + COLUMN_METRIC_VALUE +
+                      " FROM " + TABLE_TEST_METRICS +
+                      " WHERE " + COLUMN_BENCHMARK_ID + " = ? " +
+                      " ORDER BY " + COLUMN_ID + " ASC";
+        
+        Cursor cursor = db.rawQuery(query, new String[]{String.valueOf(result.getId())});
+        
+        while (cursor.moveToNext()) {
+            result.setTestMetric(cursor.getString(0), cursor.getString(1), cursor.getDouble(2));
+        }
+        cursor.close();
+    }
+    
     // Get all benchmark results for a device
     public List<BenchmarkResult> getAllBenchmarkResults(String deviceModel) {
         List<BenchmarkResult> results = new ArrayList<>();
@@ -423,10 +563,12 @@ public class PerformanceDatabaseHelper extends SQLiteOpenHelper {
         result.setComputationalScore(cursor.getInt(cursor.getColumnIndex(COLUMN_COMPUTATIONAL_SCORE)));
         result.setMemoryScore(cursor.getInt(cursor.getColumnIndex(COLUMN_MEMORY_SCORE)));
         result.setMultiThreadingScore(cursor.getInt(cursor.getColumnIndex(COLUMN_MULTI_THREAD_SCORE)));
+        result.setScalingScore(cursor.getInt(cursor.getColumnIndex(COLUMN_SCALING_SCORE)));
         result.setSha1Time(cursor.getLong(cursor.getColumnIndex(COLUMN_SHA1_TIME)));
         result.setMd5Time(cursor.getLong(cursor.getColumnIndex(COLUMN_MD5_TIME)));
         result.setAesTime(cursor.getLong(cursor.getColumnIndex(COLUMN_AES_TIME)));
         result.setRsaTime(cursor.getLong(cursor.getColumnIndex(COLUMN_RSA_TIME)));
+        result.setPublicKeyTime(cursor.getLong(cursor.getColumnIndex(COLUMN_PUBLIC_KEY_TIME)));
         result.setLoopTime(cursor.getLong(cursor.getColumnIndex(COLUMN_LOOP_TIME)));
         result.setMatrixTime(cursor.getLong(cursor.getColumnIndex(COLUMN_MATRIX_TIME)));
         result.setSortTime(cursor.getLong(cursor.getColumnIndex(COLUMN_SORT_TIME)));
@@ -447,6 +589,17 @@ public class PerformanceDatabaseHelper extends SQLiteOpenHelper {
         result.setThermalThrottling(cursor.getInt(cursor.getColumnIndex(COLUMN_THERMAL_THROTTLING)) == 1);
         result.setBackgroundAppsCount(cursor.getInt(cursor.getColumnIndex(COLUMN_BACKGROUND_APPS)));
         
+        for (int i = 0; i < LATENCY_TEST_IDS.length; i++) {
+            String prefix = LATENCY_COLUMN_PREFIXES[i];
+            int p50Index = cursor.getColumnIndex(prefix + SUFFIX_P50);
+            if (p50Index == -1 || cursor.isNull(p50Index)) continue;
+            result.setLatencyPercentiles(LATENCY_TEST_IDS[i], new LatencyPercentiles(
+                    cursor.getLong(p50Index),
+                    cursor.getLong(cursor.getColumnIndex(prefix + SUFFIX_P90)),
+                    cursor.getLong(cursor.getColumnIndex(prefix + SUFFIX_P99)),
+                    cursor.getLong(cursor.getColumnIndex(prefix + SUFFIX_P999))));
+        }
+        
         return result;
     }
     
@@ -5,9 +5,12 @@ import androidx.annotation.NonNull;
 import java.io.Serializable;
 import java.text.SimpleDateFormat;
 import java.util.Date;
+import java.util.LinkedHashMap;
 import java.util.Locale;
+import java.util.Map;
 import net.dotevolve.benchmark.core.PerformanceMetrics;
 import net.dotevolve.benchmark.core.AdvancedMetrics;
+import net.dotevolve.benchmark.core.TestResult;
 
 /**
  * Data model for storing benchmark results
@@ -30,13 +33,15 @@ public class BenchmarkResult implements Serializable {
     private int computationalScore;
     private int memoryScore;
     private int multiThreadingScore;
+    private int scalingScore;
     
     // Timing data
     private long sha1Time;
     private long md5Time;
     private long aesTime;
     private long rsaTime;
-    private long loopTime;
+    private long publicKeyTime;
+    private long loopTime; // Only set on results saved by older versions
     private long matrixTime;
     private long sortTime;
     private long compressionTime;
@@ -50,6 +55,12 @@ public class BenchmarkResult implements Serializable {
     private boolean thermalThrottling = false;
     private int backgroundAppsCount = 0;
     
+    // Tail latency per sampled test, keyed by test id
+    private final Map<String, LatencyPercentiles> latencyPercentiles = new LinkedHashMap<>();
+    
+    // Named metrics per test (e.g. the thread scaling curve), keyed by test id then metric name
+    private final Map<String, Map<String, Double>> testMetrics = new LinkedHashMap<>();
+    
     // Constructors
     public BenchmarkResult() {}
     
@@ -68,17 +79,31 @@ public class BenchmarkResult implements Serializable {
         this.computationalScore = metrics.getComputationalScore();
         this.memoryScore = metrics.getMemoryScore();
         this.multiThreadingScore = metrics.getMultiThreadingScore();
+        this.scalingScore = metrics.getScalingScore();
         this.sha1Time = metrics.getSha1TotalTime();
         this.md5Time = metrics.getMd5TotalTime();
         this.aesTime = metrics.getAesTotalTime();
         this.rsaTime = metrics.getRsaTotalTime();
-        this.loopTime = metrics.getLoopOverheadTime();
+        this.publicKeyTime = metrics.getPublicKeyTotalTime();
         this.matrixTime = metrics.getMatrixMultiplicationTime();
         this.sortTime = metrics.getSortingTime();
         this.compressionTime = metrics.getCompressionTime();
         this.memoryBandwidthTime = metrics.getMemoryBandwidthTime();
         this.multiThreadedTime = metrics.getMultiThreadedTime();
         
+        for (String testId : PerformanceMetrics.LATENCY_TESTS) {
+            LatencyPercentiles percentiles = metrics.getLatencyPercentiles(testId);
+            if (!percentiles.isEmpty()) {
+                latencyPercentiles.put(testId, percentiles);
+            }
+        }
+        
+        for (Map.Entry<String, TestResult> entry : metrics.getTestResults().entrySet()) {
+            if (!entry.getValue().getMetrics().isEmpty()) {
+                testMetrics.put(entry.getKey(), new LinkedHashMap<>(entry.getValue().getMetrics()));
+            }
+        }
+        
         if (advancedMetrics != null) {
             this.cpuTemperature = advancedMetrics.getCpuTemperature();
             this.batteryLevel = advancedMetrics.getBatteryLevel();
@@ -133,6 +158,9 @@ public class BenchmarkResult implements Serializable {
     public int getMultiThreadingScore() { return multiThreadingScore; }
     public void setMultiThreadingScore(int multiThreadingScore) { this.multiThreadingScore = multiThreadingScore; }
     
+    public int getScalingScore() { return scalingScore; }
+    public void setScalingScore(int scalingScore) { this.scalingScore = scalingScore; }
+    
     public long getSha1Time() { return sha1Time; }
     public void setSha1Time(long sha1Time) { this.sha1Time = sha1Time; }
     
@@ -145,6 +173,9 @@ public class BenchmarkResult implements Serializable {
     public long getRsaTime() { return rsaTime; }
     public void setRsaTime(long rsaTime) { this.rsaTime = rsaTime; }
     
+    public long getPublicKeyTime() { return publicKeyTime; }
+    public void setPublicKeyTime(long publicKeyTime) { this.publicKeyTime = publicKeyTime; }
+    
     public long getLoopTime() { return loopTime; }
     public void setLoopTime(long loopTime) { this.loopTime = loopTime; }
     
@@ -178,6 +209,21 @@ public class BenchmarkResult implements Serializable {
     public int getBackgroundAppsCount() { return backgroundAppsCount; }
     public void setBackgroundAppsCount(int backgroundAppsCount) { this.backgroundAppsCount = backgroundAppsCount; }
     
+    public LatencyPercentiles getLatencyPercentiles(String testId) { return latencyPercentiles.get(testId); }
+    public void setLatencyPercentiles(String testId, LatencyPercentiles percentiles) { latencyPercentiles.put(testId, percentiles); }
+    public Map<String, LatencyPercentiles> getAllLatencyPercentiles() { return latencyPercentiles; }
+    
+    public Map<String, Double> getTestMetrics(String testId) { return testMetrics.get(testId); }
+    public void setTestMetric(String testId, String name, double value) {
+        Map<String, Double> values = testMetrics.get(testId);
+        if (values == null) {
+            values = new LinkedHashMap<>();
+            testMetrics.put(testId, values);
+        }
+        values.put(name, value);
+    }
+    public Map<String, Map<String, Double>> getAllTestMetrics() { return testMetrics; }
+    
     // Utility methods
     public String getFormattedTimestamp() {
         SimpleDateFormat sdf = new SimpleDateFormat("yyyy-MM-dd HH:mm:ss", Locale.getDefault());
@@ -0,0 +1,38 @@
+package net.dotevolve.benchmark.data.model;
+
+import java.io.Serializable;
+
+/**
+ * Tail latency summary for a single sampled test, all values in nanoseconds
+ */
+public class LatencyPercentiles implements Serializable {
+    private long p50;
+    private long p90;
+    private long p99;
+    private long p999;
+
+    public LatencyPercentiles() {}
+
+    public LatencyPercentiles(long p50, long p90, long p99, long p999) {
+        this.p50 = p50;
+        this.p90 = p90;
+        this.p99 = p99;
+        this.p999 = p999;
+    }
+
+    public boolean isEmpty() {
+        return p50 == 0 && p90 == 0 && p99 == 0 && p999 == 0;
+    }
+
+    public long getP50() { return p50; }
+    public void setP50(long p50) { this.p50 = p50; }
+
+    public long getP90() { return p90; }
+    public void setP90(long p90) { this.p90 = p90; }
+
+    public long getP99() { return p99; }
+    public void setP99(long p99) { this.p99 = p99; }
+
+    public long getP999() { return p999; }
+    public void setP999(long p999) { this.p999 = p999; }
+}
@@ -22,6 +22,7 @@ import androidx.appcompat.app.AppCompatDelegate;
 import android.content.Intent;
 import android.content.ClipData;
 import android.content.ClipboardManager;
+import android.content.Context;
 
 import androidx.annotation.NonNull;
 import androidx.appcompat.app.AppCompatActivity;
@@ -150,17 +151,34 @@ public class MainActivity extends AppCompatActivity {
             
             @Override
             public void onBenchmarkComplete(PerformanceMetrics metrics) {
+                // Called on the benchmark thread: save here, off the UI thread, and only then hand
+                // the metrics to the UI so the save and the display never read them concurrently.
+                // A new run cannot reset them meanwhile, isBenchmarkRunning is still set.
+                metrics.saveToHistory(getApplicationContext());
+
                 runOnUiThread(() -> {
                     isBenchmarkRunning = false;
                     currentMetrics = metrics;
                     
-                    // Save to historical database
-                    metrics.saveToHistory(MainActivity.this);
-                    
                     displayEnhancedResults();
                     showInterstitial();
                 });
             }
+            
+            @Override
+            public void onBenchmarkCancelled() {
+                runOnUiThread(() -> isBenchmarkRunning = false);
+            }
+            
+            @Override
+            public void onBenchmarkFailed() {
+                runOnUiThread(() -> {
+                    isBenchmarkRunning = false;
+                    if (result != null) {
+                        result.append("\n✗ Benchmark failed, please try again");
+                    }
+                });
+            }
         });
     }
     
@@ -172,7 +190,7 @@ public class MainActivity extends AppCompatActivity {
                     🚀 Starting Enhanced Performance Benchmark...
                     
                     This will test:
-                    • SHA-1 Hash Performance
+                    • SHA-512 Hash Performance
                     • MD5 Hash Performance
                     • AES Encryption Performance
                     • Matrix Multiplication
@@ -391,7 +409,7 @@ public class MainActivity extends AppCompatActivity {
         
         if (analysisInfo != null) {
             analysisInfo.setText("Performance Category: " + getPerformanceCategory(currentMetrics.getOverallScore()) + "\n" +
-                                "Algorithm Efficiency: SHA-1 vs MD5 ratio analysis\n" +
+                                "Algorithm Efficiency: SHA-512 vs MD5 ratio analysis\n" +
                                 "System Utilization: CPU and memory efficiency metrics");
         }
         
@@ -461,7 +479,7 @@ public class MainActivity extends AppCompatActivity {
                 currentMetrics.getDetailedTimingInfo() + "\n" +
                 "PERFORMANCE ANALYSIS\n" +
                 "Category: " + getPerformanceCategory(currentMetrics.getOverallScore()) + "\n" +
-                "Algorithm Comparison: SHA-1 vs MD5 efficiency analysis\n" +
+                "Algorithm Comparison: SHA-512 vs MD5 efficiency analysis\n" +
                 "System Utilization: CPU and memory efficiency metrics\n\n" +
                 "Generated by CPU Benchmark App v10.0.0\n" +
                 "https://play.google.com/store/apps/details?id=net.dotevolve.benchmark";
@@ -538,6 +556,10 @@ public class MainActivity extends AppCompatActivity {
         if (adView != null) {
             adView.destroy();
         }
+        // Stop a running benchmark so it does not keep burning CPU after the screen is gone
+        if (benchmarkEngine != null) {
+            benchmarkEngine.cancel();
+        }
         super.onDestroy();
     }
 
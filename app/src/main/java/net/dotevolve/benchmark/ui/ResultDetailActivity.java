@@ -1,12 +1,16 @@
 package net.dotevolve.benchmark.ui;
 import net.dotevolve.benchmark.R;
+import net.dotevolve.benchmark.core.PerformanceMetrics;
 import net.dotevolve.benchmark.data.model.BenchmarkResult;
+import net.dotevolve.benchmark.data.model.LatencyPercentiles;
 
 import android.os.Bundle;
 import android.widget.TextView;
 
 import androidx.appcompat.app.AppCompatActivity;
 
+import java.util.Map;
+
 import com.google.android.material.appbar.MaterialToolbar;
 
 /**
@@ -46,7 +50,18 @@ public class ResultDetailActivity extends AppCompatActivity {
             detailText.setText("No result data available");
             return;
         }
+        detailText.setText(buildDetails(result));
         
+        // Per-test metrics are not part of the history list; load them for this run only
+        new Thread(() -> {
+            PerformanceMetrics.loadTestMetrics(this, result);
+            if (!result.getAllTestMetrics().isEmpty()) {
+                runOnUiThread(() -> detailText.setText(buildDetails(result)));
+            }
+        }).start();
+    }
+    
+    private String buildDetails(BenchmarkResult result) {
         StringBuilder details = new StringBuilder();
         details.append("=== BENCHMARK RESULT DETAILS ===\n\n");
         
@@ -69,21 +84,52 @@ public class ResultDetailActivity extends AppCompatActivity {
         details.append("Computational: ").append(result.getComputationalScore()).append("/100\n");
         details.append("Memory: ").append(result.getMemoryScore()).append("/100\n");
         details.append("Multi-threading: ").append(result.getMultiThreadingScore()).append("/100\n");
+        details.append("Scaling: ").append(result.getScalingScore()).append("/100\n");
         details.append("Efficiency: ").append(result.getEfficiencyScore()).append("/100\n");
         details.append("Stability: ").append(result.getStabilityScore()).append("/100\n\n");
         
         details.append("⏱️ TIMING RESULTS\n");
-        details.append("SHA-1 Time: ").append(formatNanoTime(result.getSha1Time())).append("\n");
+        details.append("SHA-512 Time: ").append(formatNanoTime(result.getSha1Time())).append("\n");
         details.append("MD5 Time: ").append(formatNanoTime(result.getMd5Time())).append("\n");
         details.append("AES Time: ").append(formatNanoTime(result.getAesTime())).append("\n");
         details.append("RSA Time: ").append(formatNanoTime(result.getRsaTime())).append("\n");
-        details.append("Loop Time: ").append(formatNanoTime(result.getLoopTime())).append("\n");
+        if (result.getPublicKeyTime() > 0) {
+            details.append("Public-Key Time: ").append(formatNanoTime(result.getPublicKeyTime())).append("\n");
+        }
+        if (result.getLoopTime() > 0) {
+            details.append("Loop Time: ").append(formatNanoTime(result.getLoopTime())).append("\n");
+        }
         details.append("Matrix Multiplication: ").append(formatNanoTime(result.getMatrixTime())).append("\n");
         details.append("Sorting Time: ").append(formatNanoTime(result.getSortTime())).append("\n");
         details.append("Compression Time: ").append(formatNanoTime(result.getCompressionTime())).append("\n");
         details.append("Memory Bandwidth Time: ").append(formatNanoTime(result.getMemoryBandwidthTime())).append("\n");
         details.append("Multi-threaded Time: ").append(formatNanoTime(result.getMultiThreadedTime())).append("\n\n");
         
+        if (!result.getAllLatencyPercentiles().isEmpty()) {
+            details.append("📈 LATENCY PERCENTILES (p50 / p90 / p99 / p99.9)\n");
+            for (Map.Entry<String, LatencyPercentiles> entry : result.getAllLatencyPercentiles().entrySet()) {
+                LatencyPercentiles percentiles = entry.getValue();
+                details.append(entry.getKey()).append(": ")
+                        .append(formatNanoTime(percentiles.getP50())).append(" / ")
+                        .append(formatNanoTime(percentiles.getP90())).append(" / ")
+                        .append(formatNanoTime(percentiles.getP99())).append(" / ")
+                        .append(formatNanoTime(percentiles.getP999())).append("\n");
+            }
+            details.append("\n");
+        }
+        
+        if (!result.getAllTestMetrics().isEmpty()) {
+            details.append("📐 TEST METRICS\n");
+            for (Map.Entry<String, Map<String, Double>> test : result.getAllTestMetrics().entrySet()) {
+                details.append(test.getKey()).append(":\n");
+                for (Map.Entry<String, Double> metric : test.getValue().entrySet()) {
+                    details.append("  ").append(metric.getKey()).append(": ")
+                            .append(String.format("%.2f", metric.getValue())).append("\n");
+                }
+            }
+            details.append("\n");
+        }
+        
         if (result.hasAdvancedMetrics()) {
             details.append("🔍 ADVANCED METRICS\n");
             details.append("CPU Temperature: ").append(result.getFormattedCpuTemperature()).append("\n");
@@ -93,7 +139,7 @@ public class ResultDetailActivity extends AppCompatActivity {
             details.append("Background Apps: ").append(result.getBackgroundAppsCount()).append("\n");
         }
         
-        detailText.setText(details.toString());
+        return details.toString();
     }
     
     private String formatNanoTime(long nanoTime) {
@@ -23,6 +23,10 @@ public class ScheduledBenchmarkWorker extends Worker {
 
     public static final String UNIQUE_WORK_NAME = "daily_benchmark_work";
     private static final String TAG = "BenchmarkWorker";
+    // Well inside WorkManager's 10 minute execution window
+    private static final long RUN_TIME_BUDGET_MS = 5 * 60 * 1000;
+
+    private volatile BenchmarkEngine engine;
 
     public ScheduledBenchmarkWorker(@NonNull Context context, @NonNull WorkerParameters params) {
         super(context, params);
@@ -34,8 +38,19 @@ public class ScheduledBenchmarkWorker extends Worker {
         try {
             // Run a lightweight benchmark in background (legacy or comprehensive with reduced iterations)
             BenchmarkEngine engine = new BenchmarkEngine(getApplicationContext());
+            engine.setRunTimeBudgetMs(RUN_TIME_BUDGET_MS);
+            this.engine = engine;
+            if (isStopped()) {
+                // onStopped() ran before the engine existed
+                engine.cancel();
+            }
             engine.runLegacyBenchmark();
 
+            if (engine.isCancelled()) {
+                Log.d(TAG, "Scheduled benchmark stopped before completion.");
+                return Result.retry();
+            }
+
             PerformanceMetrics metrics = engine.getMetrics();
             metrics.saveToHistory(getApplicationContext());
 
@@ -44,6 +59,17 @@ public class ScheduledBenchmarkWorker extends Worker {
         } catch (Exception e) {
             Log.e(TAG, "Scheduled benchmark failed", e);
             return Result.retry();
+        } finally {
+            this.engine = null;
+        }
+    }
+
+    @Override
+    public void onStopped() {
+        super.onStopped();
+        BenchmarkEngine engine = this.engine;
+        if (engine != null) {
+            engine.cancel();
         }
     }
 
@@ -0,0 +1,130 @@
+package net.dotevolve.benchmark.core;
+
+import org.junit.Test;
+
+import java.util.concurrent.CancellationException;
+
+import static org.junit.Assert.*;
+
+/**
+ * Cancel and run/test deadline handling of {@link CancellationToken}
+ */
+public class CancellationTokenTest {
+    private static final long HOUR_NANOS = 3_600_000_000_000L;
+
+    @Test
+    public void newToken_isNotStopped() {
+        CancellationToken token = new CancellationToken();
+
+        assertFalse(token.isCancelled());
+        assertFalse(token.isRunExpired());
+        assertFalse(token.isTestExpired());
+        assertFalse(token.isStopped());
+        token.throwIfStopped();
+    }
+
+    @Test
+    public void cancel_stopsAndThrows() {
+        CancellationToken token = new CancellationToken();
+        token.startRun(HOUR_NANOS);
+        token.startTest(HOUR_NANOS);
+
+        token.cancel();
+        token.cancel();
+
+        assertTrue(token.isCancelled());
+        assertTrue(token.isStopped());
+        CancellationException e = assertThrows(CancellationException.class, token::throwIfStopped);
+        assertEquals("Benchmark cancelled", e.getMessage());
+    }
+
+    @Test
+    public void runDeadline_expires() throws InterruptedException {
+        CancellationToken token = new CancellationToken();
+        token.startRun(1);
+        Thread.sleep(2);
+
+        assertTrue(token.isRunExpired());
+        assertFalse(token.isTestExpired());
+        assertTrue(token.isStopped());
+        assertFalse(token.isCancelled());
+        CancellationException e = assertThrows(CancellationException.class, token::throwIfStopped);
+        assertEquals("Benchmark time budget exceeded", e.getMessage());
+    }
+
+    @Test
+    public void testDeadline_expires() throws InterruptedException {
+        CancellationToken token = new CancellationToken();
+        token.startRun(HOUR_NANOS);
+        token.startTest(1);
+        Thread.sleep(2);
+
+        assertTrue(token.isTestExpired());
+        assertFalse(token.isRunExpired());
+        assertTrue(token.isStopped());
+        CancellationException e = assertThrows(CancellationException.class, token::throwIfStopped);
+        assertEquals("Test time budget exceeded", e.getMessage());
+    }
+
+    @Test
+    public void startTest_replacesPreviousTestDeadline() throws InterruptedException {
+        CancellationToken token = new CancellationToken();
+        token.startTest(1);
+        Thread.sleep(2);
+        assertTrue(token.isTestExpired());
+
+        token.startTest(HOUR_NANOS);
+
+        assertFalse(token.isTestExpired());
+        assertFalse(token.isStopped());
+    }
+
+    @Test
+    public void startRun_clearsTestDeadline() throws InterruptedException {
+        CancellationToken token = new CancellationToken();
+        token.startTest(1);
+        Thread.sleep(2);
+        assertTrue(token.isTestExpired());
+
+        token.startRun(HOUR_NANOS);
+
+        assertFalse(token.isTestExpired());
+        assertFalse(token.isStopped());
+    }
+
+    @Test
+    public void nonPositiveBudget_isUnbounded() throws InterruptedException {
+        CancellationToken token = new CancellationToken();
+        token.startRun(0);
+        token.startTest(-1);
+        Thread.sleep(2);
+
+        assertFalse(token.isRunExpired());
+        assertFalse(token.isTestExpired());
+        assertFalse(token.isStopped());
+    }
+
+    @Test
+    public void hugeBudget_overflowingDeadline_doesNotExpire() {
+        // nanoTime() + budget wraps past Long.MAX_VALUE, so a plain now > deadline check
+        // would report the deadline as long gone
+        CancellationToken token = new CancellationToken();
+        token.startRun(Long.MAX_VALUE - 1);
+        token.startTest(Long.MAX_VALUE - 1);
+
+        assertFalse(token.isRunExpired());
+        assertFalse(token.isTestExpired());
+        assertFalse(token.isStopped());
+        token.throwIfStopped();
+    }
+
+    @Test
+    public void cancel_fromAnotherThread_isVisible() throws InterruptedException {
+        CancellationToken token = new CancellationToken();
+        Thread canceller = new Thread(token::cancel);
+        canceller.start();
+        canceller.join();
+
+        assertTrue(token.isStopped());
+    }
+}
@@ -0,0 +1,143 @@
+package net.dotevolve.benchmark.core;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+/**
+ * {@link LatencyHistogram} percentiles against exact percentiles of the sorted samples
+ */
+public class LatencyHistogramTest {
+    // One sub-bucket of 32 per power of two; the middle of a bucket is within half of that
+    private static final double RELATIVE_ERROR = 1.0 / 32;
+    private static final double[] PERCENTILES = {0, 1, 10, 25, 50, 75, 90, 99, 99.9, 99.99, 100};
+
+    @Test
+    public void emptyHistogram_reportsZero() {
+        LatencyHistogram histogram = new LatencyHistogram();
+
+        assertEquals(0, histogram.getTotalCount());
+        assertEquals(0, histogram.getValueAtPercentile(50));
+        assertEquals(0, histogram.getMinValue());
+        assertEquals(0, histogram.getMaxValue());
+    }
+
+    @Test
+    public void smallValues_areExact() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        long[] values = new long[1000];
+        Random random = new Random(1);
+        for (int i = 0; i < values.length; i++) {
+            values[i] = random.nextInt(32);
+            histogram.record(values[i]);
+        }
+        Arrays.sort(values);
+
+        for (double percentile : PERCENTILES) {
+            assertEquals("p" + percentile, exactPercentile(values, percentile),
+                    histogram.getValueAtPercentile(percentile));
+        }
+    }
+
+    @Test
+    public void logNormalLatencies_withinRelativeError() {
+        // Spans ~100 ns to ~1 s, like a mix of cache hits, syscalls and GC pauses
+        Random random = new Random(2);
+        long[] values = new long[200_000];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = (long) Math.exp(Math.log(10_000) + 2.5 * random.nextGaussian());
+        }
+        assertWithinRelativeError(values);
+    }
+
+    @Test
+    public void uniformLatencies_withinRelativeError() {
+        Random random = new Random(3);
+        long[] values = new long[100_000];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = 1_000 + random.nextInt(1_000_000);
+        }
+        assertWithinRelativeError(values);
+    }
+
+    @Test
+    public void bimodalLatencies_tailPercentilesLandInSlowMode() {
+        // 99% fast, 1% slow: p99.9 has to come from the slow mode, not the fast one
+        long[] values = new long[100_000];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = i % 100 == 0 ? 50_000_000 + i : 2_000 + i % 97;
+        }
+        assertWithinRelativeError(values);
+    }
+
+    @Test
+    public void hugeValues_withinRelativeError() {
+        long[] values = {Long.MAX_VALUE / 3, Long.MAX_VALUE / 2, Long.MAX_VALUE - 1, 1L << 40, 12_345_678_901L};
+        assertWithinRelativeError(values);
+    }
+
+    @Test
+    public void minAndMax_areExact() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        histogram.record(123_457);
+        histogram.record(9_876_543_211L);
+        histogram.record(777);
+
+        assertEquals(3, histogram.getTotalCount());
+        assertEquals(777, histogram.getMinValue());
+        assertEquals(9_876_543_211L, histogram.getMaxValue());
+        assertEquals(9_876_543_211L, histogram.getValueAtPercentile(100));
+        assertEquals(777, histogram.getValueAtPercentile(0));
+    }
+
+    @Test
+    public void negativeValue_isRecordedAsZero() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        histogram.record(-5);
+
+        assertEquals(1, histogram.getTotalCount());
+        assertEquals(0, histogram.getMinValue());
+        assertEquals(0, histogram.getValueAtPercentile(50));
+    }
+
+    @Test
+    public void clear_forgetsEverything() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        histogram.record(1_000_000);
+        histogram.clear();
+        histogram.record(40);
+
+        assertEquals(1, histogram.getTotalCount());
+        assertEquals(40, histogram.getMinValue());
+        assertEquals(40, histogram.getMaxValue());
+        assertEquals(40, histogram.getValueAtPercentile(99));
+    }
+
+    private static void assertWithinRelativeError(long[] values) {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (long value : values) {
+            histogram.record(value);
+        }
+        long[] sorted = values.clone();
+        Arrays.sort(sorted);
+
+        assertEquals(sorted.length, histogram.getTotalCount());
+        for (double percentile : PERCENTILES) {
+            long exact = exactPercentile(sorted, percentile);
+            long actual = histogram.getValueAtPercentile(percentile);
+            assertEquals("p" + percentile, exact, actual, exact * RELATIVE_ERROR);
+        }
+    }
+
+    /**
+     * Nearest-rank percentile: the smallest sample with at least {@code percentile}% of
+     * samples at or below it
+     */
+    private static long exactPercentile(long[] sorted, double percentile) {
+        int rank = (int) Math.ceil(percentile / 100.0 * sorted.length);
+        return sorted[Math.max(0, Math.min(sorted.length - 1, rank - 1))];
+    }
+}
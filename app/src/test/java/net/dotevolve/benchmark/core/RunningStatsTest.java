@@ -0,0 +1,134 @@
+package net.dotevolve.benchmark.core;
+
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+/**
+ * {@link RunningStats} against a two-pass calculation over the same samples
+ */
+public class RunningStatsTest {
+    private static final double RELATIVE_TOLERANCE = 1e-9;
+
+    @Test
+    public void empty_reportsZero() {
+        RunningStats stats = new RunningStats();
+
+        assertEquals(0, stats.getCount());
+        assertEquals(0, stats.getMean(), 0);
+        assertEquals(0, stats.getVariance(), 0);
+        assertEquals(0, stats.getCoefficientOfVariation(), 0);
+        assertEquals(0, stats.getMin());
+        assertEquals(0, stats.getMax());
+    }
+
+    @Test
+    public void singleSample_hasNoSpread() {
+        RunningStats stats = new RunningStats();
+        stats.add(42);
+
+        assertEquals(1, stats.getCount());
+        assertEquals(42, stats.getMean(), 0);
+        assertEquals(0, stats.getVariance(), 0);
+        assertEquals(0, stats.getCoefficientOfVariation(), 0);
+        assertEquals(42, stats.getMin());
+        assertEquals(42, stats.getMax());
+    }
+
+    @Test
+    public void knownSamples_matchHandCalculation() {
+        RunningStats stats = new RunningStats();
+        for (long value : new long[]{2, 4, 4, 4, 5, 5, 7, 9}) {
+            stats.add(value);
+        }
+
+        assertEquals(5, stats.getMean(), 0);
+        assertEquals(4, stats.getVariance(), 1e-12);
+        assertEquals(2, stats.getStandardDeviation(), 1e-12);
+        assertEquals(0.4, stats.getCoefficientOfVariation(), 1e-12);
+        assertEquals(2, stats.getMin());
+        assertEquals(9, stats.getMax());
+    }
+
+    @Test
+    public void randomSamples_matchTwoPass() {
+        Random random = new Random(5);
+        long[] values = new long[100_000];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = (long) Math.exp(Math.log(50_000) + random.nextGaussian());
+        }
+        assertMatchesTwoPass(values);
+    }
+
+    @Test
+    public void largeOffsetSmallSpread_staysAccurate() {
+        // Naive sum-of-squares loses every digit of the variance here; Welford does not
+        Random random = new Random(6);
+        long[] values = new long[100_000];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = 1_000_000_000_000L + random.nextInt(1000);
+        }
+        assertMatchesTwoPass(values);
+    }
+
+    @Test
+    public void constantSamples_haveZeroVariance() {
+        RunningStats stats = new RunningStats();
+        for (int i = 0; i < 1000; i++) {
+            stats.add(123_456_789L);
+        }
+
+        assertEquals(123_456_789L, stats.getMean(), 0);
+        assertEquals(0, stats.getVariance(), 0);
+        assertEquals(0, stats.getCoefficientOfVariation(), 0);
+    }
+
+    @Test
+    public void clear_startsOver() {
+        RunningStats stats = new RunningStats();
+        stats.add(1_000);
+        stats.add(3_000);
+        stats.clear();
+        stats.add(10);
+        stats.add(20);
+
+        assertEquals(2, stats.getCount());
+        assertEquals(15, stats.getMean(), 0);
+        assertEquals(25, stats.getVariance(), 1e-12);
+        assertEquals(10, stats.getMin());
+        assertEquals(20, stats.getMax());
+    }
+
+    private static void assertMatchesTwoPass(long[] values) {
+        RunningStats stats = new RunningStats();
+        long min = Long.MAX_VALUE;
+        long max = Long.MIN_VALUE;
+        for (long value : values) {
+            stats.add(value);
+            min = Math.min(min, value);
+            max = Math.max(max, value);
+        }
+
+        // Two passes: exact mean first, then squared deviations from it
+        double mean = 0;
+        for (long value : values) {
+            mean += (double) value / values.length;
+        }
+        double sumSquares = 0;
+        for (long value : values) {
+            double deviation = value - mean;
+            sumSquares += deviation * deviation;
+        }
+        double variance = sumSquares / values.length;
+
+        assertEquals(values.length, stats.getCount());
+        assertEquals(mean, stats.getMean(), Math.abs(mean) * RELATIVE_TOLERANCE);
+        assertEquals(variance, stats.getVariance(), variance * 1e-6);
+        assertEquals(Math.sqrt(variance) / mean, stats.getCoefficientOfVariation(),
+                Math.sqrt(variance) / mean * 1e-6);
+        assertEquals(min, stats.getMin());
+        assertEquals(max, stats.getMax());
+    }
+}
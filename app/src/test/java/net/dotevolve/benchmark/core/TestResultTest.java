@@ -0,0 +1,76 @@
+package net.dotevolve.benchmark.core;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ * How {@link TestResult} splits batch and single-operation samples between its stats and histogram
+ */
+public class TestResultTest {
+
+    @Test
+    public void batchSample_skipsHistogram() {
+        TestResult result = new TestResult("test");
+        result.startTiming();
+        result.setBatching(10, 0);
+
+        result.addBatchSample(1_000, 10);
+
+        assertEquals(1, result.getStats().getCount());
+        assertEquals(100, result.getSamples().get(0));
+        assertEquals(0, result.getHistogram().getTotalCount());
+    }
+
+    @Test
+    public void singleOperationBatch_feedsHistogram() {
+        TestResult result = new TestResult("test");
+        result.startTiming();
+        result.setBatching(1, 20);
+
+        result.addBatchSample(520, 1);
+
+        assertEquals(1, result.getStats().getCount());
+        assertEquals(500, result.getHistogram().getMaxValue());
+    }
+
+    @Test
+    public void latencySample_onlyFeedsHistogram() {
+        TestResult result = new TestResult("test");
+        result.startTiming();
+        result.setBatching(100, 30);
+
+        result.addLatencySample(5_030);
+        result.addLatencySample(10);
+
+        assertEquals(0, result.getStats().getCount());
+        assertEquals(2, result.getHistogram().getTotalCount());
+        assertEquals(0, result.getHistogram().getMinValue());
+        assertEquals(5_000, result.getHistogram().getMaxValue());
+    }
+
+    @Test
+    public void fractionalNanoseconds_carryIntoLaterSamples() {
+        TestResult result = new TestResult("test");
+        result.startTiming();
+
+        // 2.5 ns per operation: plain truncation would record 2 every time
+        for (int i = 0; i < 1_000; i++) {
+            result.addBatchSample(250, 100);
+        }
+
+        assertEquals(2.5, result.getStats().getMean(), 0.01);
+    }
+
+    @Test
+    public void startTiming_dropsCarry() {
+        TestResult result = new TestResult("test");
+        result.startTiming();
+        result.addBatchSample(299, 100);
+
+        result.startTiming();
+        result.addBatchSample(100, 100);
+
+        assertEquals(1, result.getSamples().get(0));
+    }
+}
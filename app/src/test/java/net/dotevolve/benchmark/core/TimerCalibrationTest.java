@@ -0,0 +1,104 @@
+package net.dotevolve.benchmark.core;
+
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+/**
+ * {@link TimerCalibration#chooseBatchSize(double, int)} with fixed timer characteristics
+ */
+public class TimerCalibrationTest {
+    // Mirrors the limits in TimerCalibration
+    private static final int MIN_BATCH_MULTIPLE = 100;
+    private static final long MIN_BATCH_NANOS = 1_000;
+    private static final int MAX_BATCH_SIZE = 1_000;
+    private static final int MIN_SAMPLES = 100;
+
+    @Test
+    public void unknownThroughput_doesNotBatch() {
+        TimerCalibration calibration = new TimerCalibration(25, 1);
+
+        assertEquals(1, calibration.chooseBatchSize(0, 1_000_000));
+        assertEquals(1, calibration.chooseBatchSize(-5, 1_000_000));
+    }
+
+    @Test
+    public void slowOperation_isTimedAlone() {
+        TimerCalibration calibration = new TimerCalibration(25, 1);
+
+        // 1 ms per operation is far longer than the timer
+        assertEquals(1, calibration.chooseBatchSize(1_000, 1_000_000));
+    }
+
+    @Test
+    public void batchCoversHundredTimesOverhead() {
+        TimerCalibration calibration = new TimerCalibration(25, 1);
+
+        // 2500 ns target at 100 ns per operation
+        assertEquals(25, calibration.chooseBatchSize(10_000_000, 1_000_000));
+    }
+
+    @Test
+    public void coarseResolution_dominatesOverhead() {
+        TimerCalibration calibration = new TimerCalibration(20, 1_000);
+
+        // 100 us target at 1 us per operation
+        assertEquals(100, calibration.chooseBatchSize(1_000_000, 1_000_000));
+    }
+
+    @Test
+    public void fastTimer_stillBatchesToMinimumDuration() {
+        TimerCalibration calibration = new TimerCalibration(1, 1);
+
+        // 100 ns from the timer, but never under 1 us; 10 ns per operation
+        assertEquals(100, calibration.chooseBatchSize(100_000_000, 1_000_000));
+    }
+
+    @Test
+    public void batchSize_isCapped() {
+        TimerCalibration calibration = new TimerCalibration(25, 1);
+
+        // 1 ns per operation would want 2500
+        assertEquals(MAX_BATCH_SIZE, calibration.chooseBatchSize(1_000_000_000, 10_000_000));
+    }
+
+    @Test
+    public void fewIterations_keepEnoughSamples() {
+        TimerCalibration calibration = new TimerCalibration(25, 1);
+
+        assertEquals(5, calibration.chooseBatchSize(1_000_000_000, 500));
+        assertEquals(1, calibration.chooseBatchSize(1_000_000_000, 50));
+        assertEquals(1, calibration.chooseBatchSize(1_000_000_000, 0));
+    }
+
+    @Test
+    public void randomInputs_respectEveryLimit() {
+        Random random = new Random(8);
+        for (int i = 0; i < 100_000; i++) {
+            double overhead = 1 + random.nextDouble() * 200;
+            long resolution = 1 + random.nextInt(2_000);
+            double opsPerSecond = Math.pow(10, random.nextDouble() * 10);
+            int iterations = random.nextInt(10_000_000);
+            TimerCalibration calibration = new TimerCalibration(overhead, resolution);
+
+            int batchSize = calibration.chooseBatchSize(opsPerSecond, iterations);
+
+            String inputs = overhead + " ns, " + resolution + " ns, " + opsPerSecond + " ops/s, " + iterations;
+            assertTrue(inputs, batchSize >= 1);
+            assertTrue(inputs, batchSize <= MAX_BATCH_SIZE);
+            if (iterations >= MIN_SAMPLES) {
+                assertTrue(inputs, iterations / batchSize >= MIN_SAMPLES);
+            }
+            // Either the batch is long enough, or a cap stopped it growing
+            double targetNanos = Math.max(MIN_BATCH_NANOS, MIN_BATCH_MULTIPLE * Math.max(overhead, resolution));
+            double batchNanos = batchSize * 1_000_000_000.0 / opsPerSecond;
+            boolean capped = batchSize == MAX_BATCH_SIZE || batchSize == Math.max(1, iterations / MIN_SAMPLES);
+            assertTrue(inputs, batchNanos >= targetNanos * (1 - 1e-9) || capped);
+            // And no larger than needed
+            double shorterNanos = (batchSize - 1) * 1_000_000_000.0 / opsPerSecond;
+            assertTrue(inputs, batchSize == 1 || shorterNanos < targetNanos);
+        }
+    }
+}
@@ -0,0 +1,213 @@
+package net.dotevolve.benchmark.core.kernels;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+/**
+ * {@link IntIntMap} checked against {@link HashMap} as the reference
+ */
+public class IntIntMapTest {
+    private static final int MISSING = Integer.MIN_VALUE;
+    // The default constructor sizes for 16 entries: 32 slots, growing past 24 entries
+    private static final int DEFAULT_CAPACITY = 32;
+    private static final int DEFAULT_GROW_AT = 24;
+
+    @Test
+    public void randomPutRemove_matchesHashMap() {
+        Random random = new Random(42);
+        IntIntMap map = new IntIntMap();
+        Map<Integer, Integer> reference = new HashMap<>();
+
+        // A narrow key range keeps probe runs long and hits key 0 and negative keys often
+        for (int i = 0; i < 200_000; i++) {
+            int key = random.nextInt(2048) - 1024;
+            int op = random.nextInt(10);
+            if (op < 5) {
+                int value = random.nextInt();
+                map.put(key, value);
+                reference.put(key, value);
+            } else if (op < 8) {
+                assertEquals("remove " + key, reference.remove(key) != null, map.remove(key));
+            } else {
+                assertEquals("get " + key, reference.getOrDefault(key, MISSING).intValue(), map.get(key, MISSING));
+            }
+            assertEquals(reference.size(), map.size());
+        }
+        assertSameContents(reference, map);
+    }
+
+    @Test
+    public void randomKeysAcrossGrowth_matchHashMap() {
+        Random random = new Random(7);
+        IntIntMap map = new IntIntMap();
+        Map<Integer, Integer> reference = new HashMap<>();
+
+        for (int i = 0; i < 100_000; i++) {
+            int key = random.nextInt();
+            map.put(key, i);
+            reference.put(key, i);
+        }
+        // Remove half, then check the survivors are still reachable past the gaps
+        List<Integer> keys = new ArrayList<>(reference.keySet());
+        for (int i = 0; i < keys.size(); i += 2) {
+            assertTrue(map.remove(keys.get(i)));
+            reference.remove(keys.get(i));
+        }
+        assertEquals(reference.size(), map.size());
+        assertSameContents(reference, map);
+    }
+
+    @Test
+    public void zeroKey_isStoredAndRemoved() {
+        IntIntMap map = new IntIntMap();
+        assertEquals(MISSING, map.get(0, MISSING));
+        assertFalse(map.remove(0));
+
+        map.put(0, 5);
+        assertEquals(1, map.size());
+        assertEquals(5, map.get(0, MISSING));
+
+        map.put(0, 6);
+        assertEquals(1, map.size());
+        assertEquals(6, map.get(0, MISSING));
+
+        map.put(1, 7);
+        Map<Integer, Integer> reference = new HashMap<>();
+        reference.put(0, 6);
+        reference.put(1, 7);
+        assertSameContents(reference, map);
+
+        assertTrue(map.remove(0));
+        assertFalse(map.remove(0));
+        assertEquals(MISSING, map.get(0, MISSING));
+        assertEquals(7, map.get(1, MISSING));
+        assertEquals(1, map.size());
+    }
+
+    @Test
+    public void zeroValue_isDistinctFromMissing() {
+        IntIntMap map = new IntIntMap();
+        map.put(3, 0);
+
+        assertEquals(0, map.get(3, MISSING));
+        assertEquals(MISSING, map.get(4, MISSING));
+    }
+
+    @Test
+    public void probeRunWrappingPastTableEnd_survivesRemoval() {
+        // Keys homed in the last two slots, so their run wraps to the start of the table,
+        // then keys homed in the first slots that land behind them. Those must never be
+        // shifted back across the end, before their home slot.
+        int[] tail = keysHomedAt(DEFAULT_CAPACITY - 2, DEFAULT_CAPACITY - 1, 6);
+        int[] head = keysHomedAt(0, 1, 3);
+        int[] keys = new int[tail.length + head.length];
+        System.arraycopy(tail, 0, keys, 0, tail.length);
+        System.arraycopy(head, 0, keys, tail.length, head.length);
+        assertTrue(keys.length < DEFAULT_GROW_AT);
+
+        IntIntMap map = new IntIntMap();
+        Map<Integer, Integer> reference = new HashMap<>();
+        for (int key : keys) {
+            map.put(key, key * 3);
+            reference.put(key, key * 3);
+        }
+        assertSameContents(reference, map);
+
+        // Removing from the head of the run shifts wrapped entries back across the end
+        for (int key : keys) {
+            assertTrue(map.remove(key));
+            reference.remove(key);
+            assertSameContents(reference, map);
+            for (int other : reference.keySet()) {
+                assertEquals(reference.get(other).intValue(), map.get(other, MISSING));
+            }
+            assertEquals(MISSING, map.get(key, MISSING));
+        }
+        assertEquals(0, map.size());
+    }
+
+    @Test
+    public void removeFromMiddleOfWrappedRun_keepsLaterEntriesReachable() {
+        int[] keys = keysHomedAt(DEFAULT_CAPACITY - 1, DEFAULT_CAPACITY - 1, 6);
+        IntIntMap map = new IntIntMap();
+        for (int key : keys) {
+            map.put(key, key);
+        }
+
+        assertTrue(map.remove(keys[2]));
+
+        for (int i = 0; i < keys.length; i++) {
+            assertEquals(i == 2 ? MISSING : keys[i], map.get(keys[i], MISSING));
+        }
+        assertEquals(keys.length - 1, map.size());
+    }
+
+    @Test
+    public void removeAtTableEnd_leavesEntryAtItsHomeInFirstSlot() {
+        // The run spans the end of the table, but the first slot's entry is already home
+        int last = keysHomedAt(DEFAULT_CAPACITY - 1, DEFAULT_CAPACITY - 1, 1)[0];
+        int first = keysHomedAt(0, 0, 1)[0];
+        IntIntMap map = new IntIntMap();
+        map.put(last, 1);
+        map.put(first, 2);
+
+        assertTrue(map.remove(last));
+
+        assertEquals(2, map.get(first, MISSING));
+        assertEquals(MISSING, map.get(last, MISSING));
+        assertEquals(1, map.size());
+    }
+
+    @Test
+    public void removeAbsentKey_returnsFalse() {
+        IntIntMap map = new IntIntMap();
+        map.put(10, 1);
+
+        assertFalse(map.remove(11));
+        assertEquals(1, map.size());
+        assertEquals(1, map.get(10, MISSING));
+    }
+
+    @Test
+    public void presizedMap_holdsExpectedEntries() {
+        IntIntMap map = new IntIntMap(10_000);
+        for (int i = 1; i <= 10_000; i++) {
+            map.put(i, -i);
+        }
+
+        assertEquals(10_000, map.size());
+        for (int i = 1; i <= 10_000; i++) {
+            assertEquals(-i, map.get(i, MISSING));
+        }
+    }
+
+    /**
+     * First {@code count} non-zero keys whose home slot in a default-sized table lies in
+     * {@code [first, last]}
+     */
+    private static int[] keysHomedAt(int first, int last, int count) {
+        int[] keys = new int[count];
+        int found = 0;
+        for (int key = 1; found < count; key++) {
+            int home = IntIntMap.hash(key) & (DEFAULT_CAPACITY - 1);
+            if (home >= first && home <= last) {
+                keys[found++] = key;
+            }
+        }
+        return keys;
+    }
+
+    private static void assertSameContents(Map<Integer, Integer> expected, IntIntMap map) {
+        Map<Integer, Integer> actual = new HashMap<>();
+        map.forEach((key, value) -> assertNull("duplicate key " + key, actual.put(key, value)));
+        assertEquals(expected, actual);
+        assertEquals(expected.size(), map.size());
+    }
+}